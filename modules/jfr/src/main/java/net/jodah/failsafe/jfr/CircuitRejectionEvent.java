@@ -0,0 +1,25 @@
+package net.jodah.failsafe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records an execution that was rejected by an open or half-open circuit breaker.
+ *
+ * @author Jonathan Halterman
+ */
+@Name("net.jodah.failsafe.CircuitRejection")
+@Label("Circuit Rejection")
+@Category("Failsafe")
+@Description("An execution was rejected by a circuit breaker")
+final class CircuitRejectionEvent extends Event {
+  @Label("Circuit Breaker")
+  @Description("The identity hash code of the circuit breaker")
+  int circuitBreaker;
+
+  @Label("State")
+  String state;
+}
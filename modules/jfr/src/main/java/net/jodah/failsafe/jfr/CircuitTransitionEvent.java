@@ -0,0 +1,30 @@
+package net.jodah.failsafe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a circuit breaker state transition.
+ *
+ * @author Jonathan Halterman
+ */
+@Name("net.jodah.failsafe.CircuitTransition")
+@Label("Circuit Transition")
+@Category("Failsafe")
+@Description("A circuit breaker changed state")
+@StackTrace(false)
+final class CircuitTransitionEvent extends Event {
+  @Label("Circuit Breaker")
+  @Description("The identity hash code of the circuit breaker")
+  int circuitBreaker;
+
+  @Label("From State")
+  String fromState;
+
+  @Label("To State")
+  String toState;
+}
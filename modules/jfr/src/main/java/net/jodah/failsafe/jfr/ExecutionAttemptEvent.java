@@ -0,0 +1,29 @@
+package net.jodah.failsafe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the duration and outcome of a Failsafe execution attempt.
+ *
+ * @author Jonathan Halterman
+ */
+@Name("net.jodah.failsafe.ExecutionAttempt")
+@Label("Execution Attempt")
+@Category("Failsafe")
+@Description("A Failsafe execution attempt")
+@StackTrace(false)
+final class ExecutionAttemptEvent extends Event {
+  @Label("Attempt")
+  int attempt;
+
+  @Label("Result Class")
+  Class<?> resultClass;
+
+  @Label("Failure Class")
+  Class<?> failureClass;
+}
@@ -0,0 +1,26 @@
+package net.jodah.failsafe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the invocation of a Failsafe fallback.
+ *
+ * @author Jonathan Halterman
+ */
+@Name("net.jodah.failsafe.Fallback")
+@Label("Fallback")
+@Category("Failsafe")
+@Description("A fallback was invoked for a failed execution")
+@StackTrace(false)
+final class FallbackEvent extends Event {
+  @Label("Result Class")
+  Class<?> resultClass;
+
+  @Label("Failure Class")
+  Class<?> failureClass;
+}
@@ -0,0 +1,79 @@
+package net.jodah.failsafe.jfr;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreaker.State;
+import net.jodah.failsafe.ExecutionContext;
+import net.jodah.failsafe.event.FailsafeObserver;
+
+/**
+ * Emits Java Flight Recorder events for Failsafe activity. Registered automatically via {@link java.util.ServiceLoader}
+ * when this module is on the classpath. Each event is checked with {@link jdk.jfr.Event#isEnabled()} before any fields
+ * are populated, so that the cost is negligible when no recording is active.
+ *
+ * @author Jonathan Halterman
+ */
+public class JfrObserver extends FailsafeObserver {
+  @Override
+  public Object attemptStarted(ExecutionContext context) {
+    ExecutionAttemptEvent event = new ExecutionAttemptEvent();
+    if (!event.isEnabled())
+      return null;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+    if (attempt == null)
+      return;
+    ExecutionAttemptEvent event = (ExecutionAttemptEvent) attempt;
+    event.end();
+    if (event.shouldCommit()) {
+      event.attempt = context.getExecutions();
+      event.resultClass = result == null ? null : result.getClass();
+      event.failureClass = failure == null ? null : failure.getClass();
+      event.commit();
+    }
+  }
+
+  @Override
+  public void retryScheduled(ExecutionContext context, long waitNanos) {
+    RetryScheduledEvent event = new RetryScheduledEvent();
+    if (event.isEnabled()) {
+      event.attempt = context.getExecutions();
+      event.waitTime = waitNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+    CircuitTransitionEvent event = new CircuitTransitionEvent();
+    if (event.isEnabled()) {
+      event.circuitBreaker = System.identityHashCode(circuitBreaker);
+      event.fromState = fromState.name();
+      event.toState = toState.name();
+      event.commit();
+    }
+  }
+
+  @Override
+  public void circuitRejected(CircuitBreaker circuitBreaker) {
+    CircuitRejectionEvent event = new CircuitRejectionEvent();
+    if (event.isEnabled()) {
+      event.circuitBreaker = System.identityHashCode(circuitBreaker);
+      event.state = circuitBreaker.getState().name();
+      event.commit();
+    }
+  }
+
+  @Override
+  public void fallbackInvoked(Object result, Throwable failure) {
+    FallbackEvent event = new FallbackEvent();
+    if (event.isEnabled()) {
+      event.resultClass = result == null ? null : result.getClass();
+      event.failureClass = failure == null ? null : failure.getClass();
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package net.jodah.failsafe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Records that a Failsafe execution will be retried after a wait time.
+ *
+ * @author Jonathan Halterman
+ */
+@Name("net.jodah.failsafe.RetryScheduled")
+@Label("Retry Scheduled")
+@Category("Failsafe")
+@Description("A Failsafe execution retry was scheduled")
+@StackTrace(false)
+final class RetryScheduledEvent extends Event {
+  @Label("Attempt")
+  @Description("The number of attempts performed so far")
+  int attempt;
+
+  @Label("Wait Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long waitTime;
+}
@@ -0,0 +1,5 @@
+/**
+ * Java Flight Recorder integration. Adding this module to the classpath causes Failsafe to emit execution attempt,
+ * retry, circuit breaker and fallback events to active flight recordings.
+ */
+package net.jodah.failsafe.jfr;
@@ -0,0 +1,75 @@
+package net.jodah.failsafe.jfr;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class JfrObserverTest {
+  public void shouldRecordEvents() throws Throwable {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    CircuitBreaker breaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("net.jodah.failsafe.ExecutionAttempt");
+      recording.enable("net.jodah.failsafe.RetryScheduled");
+      recording.enable("net.jodah.failsafe.CircuitTransition");
+      recording.enable("net.jodah.failsafe.CircuitRejection");
+      recording.enable("net.jodah.failsafe.Fallback");
+      recording.start();
+
+      // 3 failed attempts, 2 retries, then a fallback
+      Failsafe.with(retryPolicy).withFallback(false).get(() -> {
+        throw new IllegalStateException();
+      });
+
+      // Open the circuit, then get rejected
+      breaker.open();
+      try {
+        Failsafe.with(breaker).run(() -> {
+        });
+      } catch (CircuitBreakerOpenException expected) {
+      }
+
+      recording.stop();
+      File file = File.createTempFile("failsafe", ".jfr");
+      file.deleteOnExit();
+      recording.dump(file.toPath());
+      events = RecordingFile.readAllEvents(file.toPath());
+    }
+
+    assertEquals(count(events, "net.jodah.failsafe.ExecutionAttempt"), 3);
+    assertEquals(count(events, "net.jodah.failsafe.RetryScheduled"), 2);
+    assertEquals(count(events, "net.jodah.failsafe.CircuitTransition"), 1);
+    assertEquals(count(events, "net.jodah.failsafe.CircuitRejection"), 1);
+    assertEquals(count(events, "net.jodah.failsafe.Fallback"), 1);
+
+    for (RecordedEvent event : events)
+      if (event.getEventType().getName().equals("net.jodah.failsafe.CircuitTransition")) {
+        assertEquals(event.getString("fromState"), "CLOSED");
+        assertEquals(event.getString("toState"), "OPEN");
+      }
+  }
+
+  public void shouldNotRecordWhenDisabled() {
+    assertTrue(new JfrObserver().attemptStarted(null) == null);
+  }
+
+  private static long count(List<RecordedEvent> events, String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+  }
+}
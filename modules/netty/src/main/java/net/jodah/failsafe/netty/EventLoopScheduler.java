@@ -0,0 +1,165 @@
+package net.jodah.failsafe.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.EventExecutor;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.concurrent.Scheduler;
+
+/**
+ * A {@link Scheduler} that performs the attempts of asynchronous executions on Netty event loops, keeping each
+ * execution on the event loop that started it. When an execution is started or retried from one of the group's event
+ * loops, its attempts, retries, timeouts and hedges are scheduled on that same event loop, and since Failsafe completes
+ * an execution's {@link net.jodah.failsafe.FailsafeFuture FailsafeFuture} from the thread that performs the attempt,
+ * the future is completed on that event loop as well. This lets a channel pipeline use Failsafe without a retry
+ * crossing threads. Executions that are started from other threads are assigned the group's next event loop.
+ * <p>
+ * Delays are scheduled on the event loop itself by default. A {@link #withTimer(Timer) timer}, such as a
+ * {@link io.netty.util.HashedWheelTimer HashedWheelTimer}, can be used to schedule delays instead, which is cheaper
+ * when many retries are pending, after which the attempt is handed back to its event loop. Scheduled attempts are
+ * never interrupted when cancelled, since that would interrupt the event loop.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * {@code
+ * Failsafe.with(retryPolicy).with(EventLoopScheduler.of(channel.eventLoop())).get(...);
+ * }
+ * </pre>
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public final class EventLoopScheduler implements Scheduler {
+  private final EventLoopGroup group;
+  private final EventLoop[] eventLoops;
+  private final Timer timer;
+
+  private EventLoopScheduler(EventLoopGroup group, EventLoop[] eventLoops, Timer timer) {
+    this.group = group;
+    this.eventLoops = eventLoops;
+    this.timer = timer;
+  }
+
+  /**
+   * Returns a scheduler that keeps executions on the event loop of the {@code group} that started them, else on the
+   * group's next event loop. When the {@code group} is a single {@link EventLoop}, every execution is performed on it.
+   *
+   * @throws NullPointerException if {@code group} is null
+   */
+  public static EventLoopScheduler of(EventLoopGroup group) {
+    Assert.notNull(group, "group");
+    List<EventLoop> eventLoops = new ArrayList<EventLoop>();
+    if (group instanceof EventLoop)
+      eventLoops.add((EventLoop) group);
+    else {
+      for (EventExecutor executor : group)
+        eventLoops.add((EventLoop) executor);
+    }
+
+    return new EventLoopScheduler(group, eventLoops.toArray(new EventLoop[eventLoops.size()]), null);
+  }
+
+  /**
+   * Returns a scheduler that schedules delays via the {@code timer} and performs the delayed attempts on their event
+   * loops.
+   *
+   * @throws NullPointerException if {@code timer} is null
+   */
+  public EventLoopScheduler withTimer(Timer timer) {
+    return new EventLoopScheduler(group, eventLoops, Assert.notNull(timer, "timer"));
+  }
+
+  /**
+   * Returns the event loop that the current thread belongs to, else the group's next event loop.
+   */
+  public EventLoop currentEventLoop() {
+    for (EventLoop eventLoop : eventLoops)
+      if (eventLoop.inEventLoop())
+        return eventLoop;
+    return eventLoops.length == 1 ? eventLoops[0] : group.next();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Callable<?> callable, long delay, TimeUnit unit) {
+    EventLoop eventLoop = currentEventLoop();
+    if (timer == null || delay <= 0)
+      return eventLoop.schedule(callable, delay, unit);
+    return new TimerFuture(eventLoop, callable, unit.toNanos(delay));
+  }
+
+  /**
+   * A task whose delay is scheduled via the timer, after which it is performed on its event loop.
+   */
+  private final class TimerFuture implements ScheduledFuture<Object>, TimerTask {
+    private final EventLoop eventLoop;
+    private final FutureTask<Object> task;
+    private final long deadlineNanos;
+    private final Timeout timeout;
+
+    @SuppressWarnings("unchecked")
+    TimerFuture(EventLoop eventLoop, Callable<?> callable, long delayNanos) {
+      this.eventLoop = eventLoop;
+      this.task = new FutureTask<Object>((Callable<Object>) callable);
+      this.deadlineNanos = System.nanoTime() + delayNanos;
+      this.timeout = timer.newTimeout(this, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+      if (!task.isCancelled())
+        eventLoop.execute(task);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+      return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      timeout.cancel();
+      return task.cancel(false);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return task.isDone();
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+      return task.get();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return task.get(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Netty integration. Provides a scheduler that keeps the attempts and retries of asynchronous executions on the Netty
+ * event loop that started them.
+ */
+package net.jodah.failsafe.netty;
@@ -0,0 +1,100 @@
+package net.jodah.failsafe.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.FailsafeFuture;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class EventLoopSchedulerTest {
+  private NioEventLoopGroup group = new NioEventLoopGroup(4);
+  private HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+  private RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(5)
+      .withDelay(10, TimeUnit.MILLISECONDS)
+      .build();
+
+  @AfterClass
+  protected void afterClass() {
+    group.shutdownGracefully();
+    timer.stop();
+  }
+
+  public void shouldKeepRetriesOnOriginatingEventLoop() throws Throwable {
+    assertRetriesStayOn(EventLoopScheduler.of(group));
+  }
+
+  public void shouldKeepTimerRetriesOnOriginatingEventLoop() throws Throwable {
+    assertRetriesStayOn(EventLoopScheduler.of(group).withTimer(timer));
+  }
+
+  public void shouldPinExecutionsToEventLoop() throws Throwable {
+    EventLoop eventLoop = group.next();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = Failsafe.with(retryPolicy).with(EventLoopScheduler.of(eventLoop)).get(() -> {
+      threads.add(Thread.currentThread());
+      if (attempts.incrementAndGet() < 3)
+        throw new ConnectException();
+      return "done";
+    }).get(5, TimeUnit.SECONDS);
+
+    assertEquals(result, "done");
+    assertEquals(threads.size(), 1);
+    eventLoop.submit(() -> assertSame(threads.iterator().next(), Thread.currentThread())).get();
+  }
+
+  public void shouldKeepExecutionsStartedElsewhereOnOneEventLoop() throws Throwable {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    AtomicInteger attempts = new AtomicInteger();
+
+    Failsafe.with(retryPolicy).with(EventLoopScheduler.of(group)).get(() -> {
+      threads.add(Thread.currentThread());
+      if (attempts.incrementAndGet() < 4)
+        throw new ConnectException();
+      return "done";
+    }).get(5, TimeUnit.SECONDS);
+
+    assertEquals(threads.size(), 1);
+  }
+
+  private void assertRetriesStayOn(EventLoopScheduler scheduler) throws Throwable {
+    EventLoop eventLoop = group.next();
+    Thread loopThread = eventLoop.submit(() -> Thread.currentThread()).get();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<Thread> completedOn = new CompletableFuture<>();
+
+    FailsafeFuture<String> future = eventLoop.submit(() -> Failsafe.with(retryPolicy)
+        .with(scheduler)
+        .onComplete((result, failure) -> completedOn.complete(Thread.currentThread()))
+        .get(() -> {
+          threads.add(Thread.currentThread());
+          if (attempts.incrementAndGet() < 3)
+            throw new ConnectException();
+          return "done";
+        })).get();
+
+    assertEquals(future.get(5, TimeUnit.SECONDS), "done");
+    assertEquals(attempts.get(), 3);
+    assertEquals(threads.size(), 1);
+    assertTrue(threads.contains(loopThread));
+    assertSame(completedOn.get(5, TimeUnit.SECONDS), loopThread);
+  }
+}
@@ -0,0 +1,324 @@
+package net.jodah.failsafe.reactivestreams;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.Execution;
+import net.jodah.failsafe.RetryPolicy;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.concurrent.Scheduler;
+import net.jodah.failsafe.util.concurrent.Schedulers;
+
+/**
+ * A Publisher that subscribes to publishers obtained from a {@code source}, and when a subscription fails, resubscribes
+ * to a new publisher according to a {@link RetryPolicy}. Each subscriber has its own execution, so retries and backoff
+ * delays are tracked per subscription. When a {@link CircuitBreaker} is configured, each subscription attempt is
+ * started via {@link Execution#startAttempt()}, so it is rejected while the circuit does not allow executions, and its
+ * outcome is recorded with the circuit. A subscription attempt that is cancelled downstream is recorded as completed.
+ * <p>
+ * Demand is passed through to the current source subscription, and demand that has not been fulfilled when a
+ * subscription fails is requested from the next subscription, so no elements are buffered. Elements that were
+ * delivered before a failure are not replayed, so a {@code source} that is resumable should return a publisher that
+ * continues after the last element that was delivered.
+ *
+ * @author Jonathan Halterman
+ * @param <T> element type
+ */
+public class FailsafePublisher<T> implements Publisher<T> {
+  private static final RetryPolicy NO_RETRIES = new RetryPolicy.Builder().withMaxRetries(0).build();
+
+  private final Callable<? extends Publisher<T>> source;
+  private RetryPolicy retryPolicy;
+  private CircuitBreaker circuitBreaker;
+  private Scheduler scheduler;
+
+  private FailsafePublisher(Callable<? extends Publisher<T>> source) {
+    this.source = source;
+  }
+
+  /**
+   * Returns a FailsafePublisher that subscribes to publishers obtained from the {@code source}.
+   *
+   * @throws NullPointerException if {@code source} is null
+   */
+  public static <T> FailsafePublisher<T> of(Callable<? extends Publisher<T>> source) {
+    return new FailsafePublisher<T>(Assert.notNull(source, "source"));
+  }
+
+  /**
+   * Configures the {@code circuitBreaker} to gate and record subscription attempts with.
+   *
+   * @throws NullPointerException if {@code circuitBreaker} is null
+   */
+  public FailsafePublisher<T> with(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = Assert.notNull(circuitBreaker, "circuitBreaker");
+    return this;
+  }
+
+  /**
+   * Configures the {@code retryPolicy} to resubscribe to failed subscriptions with.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public FailsafePublisher<T> with(RetryPolicy retryPolicy) {
+    this.retryPolicy = Assert.notNull(retryPolicy, "retryPolicy");
+    return this;
+  }
+
+  /**
+   * Configures the {@code executor} to schedule resubscriptions with.
+   *
+   * @throws NullPointerException if {@code executor} is null
+   */
+  public FailsafePublisher<T> with(ScheduledExecutorService executor) {
+    this.scheduler = Schedulers.of(executor);
+    return this;
+  }
+
+  /**
+   * Configures the {@code scheduler} to schedule resubscriptions with.
+   *
+   * @throws NullPointerException if {@code scheduler} is null
+   */
+  public FailsafePublisher<T> with(Scheduler scheduler) {
+    this.scheduler = Assert.notNull(scheduler, "scheduler");
+    return this;
+  }
+
+  /**
+   * Subscribes the {@code subscriber} to a publisher from the source.
+   *
+   * @throws NullPointerException if {@code subscriber} is null
+   * @throws IllegalStateException if a retry policy is configured without a scheduler
+   */
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Assert.notNull(subscriber, "subscriber");
+    Assert.state(retryPolicy == null || scheduler != null, "A scheduler must be configured to perform retries");
+    RetryPolicy policy = retryPolicy == null ? NO_RETRIES : retryPolicy;
+    Execution execution = circuitBreaker == null ? new Execution(policy) : new Execution(policy, circuitBreaker);
+    FailsafeSubscription subscription = new FailsafeSubscription(subscriber, execution);
+    subscriber.onSubscribe(subscription);
+    subscription.subscribeToSource();
+  }
+
+  /**
+   * Relays signals between a downstream subscriber and the subscription to the current source publisher.
+   */
+  private class FailsafeSubscription implements Subscription {
+    private final Subscriber<? super T> downstream;
+    private final Execution execution;
+
+    // Guarded by "this"
+    private SourceSubscriber sourceSubscriber;
+    private Subscription upstream;
+    private long requested;
+    private boolean cancelled;
+    private boolean done;
+    private Future<?> retryFuture;
+
+    FailsafeSubscription(Subscriber<? super T> downstream, Execution execution) {
+      this.downstream = downstream;
+      this.execution = execution;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        synchronized (this) {
+          if (cancelled || done)
+            return;
+          done = true;
+        }
+        cancel();
+        downstream.onError(new IllegalArgumentException("request must be greater than 0"));
+        return;
+      }
+
+      Subscription current;
+      synchronized (this) {
+        if (cancelled || done)
+          return;
+        requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+        current = upstream;
+      }
+
+      if (current != null)
+        current.request(n);
+    }
+
+    @Override
+    public void cancel() {
+      Subscription current;
+      Future<?> retry;
+      boolean attemptInProgress;
+      synchronized (this) {
+        cancelled = true;
+        current = upstream;
+        retry = retryFuture;
+        attemptInProgress = sourceSubscriber != null;
+        upstream = null;
+        sourceSubscriber = null;
+      }
+
+      if (current != null)
+        current.cancel();
+      if (retry != null)
+        retry.cancel(false);
+      if (attemptInProgress)
+        execution.complete();
+    }
+
+    void subscribeToSource() {
+      synchronized (this) {
+        if (cancelled || done)
+          return;
+      }
+
+      RuntimeException rejection = execution.startAttempt();
+      if (rejection != null) {
+        terminate(rejection);
+        return;
+      }
+
+      SourceSubscriber subscriber = new SourceSubscriber(this);
+      boolean cancel;
+      synchronized (this) {
+        cancel = cancelled || done;
+        if (!cancel)
+          sourceSubscriber = subscriber;
+      }
+      if (cancel) {
+        execution.complete();
+        return;
+      }
+
+      try {
+        source.call().subscribe(subscriber);
+      } catch (Throwable t) {
+        onSourceError(subscriber, t);
+      }
+    }
+
+    void onSourceSubscribe(SourceSubscriber subscriber, Subscription subscription) {
+      long demand;
+      synchronized (this) {
+        if (subscriber != sourceSubscriber || upstream != null) {
+          subscription.cancel();
+          return;
+        }
+        upstream = subscription;
+        demand = requested;
+      }
+
+      if (demand > 0)
+        subscription.request(demand);
+    }
+
+    void onSourceNext(SourceSubscriber subscriber, T element) {
+      synchronized (this) {
+        if (subscriber != sourceSubscriber)
+          return;
+        if (requested != Long.MAX_VALUE)
+          requested--;
+      }
+
+      downstream.onNext(element);
+    }
+
+    void onSourceError(SourceSubscriber subscriber, Throwable failure) {
+      synchronized (this) {
+        if (subscriber != sourceSubscriber)
+          return;
+        sourceSubscriber = null;
+        upstream = null;
+      }
+
+      if (execution.canRetryOn(failure))
+        scheduleRetry();
+      else
+        terminate(failure);
+    }
+
+    void onSourceComplete(SourceSubscriber subscriber) {
+      synchronized (this) {
+        if (subscriber != sourceSubscriber)
+          return;
+        sourceSubscriber = null;
+        upstream = null;
+      }
+
+      execution.complete();
+      terminate(null);
+    }
+
+    private void scheduleRetry() {
+      Future<?> retry = scheduler.schedule(new Callable<Object>() {
+        @Override
+        public Object call() {
+          subscribeToSource();
+          return null;
+        }
+      }, execution.getWaitTime().toNanos(), TimeUnit.NANOSECONDS);
+
+      boolean cancel;
+      synchronized (this) {
+        retryFuture = retry;
+        cancel = cancelled;
+      }
+      if (cancel)
+        retry.cancel(false);
+    }
+
+    private void terminate(Throwable failure) {
+      synchronized (this) {
+        if (cancelled || done)
+          return;
+        done = true;
+      }
+
+      if (failure == null)
+        downstream.onComplete();
+      else
+        downstream.onError(failure);
+    }
+  }
+
+  /**
+   * Subscribes to a single source publisher, ignoring signals once the subscription is superseded.
+   */
+  private class SourceSubscriber implements Subscriber<T> {
+    private final FailsafeSubscription parent;
+
+    SourceSubscriber(FailsafeSubscription parent) {
+      this.parent = parent;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      parent.onSourceSubscribe(this, subscription);
+    }
+
+    @Override
+    public void onNext(T element) {
+      parent.onSourceNext(this, element);
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+      parent.onSourceError(this, failure);
+    }
+
+    @Override
+    public void onComplete() {
+      parent.onSourceComplete(this);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Reactive Streams integration. Provides publishers that resubscribe to failed sources according to a Failsafe
+ * {@link net.jodah.failsafe.RetryPolicy} while respecting downstream demand.
+ */
+package net.jodah.failsafe.reactivestreams;
@@ -0,0 +1,206 @@
+package net.jodah.failsafe.reactivestreams;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class FailsafePublisherTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Emits the integers from {@code start} to {@code end} as they're requested, failing after {@code failAfter} have been
+   * emitted.
+   */
+  static class IntPublisher implements Publisher<Integer> {
+    final int start;
+    final int end;
+    final int failAfter;
+    final AtomicLong requested = new AtomicLong();
+
+    IntPublisher(int start, int end, int failAfter) {
+      this.start = start;
+      this.end = end;
+      this.failAfter = failAfter;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Integer> subscriber) {
+      subscriber.onSubscribe(new Subscription() {
+        int next = start;
+        int emitted;
+        boolean done;
+
+        @Override
+        public synchronized void request(long n) {
+          requested.addAndGet(n);
+          for (long i = 0; i < n && !done; i++) {
+            if (emitted == failAfter) {
+              done = true;
+              subscriber.onError(new ConnectException());
+            } else {
+              emitted++;
+              subscriber.onNext(next++);
+              if (next > end) {
+                done = true;
+                subscriber.onComplete();
+              }
+            }
+          }
+        }
+
+        @Override
+        public synchronized void cancel() {
+          done = true;
+        }
+      });
+    }
+  }
+
+  static class TestSubscriber implements Subscriber<Integer> {
+    final List<Integer> elements = new CopyOnWriteArrayList<>();
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Subscription subscription;
+    volatile Throwable failure;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Integer element) {
+      elements.add(element);
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+      this.failure = failure;
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      terminated.countDown();
+    }
+  }
+
+  public void shouldResubscribeFromLastDeliveredElementWithoutExceedingDemand() throws Throwable {
+    // Given - each source fails after emitting 2 elements, resuming after the last delivered element
+    TestSubscriber subscriber = new TestSubscriber();
+    List<IntPublisher> sources = new CopyOnWriteArrayList<>();
+    FailsafePublisher<Integer> publisher = FailsafePublisher.of(() -> {
+      IntPublisher source = new IntPublisher(subscriber.elements.size() + 1, 5, 2);
+      sources.add(source);
+      return source;
+    }).with(new RetryPolicy.Builder().withDelay(10, TimeUnit.MILLISECONDS).withMaxRetries(5).build()).with(executor);
+
+    // When
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(3);
+    while (subscriber.elements.size() < 3)
+      Thread.sleep(5);
+    Thread.sleep(50);
+    assertEquals(subscriber.elements.size(), 3);
+    subscriber.subscription.request(10);
+
+    // Then
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertNull(subscriber.failure);
+    assertEquals(subscriber.elements, Arrays.asList(1, 2, 3, 4, 5));
+    assertEquals(sources.size(), 3);
+    assertEquals(sources.get(0).requested.get(), 3);
+    assertEquals(sources.get(1).requested.get(), 1 + 10);
+  }
+
+  public void shouldFailWhenRetriesAreExceeded() throws Throwable {
+    AtomicInteger subscriptions = new AtomicInteger();
+    TestSubscriber subscriber = new TestSubscriber();
+    FailsafePublisher.of(() -> {
+      subscriptions.incrementAndGet();
+      return new IntPublisher(1, 5, 0);
+    }).with(new RetryPolicy.Builder().withMaxRetries(2).build()).with(executor).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertTrue(subscriber.failure instanceof ConnectException);
+    assertEquals(subscriptions.get(), 3);
+  }
+
+  public void shouldRejectSubscriptionsWhenCircuitIsOpen() throws Throwable {
+    CircuitBreaker breaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    breaker.open();
+    AtomicInteger subscriptions = new AtomicInteger();
+    TestSubscriber subscriber = new TestSubscriber();
+    FailsafePublisher.of(() -> {
+      subscriptions.incrementAndGet();
+      return new IntPublisher(1, 5, 5);
+    }).with(breaker).subscribe(subscriber);
+
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertTrue(subscriber.failure instanceof CircuitBreakerOpenException);
+    assertEquals(subscriptions.get(), 0);
+  }
+
+  public void shouldLimitConcurrentSubscriptionsWhenHalfOpen() throws Throwable {
+    CircuitBreaker breaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    breaker.halfOpen();
+    FailsafePublisher<Integer> publisher = FailsafePublisher.of(() -> new IntPublisher(1, 5, 5)).with(breaker);
+
+    // Half-open circuits allow one subscription attempt at a time
+    TestSubscriber first = new TestSubscriber();
+    publisher.subscribe(first);
+    TestSubscriber second = new TestSubscriber();
+    publisher.subscribe(second);
+    assertTrue(second.terminated.await(5, TimeUnit.SECONDS));
+    assertTrue(second.failure instanceof CircuitBreakerOpenException);
+
+    // Cancelling records the attempt as completed
+    first.subscription.cancel();
+    assertTrue(breaker.isClosed());
+  }
+
+  public void shouldStopRetryingWhenCancelled() throws Throwable {
+    AtomicInteger subscriptions = new AtomicInteger();
+    TestSubscriber subscriber = new TestSubscriber();
+    FailsafePublisher.of(() -> {
+      subscriptions.incrementAndGet();
+      return new IntPublisher(1, 5, 0);
+    })
+        .with(new RetryPolicy.Builder().withDelay(50, TimeUnit.MILLISECONDS).build())
+        .with(executor)
+        .subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    Thread.sleep(100);
+    assertEquals(subscriptions.get(), 1);
+    assertEquals(subscriber.terminated.getCount(), 1);
+  }
+}
@@ -0,0 +1,143 @@
+package net.jodah.failsafe.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.Execution;
+import net.jodah.failsafe.RetryPolicy;
+import net.jodah.failsafe.internal.util.Assert;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+/**
+ * An {@link Observable.Transformer} that resubscribes to a failed observable according to a {@link RetryPolicy}. Each
+ * subscription has its own {@link Execution}, so retry decisions, backoff, jitter and max durations are the same as
+ * for other Failsafe executions, and retry delays are waited for via timers on an Rx {@link Scheduler} rather than by
+ * blocking. When a {@link CircuitBreaker} is configured, it is shared by every subscription: each subscription attempt
+ * is started via {@link Execution#startAttempt()}, so it is rejected while the circuit does not allow executions, and
+ * its outcome is recorded with the circuit. A subscription attempt that is unsubscribed downstream is recorded as
+ * completed.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * {@code
+ * observable.compose(FailsafeTransformer.<String>of(retryPolicy).with(circuitBreaker));
+ * }
+ * </pre>
+ * <p>
+ * Elements that were emitted before a failure are not replayed.
+ *
+ * @author Jonathan Halterman
+ * @param <T> element type
+ */
+public class FailsafeTransformer<T> implements Observable.Transformer<T, T> {
+  private final RetryPolicy retryPolicy;
+  private CircuitBreaker circuitBreaker;
+  private Scheduler scheduler = Schedulers.computation();
+
+  private FailsafeTransformer(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Returns a FailsafeTransformer that resubscribes to failed observables according to the {@code retryPolicy}.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public static <T> FailsafeTransformer<T> of(RetryPolicy retryPolicy) {
+    return new FailsafeTransformer<T>(Assert.notNull(retryPolicy, "retryPolicy"));
+  }
+
+  /**
+   * Configures the {@code circuitBreaker} to gate and record subscription attempts with.
+   *
+   * @throws NullPointerException if {@code circuitBreaker} is null
+   */
+  public FailsafeTransformer<T> with(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = Assert.notNull(circuitBreaker, "circuitBreaker");
+    return this;
+  }
+
+  /**
+   * Configures the {@code scheduler} to wait for retry delays on. Defaults to {@link Schedulers#computation()}.
+   *
+   * @throws NullPointerException if {@code scheduler} is null
+   */
+  public FailsafeTransformer<T> with(Scheduler scheduler) {
+    this.scheduler = Assert.notNull(scheduler, "scheduler");
+    return this;
+  }
+
+  @Override
+  public Observable<T> call(final Observable<T> source) {
+    Assert.notNull(source, "source");
+    return Observable.defer(new Func0<Observable<T>>() {
+      @Override
+      public Observable<T> call() {
+        return new Attempts(source).observable();
+      }
+    });
+  }
+
+  /**
+   * Performs the subscription attempts to a source for a single subscriber.
+   */
+  private class Attempts implements Func1<Observable<? extends Throwable>, Observable<?>> {
+    private final Observable<T> source;
+    private final Execution execution;
+    private final AtomicBoolean attemptInProgress = new AtomicBoolean();
+    private volatile RuntimeException rejection;
+
+    Attempts(Observable<T> source) {
+      this.source = source;
+      this.execution = circuitBreaker == null ? new Execution(retryPolicy) : new Execution(retryPolicy, circuitBreaker);
+    }
+
+    Observable<T> observable() {
+      return Observable.defer(new Func0<Observable<T>>() {
+        @Override
+        public Observable<T> call() {
+          RuntimeException attemptRejection = execution.startAttempt();
+          if (attemptRejection != null) {
+            rejection = attemptRejection;
+            return Observable.error(attemptRejection);
+          }
+
+          attemptInProgress.set(true);
+          return source;
+        }
+      }).doOnCompleted(new Action0() {
+        @Override
+        public void call() {
+          if (attemptInProgress.compareAndSet(true, false))
+            execution.complete();
+        }
+      }).retryWhen(this).doOnUnsubscribe(new Action0() {
+        @Override
+        public void call() {
+          if (attemptInProgress.compareAndSet(true, false))
+            execution.complete();
+        }
+      });
+    }
+
+    @Override
+    public Observable<?> call(Observable<? extends Throwable> failures) {
+      return failures.flatMap(new Func1<Throwable, Observable<?>>() {
+        @Override
+        public Observable<?> call(Throwable failure) {
+          // Rejections are not attempts, so they're neither recorded nor retried
+          if (failure != rejection && attemptInProgress.compareAndSet(true, false) && execution.canRetryOn(failure))
+            return Observable.timer(execution.getWaitTime().toNanos(), TimeUnit.NANOSECONDS, scheduler);
+          return Observable.error(failure);
+        }
+      });
+    }
+  }
+}
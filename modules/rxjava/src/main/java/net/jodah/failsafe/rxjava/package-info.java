@@ -0,0 +1,5 @@
+/**
+ * RxJava integration. Provides a transformer that resubscribes to failed observables according to a Failsafe
+ * {@link net.jodah.failsafe.RetryPolicy} and {@link net.jodah.failsafe.CircuitBreaker}, waiting on an Rx scheduler.
+ */
+package net.jodah.failsafe.rxjava;
@@ -0,0 +1,138 @@
+package net.jodah.failsafe.rxjava;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.RetryPolicy;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+@Test
+public class FailsafeTransformerTest {
+  private RetryPolicy noRetries = new RetryPolicy.Builder().withMaxRetries(0).build();
+
+  /**
+   * Returns an observable that emits its subscription count and then fails for the first {@code failures}
+   * subscriptions, else completes.
+   */
+  static Observable<Integer> failing(AtomicInteger subscriptions, int failures) {
+    return Observable.defer(() -> {
+      int subscription = subscriptions.incrementAndGet();
+      Observable<Integer> element = Observable.just(subscription);
+      return subscription <= failures ? element.concatWith(Observable.error(new ConnectException())) : element;
+    });
+  }
+
+  public void shouldRetryWithDelaysOnScheduler() {
+    TestScheduler scheduler = new TestScheduler();
+    AtomicInteger subscriptions = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(5)
+        .withDelay(10, TimeUnit.MILLISECONDS)
+        .build();
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+    failing(subscriptions, 2).compose(FailsafeTransformer.<Integer>of(retryPolicy).with(scheduler))
+        .subscribe(subscriber);
+    assertEquals(subscriptions.get(), 1);
+
+    scheduler.advanceTimeBy(9, TimeUnit.MILLISECONDS);
+    assertEquals(subscriptions.get(), 1);
+    scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+    assertEquals(subscriptions.get(), 2);
+
+    scheduler.advanceTimeBy(9, TimeUnit.MILLISECONDS);
+    assertEquals(subscriptions.get(), 2);
+    scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+    assertEquals(subscriptions.get(), 3);
+
+    subscriber.assertNoErrors();
+    subscriber.assertCompleted();
+    subscriber.assertReceivedOnNext(Arrays.asList(1, 2, 3));
+  }
+
+  public void shouldFailWhenRetriesExceeded() {
+    AtomicInteger subscriptions = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+    failing(subscriptions, 10).compose(FailsafeTransformer.<Integer>of(retryPolicy)).subscribe(subscriber);
+
+    subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+    assertEquals(subscriptions.get(), 3);
+    assertEquals(subscriber.getOnErrorEvents().size(), 1);
+    assertTrue(subscriber.getOnErrorEvents().get(0) instanceof ConnectException);
+  }
+
+  public void shouldNotRetryUnhandledFailures() {
+    AtomicInteger subscriptions = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryOn(IllegalStateException.class).build();
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+    failing(subscriptions, 1).compose(FailsafeTransformer.<Integer>of(retryPolicy)).subscribe(subscriber);
+
+    subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+    assertEquals(subscriptions.get(), 1);
+    assertTrue(subscriber.getOnErrorEvents().get(0) instanceof ConnectException);
+  }
+
+  public void shouldShareCircuitBreakerAcrossSubscriptions() {
+    AtomicInteger subscriptions = new AtomicInteger();
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withFailureThreshold(2).withDelay(1, TimeUnit.MINUTES);
+    FailsafeTransformer<Integer> transformer = FailsafeTransformer.<Integer>of(noRetries).with(circuitBreaker);
+    Observable<Integer> observable = failing(subscriptions, 10).compose(transformer);
+
+    for (int i = 0; i < 2; i++) {
+      TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+      observable.subscribe(subscriber);
+      assertTrue(subscriber.getOnErrorEvents().get(0) instanceof ConnectException);
+    }
+    assertTrue(circuitBreaker.isOpen());
+
+    // Rejected without subscribing
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+    observable.subscribe(subscriber);
+    assertTrue(subscriber.getOnErrorEvents().get(0) instanceof CircuitBreakerOpenException);
+    assertEquals(subscriptions.get(), 2);
+  }
+
+  public void shouldLimitConcurrentSubscriptionsWhenHalfOpen() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    circuitBreaker.halfOpen();
+    Observable<Integer> observable = Observable.<Integer>never()
+        .compose(FailsafeTransformer.<Integer>of(noRetries).with(circuitBreaker));
+
+    // Half-open circuits allow one subscription attempt at a time
+    TestSubscriber<Integer> first = new TestSubscriber<>();
+    observable.subscribe(first);
+    TestSubscriber<Integer> second = new TestSubscriber<>();
+    observable.subscribe(second);
+    assertTrue(second.getOnErrorEvents().get(0) instanceof CircuitBreakerOpenException);
+
+    // Unsubscribing records the attempt as completed
+    first.unsubscribe();
+    assertTrue(circuitBreaker.isClosed());
+  }
+
+  public void shouldRecordSuccessesWithCircuitBreaker() {
+    AtomicInteger subscriptions = new AtomicInteger();
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    circuitBreaker.halfOpen();
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+    failing(subscriptions, 0).compose(FailsafeTransformer.<Integer>of(noRetries).with(circuitBreaker))
+        .subscribe(subscriber);
+
+    subscriber.assertCompleted();
+    assertTrue(circuitBreaker.isClosed());
+  }
+}
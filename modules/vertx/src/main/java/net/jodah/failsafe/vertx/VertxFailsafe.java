@@ -0,0 +1,141 @@
+package net.jodah.failsafe.vertx;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import net.jodah.failsafe.AsyncFailsafe;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.SyncFailsafe;
+import net.jodah.failsafe.function.CheckedRunnable;
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * Performs Failsafe executions on Vert.x contexts, returning Vert.x {@link Future futures}. Executions are scheduled via
+ * a {@link VertxScheduler}, so attempts and retries are performed on the context that started the execution and the
+ * returned futures are completed on it, without Failsafe adding threads to a Vert.x deployment.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * {@code
+ * VertxFailsafe failsafe = VertxFailsafe.of(vertx, Failsafe.with(retryPolicy));
+ * failsafe.<String>getAsync(future -> vertx.eventBus().send("ping-address", "ping", reply -> {
+ *   if (reply.succeeded())
+ *     future.complete((String) reply.result().body());
+ *   else
+ *     future.fail(reply.cause());
+ * })).setHandler(result -> ...);
+ * }
+ * </pre>
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public final class VertxFailsafe {
+  private final AsyncFailsafe<?> failsafe;
+
+  private VertxFailsafe(AsyncFailsafe<?> failsafe) {
+    this.failsafe = failsafe;
+  }
+
+  /**
+   * Returns a VertxFailsafe that performs executions according to the {@code failsafe} configuration on the contexts
+   * of the {@code vertx} instance.
+   *
+   * @throws NullPointerException if {@code vertx} or {@code failsafe} are null
+   */
+  public static VertxFailsafe of(Vertx vertx, SyncFailsafe<?> failsafe) {
+    Assert.notNull(failsafe, "failsafe");
+    return new VertxFailsafe(failsafe.with(VertxScheduler.of(vertx)));
+  }
+
+  /**
+   * Executes the {@code callable} until a successful result is returned or the configured policies are exceeded.
+   * Returns a future that is completed with the result, or failed with the last failure or a
+   * {@link CircuitBreakerOpenException} if a configured circuit breaker is open.
+   *
+   * @throws NullPointerException if {@code callable} is null
+   */
+  public <T> Future<T> get(final Callable<T> callable) {
+    Assert.notNull(callable, "callable");
+    return execute(new Callable<CompletableFuture<T>>() {
+      @Override
+      public CompletableFuture<T> call() throws Exception {
+        return CompletableFuture.completedFuture(callable.call());
+      }
+    });
+  }
+
+  /**
+   * Executes the asynchronous {@code operation}, which is passed a future to complete or fail for each attempt, until
+   * an attempt succeeds or the configured policies are exceeded. Returns a future that is completed with the result,
+   * or failed with the last failure or a {@link CircuitBreakerOpenException} if a configured circuit breaker is open.
+   *
+   * @throws NullPointerException if {@code operation} is null
+   */
+  public <T> Future<T> getAsync(final Handler<Future<T>> operation) {
+    Assert.notNull(operation, "operation");
+    return execute(new Callable<CompletableFuture<T>>() {
+      @Override
+      public CompletableFuture<T> call() throws Exception {
+        final CompletableFuture<T> attempt = new CompletableFuture<T>();
+        Future<T> future = Future.future();
+        future.setHandler(new Handler<AsyncResult<T>>() {
+          @Override
+          public void handle(AsyncResult<T> result) {
+            if (result.succeeded())
+              attempt.complete(result.result());
+            else
+              attempt.completeExceptionally(result.cause());
+          }
+        });
+        operation.handle(future);
+        return attempt;
+      }
+    });
+  }
+
+  /**
+   * Executes the {@code runnable} until successful or until the configured policies are exceeded. Returns a future that
+   * is completed on success, or failed with the last failure or a {@link CircuitBreakerOpenException} if a configured
+   * circuit breaker is open.
+   *
+   * @throws NullPointerException if {@code runnable} is null
+   */
+  public Future<Void> run(final CheckedRunnable runnable) {
+    Assert.notNull(runnable, "runnable");
+    return execute(new Callable<CompletableFuture<Void>>() {
+      @Override
+      public CompletableFuture<Void> call() throws Exception {
+        runnable.run();
+        return CompletableFuture.completedFuture(null);
+      }
+    });
+  }
+
+  private <T> Future<T> execute(Callable<CompletableFuture<T>> callable) {
+    final Future<T> future = Future.future();
+    try {
+      failsafe.future(callable).whenComplete(new BiConsumer<T, Throwable>() {
+        @Override
+        public void accept(T result, Throwable failure) {
+          if (failure == null)
+            future.complete(result);
+          else
+            future.fail(failure instanceof CompletionException ? failure.getCause() : failure);
+        }
+      });
+    } catch (RuntimeException e) {
+      future.fail(e);
+    }
+
+    return future;
+  }
+}
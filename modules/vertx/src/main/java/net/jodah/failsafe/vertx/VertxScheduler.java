@@ -0,0 +1,128 @@
+package net.jodah.failsafe.vertx;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.concurrent.Scheduler;
+
+/**
+ * A {@link Scheduler} that performs the attempts of asynchronous executions on the Vert.x context that scheduled them,
+ * waiting for delays via {@link Vertx#setTimer(long, Handler) Vert.x timers}. When an execution is started from a
+ * Vert.x context, its attempts and retries are performed on that context, preserving the Vert.x threading model
+ * without adding threads or {@code executeBlocking} hops. Executions that are started from other threads are assigned a
+ * context via {@link Vertx#getOrCreateContext()} and stay on it.
+ * <p>
+ * Attempts are performed on the context's thread, so they should not block. This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ * @see VertxFailsafe
+ */
+public final class VertxScheduler implements Scheduler {
+  private final Vertx vertx;
+
+  private VertxScheduler(Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * Returns a scheduler that performs attempts on the contexts of the {@code vertx} instance.
+   *
+   * @throws NullPointerException if {@code vertx} is null
+   */
+  public static VertxScheduler of(Vertx vertx) {
+    return new VertxScheduler(Assert.notNull(vertx, "vertx"));
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Callable<?> callable, long delay, TimeUnit unit) {
+    Context context = Vertx.currentContext();
+    if (context == null || context.owner() != vertx)
+      context = vertx.getOrCreateContext();
+    return new ContextTask(context, callable, unit.toNanos(delay));
+  }
+
+  /**
+   * A task that is performed on a context, after a timer fires if it is delayed.
+   */
+  private final class ContextTask implements ScheduledFuture<Object>, Handler<Void> {
+    private final Context context;
+    private final FutureTask<Object> task;
+    private final long deadlineNanos;
+    private final long timerId;
+
+    @SuppressWarnings("unchecked")
+    ContextTask(Context context, Callable<?> callable, long delayNanos) {
+      this.context = context;
+      this.task = new FutureTask<Object>((Callable<Object>) callable);
+      this.deadlineNanos = System.nanoTime() + delayNanos;
+      if (delayNanos <= 0) {
+        timerId = -1;
+        context.runOnContext(this);
+      } else {
+        // Vert.x timers have a resolution of 1 millisecond
+        long delayMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(delayNanos + 999999));
+        timerId = vertx.setTimer(delayMillis, new Handler<Long>() {
+          @Override
+          public void handle(Long timerId) {
+            if (Vertx.currentContext() == ContextTask.this.context)
+              task.run();
+            else
+              ContextTask.this.context.runOnContext(ContextTask.this);
+          }
+        });
+      }
+    }
+
+    @Override
+    public void handle(Void event) {
+      task.run();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+      return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (timerId != -1)
+        vertx.cancelTimer(timerId);
+      return task.cancel(false);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return task.isDone();
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+      return task.get();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return task.get(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Vert.x integration. Provides a scheduler that performs attempts and retries on the originating Vert.x context via
+ * Vert.x timers, and execution methods that return Vert.x futures.
+ */
+package net.jodah.failsafe.vertx;
@@ -0,0 +1,98 @@
+package net.jodah.failsafe.vertx;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class VertxFailsafeTest {
+  private Vertx vertx = Vertx.vertx();
+  private RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(5)
+      .withDelay(10, TimeUnit.MILLISECONDS)
+      .build();
+
+  @AfterClass
+  protected void afterClass() {
+    vertx.close();
+  }
+
+  public void shouldKeepRetriesOnOriginatingContext() throws Throwable {
+    Set<Context> contexts = ConcurrentHashMap.newKeySet();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<Context> started = new CompletableFuture<>();
+    CompletableFuture<Context> completed = new CompletableFuture<>();
+
+    vertx.runOnContext(v -> {
+      started.complete(Vertx.currentContext());
+      VertxFailsafe.of(vertx, Failsafe.with(retryPolicy)).get(() -> {
+        contexts.add(Vertx.currentContext());
+        if (attempts.incrementAndGet() < 3)
+          throw new ConnectException();
+        return "done";
+      }).setHandler(result -> {
+        assertEquals(result.result(), "done");
+        completed.complete(Vertx.currentContext());
+      });
+    });
+
+    Context context = started.get(5, TimeUnit.SECONDS);
+    assertSame(completed.get(5, TimeUnit.SECONDS), context);
+    assertEquals(attempts.get(), 3);
+    assertEquals(contexts.size(), 1);
+    assertSame(contexts.iterator().next(), context);
+  }
+
+  public void shouldRetryAsyncOperations() throws Throwable {
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<AsyncResult<String>> completed = new CompletableFuture<>();
+
+    VertxFailsafe.of(vertx, Failsafe.with(retryPolicy)).<String>getAsync(future -> vertx.setTimer(1, id -> {
+      if (attempts.incrementAndGet() < 3)
+        future.fail(new ConnectException());
+      else
+        future.complete("done");
+    })).setHandler(completed::complete);
+
+    assertEquals(completed.get(5, TimeUnit.SECONDS).result(), "done");
+    assertEquals(attempts.get(), 3);
+  }
+
+  public void shouldFailWithLastFailure() throws Throwable {
+    CompletableFuture<AsyncResult<Void>> completed = new CompletableFuture<>();
+    IllegalStateException failure = new IllegalStateException();
+
+    VertxFailsafe.of(vertx, Failsafe.with(retryPolicy)).run(() -> {
+      throw failure;
+    }).setHandler(completed::complete);
+
+    assertSame(completed.get(5, TimeUnit.SECONDS).cause(), failure);
+  }
+
+  public void shouldFailWhenCircuitIsOpen() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    circuitBreaker.open();
+
+    Future<String> future = VertxFailsafe.of(vertx, Failsafe.with(circuitBreaker)).get(() -> "done");
+    assertTrue(future.failed());
+    assertTrue(future.cause() instanceof CircuitBreakerOpenException);
+  }
+}
@@ -2,34 +2,34 @@ package net.jodah.failsafe;
 
 import java.util.concurrent.TimeUnit;
 
+import net.jodah.failsafe.function.BiFunction;
 import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.internal.util.Randoms;
 import net.jodah.failsafe.util.Duration;
 
 abstract class AbstractExecution extends ExecutionContext {
   final FailsafeConfig<Object, ?> config;
-  final RetryPolicy retryPolicy;
-  final CircuitBreaker circuitBreaker;
+  /** The retry policy for the current attempt */
+  volatile RetryPolicy retryPolicy;
+  final PolicyExecutor[] pipeline;
 
   // Mutable state
-  long attemptStartTime;
+  Object observedAttempt;
   volatile Object lastResult;
   volatile Throwable lastFailure;
   volatile boolean completed;
   volatile boolean retriesExceeded;
   volatile boolean success;
   volatile long delayNanos;
-  volatile long waitNanos;
 
   /**
-   * Creates a new Execution for the {@code retryPolicy} and {@code circuitBreaker}.
-   * 
-   * @throws NullPointerException if {@code retryPolicy} is null
+   * Creates a new Execution for the {@code config}.
    */
   AbstractExecution(FailsafeConfig<Object, ?> config) {
-    super(new Duration(System.nanoTime(), TimeUnit.NANOSECONDS));
+    super(config.clock, new Duration(config.clock.nanoTime(), TimeUnit.NANOSECONDS));
     this.config = config;
-    retryPolicy = config.retryPolicy;
-    this.circuitBreaker = config.circuitBreaker;
+    retryPolicy = config.retryPolicyHolder == null ? config.retryPolicy : config.retryPolicyHolder.get();
+    pipeline = config.pipeline();
     waitNanos = delayNanos = retryPolicy.getDelay().toNanos();
   }
 
@@ -50,29 +50,97 @@ abstract class AbstractExecution extends ExecutionContext {
   }
 
   /**
-   * Returns the time to wait before the next execution attempt.
+   * Returns whether the execution is complete.
    */
-  public Duration getWaitTime() {
-    return new Duration(waitNanos, TimeUnit.NANOSECONDS);
+  public boolean isComplete() {
+    return completed;
   }
 
   /**
-   * Returns whether the execution is complete.
+   * Admits the next attempt via each policy executor in the pipeline, waiting for permits if necessary. Returns the
+   * failure that the attempt is rejected with by the first executor that rejects it, after releasing the attempt from
+   * the executors that allowed it, else {@code null} if the attempt is allowed.
+   *
+   * @throws InterruptedException if interrupted while waiting for a permit
    */
-  public boolean isComplete() {
-    return completed;
+  RuntimeException admit() throws InterruptedException {
+    for (int stage = 0; stage < pipeline.length; stage++) {
+      RuntimeException rejection = null;
+      boolean admitted = false;
+      try {
+        rejection = pipeline[stage].acquirePermit(this);
+        admitted = rejection == null;
+      } finally {
+        if (!admitted)
+          release(stage);
+      }
+      if (rejection != null)
+        return rejection;
+    }
+
+    return null;
+  }
+
+  /**
+   * Releases the current attempt from the policy executors that allowed it, which are those before the {@code stage},
+   * in reverse order.
+   */
+  void release(int stage) {
+    for (int i = stage - 1; i >= 0; i--)
+      pipeline[i].releaseAttempt(this);
+  }
+
+  /**
+   * Returns a result to complete the execution with before any attempts are performed, else
+   * {@link PolicyExecutor#NO_RESULT}.
+   */
+  Object resultBeforeExecution() {
+    for (PolicyExecutor executor : pipeline) {
+      Object result = executor.resultBeforeExecution(this);
+      if (result != PolicyExecutor.NO_RESULT)
+        return result;
+    }
+
+    return PolicyExecutor.NO_RESULT;
+  }
+
+  /**
+   * Returns a result to complete the failed execution with in place of the {@code failure}, else
+   * {@link PolicyExecutor#NO_RESULT}.
+   */
+  Object resultOnFailure(Throwable failure) {
+    for (PolicyExecutor executor : pipeline) {
+      Object result = executor.resultOnFailure(this, failure);
+      if (result != PolicyExecutor.NO_RESULT)
+        return result;
+    }
+
+    return PolicyExecutor.NO_RESULT;
+  }
+
+  /**
+   * Records that the execution succeeded with the {@code result} with the policy executors.
+   */
+  void succeeded(Object result) {
+    for (PolicyExecutor executor : pipeline)
+      executor.executionSucceeded(this, result);
   }
 
   void before() {
-    if (circuitBreaker != null)
-      circuitBreaker.before();
-    attemptStartTime = System.nanoTime();
+    if (config.retryPolicyHolder != null)
+      retryPolicy = config.retryPolicyHolder.get();
+    for (PolicyExecutor executor : pipeline)
+      executor.beforeAttempt(this);
+    attemptStartTime = clock.nanoTime();
+    if (Observers.OBSERVER != null)
+      observedAttempt = Observers.attemptStarted(this);
   }
 
   /**
    * Records and attempts to complete the execution, returning true if complete else false.
    * 
    * @throws IllegalStateException if the execution is already complete
+   * @throws RuntimeException if a function that the retry policy delegates to fails, completing the execution
    */
    boolean complete(Object result, Throwable failure, boolean checkArgs) {
     Assert.state(!completed, "Execution has already been completed");
@@ -80,29 +148,51 @@ abstract class AbstractExecution extends ExecutionContext {
     lastResult = result;
     lastFailure = failure;
     long elapsedNanos = getElapsedTime().toNanos();
+    RetryPolicy retryPolicy = this.retryPolicy;
 
-    // Record the execution with the circuit breaker
-    if (circuitBreaker != null) {
-      Duration timeout = circuitBreaker.getTimeout();
-      boolean timeoutExceeded = timeout != null && elapsedNanos >= timeout.toNanos();
-      if (circuitBreaker.isFailure(result, failure) || timeoutExceeded)
-        circuitBreaker.recordFailure();
-      else
-        circuitBreaker.recordSuccess();
-    }
+    // Record the attempt with the policy executors
+    for (PolicyExecutor executor : pipeline)
+      executor.afterAttempt(this, result, failure);
 
-    // Adjust the delay for backoffs
-    if (retryPolicy.getMaxDelay() != null)
+    // Compute the delay from the delay function, else adjust the delay for backoffs
+    Duration computedDelay = null;
+    DelayFunction<Object, Throwable> delayFunction = retryPolicy.getDelayFunction();
+    if (delayFunction != null) {
+      try {
+        computedDelay = delayFunction.computeDelay(result, failure, this);
+      } catch (RuntimeException e) {
+        throw completeWith(e);
+      }
+    }
+    if (computedDelay != null)
+      delayNanos = computedDelay.toNanos();
+    else if (retryPolicy.getMaxDelay() != null)
       delayNanos = (long) Math.min(delayNanos * retryPolicy.getDelayFactor(), retryPolicy.getMaxDelay().toNanos());
 
     // Calculate the wait time with jitter
     if (retryPolicy.getJitter() != null)
-      waitNanos = randomizeDelay(delayNanos, retryPolicy.getJitter().toNanos(), Math.random());
+      waitNanos = randomizeDelay(delayNanos, retryPolicy.getJitter().toNanos(), Randoms.nextDouble());
     else if (retryPolicy.getJitterFactor() > 0.0)
-      waitNanos = randomizeDelay(delayNanos, retryPolicy.getJitterFactor(), Math.random());
+      waitNanos = randomizeDelay(delayNanos, retryPolicy.getJitterFactor(), Randoms.nextDouble());
     else
       waitNanos = delayNanos;
 
+    // Override the wait time with a delay directed by the result or failure
+    BiFunction<Object, Throwable, Duration> delayOnFunction = retryPolicy.getDelayOnFunction();
+    if (delayOnFunction != null) {
+      Duration directedDelay = null;
+      try {
+        directedDelay = delayOnFunction.apply(result, failure);
+      } catch (RuntimeException e) {
+        throw completeWith(e);
+      }
+      if (directedDelay != null) {
+        waitNanos = Math.max(0, directedDelay.toNanos());
+        if (retryPolicy.getMaxDelay() != null)
+          waitNanos = Math.min(waitNanos, retryPolicy.getMaxDelay().toNanos());
+      }
+    }
+
     // Adjust the wait time for max duration
     if (retryPolicy.getMaxDuration() != null) {
       long maxRemainingWaitTime = retryPolicy.getMaxDuration().toNanos() - elapsedNanos;
@@ -113,14 +203,33 @@ abstract class AbstractExecution extends ExecutionContext {
 
     boolean maxRetriesExceeded = retryPolicy.getMaxRetries() != -1 && executions > retryPolicy.getMaxRetries();
     boolean maxDurationExceeded = retryPolicy.getMaxDuration() != null
-        && elapsedNanos > retryPolicy.getMaxDuration().toNanos();
+        && elapsedNanos >= retryPolicy.getMaxDuration().toNanos();
     retriesExceeded = maxRetriesExceeded || maxDurationExceeded;
     boolean isAbortable = retryPolicy.canAbortFor(result, failure);
     boolean isRetryable = retryPolicy.canRetryFor(result, failure);
     boolean shouldRetry = !retriesExceeded && checkArgs && !isAbortable && retryPolicy.allowsRetries() && isRetryable;
+
+    // Draw retries from the budget
+    RetryBudget budget = retryPolicy.getBudget();
+    if (budget != null) {
+      if (executions == 1)
+        budget.recordExecution();
+      if (shouldRetry && !budget.tryAcquireRetry()) {
+        retriesExceeded = true;
+        shouldRetry = false;
+      }
+    }
+
     completed = isAbortable || !shouldRetry;
     success = completed && !isAbortable && !isRetryable && failure == null;
 
+    if (Observers.OBSERVER != null) {
+      Observers.attemptEnded(this, observedAttempt, result, failure);
+      observedAttempt = null;
+      if (!completed)
+        Observers.retryScheduled(this, waitNanos);
+    }
+
     // Call listeners
     if (!success)
       config.handleFailedAttempt(result, failure, this);
@@ -136,6 +245,24 @@ abstract class AbstractExecution extends ExecutionContext {
     return completed;
   }
 
+  /**
+   * Completes the execution with the {@code failure} of a function that the retry policy delegates to, calling the
+   * failed attempt and complete listeners, and returns the failure to be thrown.
+   */
+  RuntimeException completeWith(RuntimeException failure) {
+    completed = true;
+    success = false;
+    lastResult = null;
+    lastFailure = failure;
+    if (Observers.OBSERVER != null) {
+      Observers.attemptEnded(this, observedAttempt, null, failure);
+      observedAttempt = null;
+    }
+    config.handleFailedAttempt(null, failure, this);
+    config.handleComplete(null, failure, this, false);
+    return failure;
+  }
+
   static long randomizeDelay(long delay, long jitter, double random) {
     double randomAddend = (1 - random * 2) * jitter;
     return (long) (delay + randomAddend);
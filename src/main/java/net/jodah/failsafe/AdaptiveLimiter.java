@@ -0,0 +1,224 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * A {@link Bulkhead} whose concurrency limit adapts to the latency and failures observed for each execution attempt, so
+ * that the number of concurrent executions settles near the capacity of the dependency being called. Attempts that
+ * exceed the current limit are rejected with a {@link BulkheadFullException}, or wait for a permit when a
+ * {@link #withMaxWaitTime(long, TimeUnit) maxWaitTime} is configured. An AdaptiveLimiter is configured via
+ * {@link SyncFailsafe#with(Bulkhead)} or {@link Failsafe#with(Bulkhead)}.
+ * <p>
+ * The limit is adjusted using one of two algorithms:
+ * <ul>
+ * <li>{@link #aimd(int, int, int) AIMD}, which increases the limit by 1 for each successful attempt while at least
+ * half of the limit is in use, and multiplies the limit by a {@link #withBackoffRatio(double) backoffRatio} for each
+ * failed attempt, including attempts that exceed a {@link Timeout}.</li>
+ * <li>{@link #gradient(int, int, int) Gradient}, which compares the short-term minimum round-trip time of recent
+ * attempts to the long-term minimum round-trip time, shrinking the limit as queueing causes latency to rise and
+ * growing it while latency stays near the long-term minimum.</li>
+ * </ul>
+ * <p>
+ * This class is thread safe. Acquiring and releasing permits is lock-free, while limit adjustments are serialized.
+ *
+ * @author Jonathan Halterman
+ */
+public class AdaptiveLimiter extends Bulkhead {
+  /** The number of attempts that the short-term minimum RTT is measured over when using the gradient algorithm */
+  static final int RTT_WINDOW = 10;
+  /** The number of windows that the long-term minimum RTT takes to recover from a lower minimum */
+  static final int LONG_TERM_WINDOWS = 20;
+  /** The fraction of a gradient computed limit that is blended into the current limit */
+  private static final double SMOOTHING = 0.2;
+
+  private final boolean gradient;
+  private final int minLimit;
+  private final int maxLimit;
+  private double backoffRatio = 0.9;
+  private double rttTolerance = 1.5;
+
+  // Limit state, guarded by "this"
+  private volatile int limit;
+  private double gradientLimit;
+  private int windowSamples;
+  private long windowMinRtt;
+  private long longTermRtt;
+
+  private AdaptiveLimiter(boolean gradient, int initialLimit, int minLimit, int maxLimit) {
+    super(initialLimit);
+    Assert.isTrue(minLimit >= 1, "minLimit must be greater than or equal to 1");
+    Assert.isTrue(minLimit <= initialLimit && initialLimit <= maxLimit,
+        "initialLimit must be between minLimit and maxLimit");
+    this.gradient = gradient;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+    this.gradientLimit = initialLimit;
+  }
+
+  /**
+   * Returns an AdaptiveLimiter that starts at the {@code initialLimit} and adjusts it between the {@code minLimit} and
+   * {@code maxLimit} using additive increase and multiplicative decrease.
+   *
+   * @throws IllegalArgumentException if {@code minLimit} < 1 or {@code initialLimit} is not between {@code minLimit}
+   *           and {@code maxLimit}
+   */
+  public static AdaptiveLimiter aimd(int initialLimit, int minLimit, int maxLimit) {
+    return new AdaptiveLimiter(false, initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Returns an AdaptiveLimiter that starts at the {@code initialLimit} and adjusts it between the {@code minLimit} and
+   * {@code maxLimit} using the gradient between the long-term and short-term minimum round-trip times.
+   *
+   * @throws IllegalArgumentException if {@code minLimit} < 1 or {@code initialLimit} is not between {@code minLimit}
+   *           and {@code maxLimit}
+   */
+  public static AdaptiveLimiter gradient(int initialLimit, int minLimit, int maxLimit) {
+    return new AdaptiveLimiter(true, initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Returns the ratio that the limit is multiplied by when an attempt fails using the AIMD algorithm. Defaults to
+   * {@code 0.9}.
+   *
+   * @see #withBackoffRatio(double)
+   */
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  /**
+   * Returns the current concurrency limit.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns the current concurrency limit.
+   */
+  @Override
+  public int getMaxConcurrentExecutions() {
+    return limit;
+  }
+
+  /**
+   * Returns the max concurrency limit.
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * Returns the min concurrency limit.
+   */
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * Returns the ratio by which the short-term minimum RTT may exceed the long-term minimum RTT before the limit is
+   * reduced using the gradient algorithm. Defaults to {@code 1.5}.
+   *
+   * @see #withRttTolerance(double)
+   */
+  public double getRttTolerance() {
+    return rttTolerance;
+  }
+
+  /**
+   * Returns whether the limit is adjusted using the gradient algorithm, else AIMD.
+   */
+  public boolean isGradient() {
+    return gradient;
+  }
+
+  /**
+   * Sets the ratio that the limit is multiplied by when an attempt fails using the AIMD algorithm.
+   *
+   * @throws IllegalArgumentException if {@code backoffRatio} is <= 0 or >= 1
+   * @throws IllegalStateException if the gradient algorithm is used
+   */
+  public AdaptiveLimiter withBackoffRatio(double backoffRatio) {
+    Assert.state(!gradient, "backoffRatio applies to the AIMD algorithm");
+    Assert.isTrue(backoffRatio > 0 && backoffRatio < 1, "backoffRatio must be > 0 and < 1");
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  @Override
+  public AdaptiveLimiter withMaxWaitTime(long maxWaitTime, TimeUnit timeUnit) {
+    super.withMaxWaitTime(maxWaitTime, timeUnit);
+    return this;
+  }
+
+  @Override
+  public AdaptiveLimiter withMaxWaitingExecutions(int maxWaitingExecutions) {
+    super.withMaxWaitingExecutions(maxWaitingExecutions);
+    return this;
+  }
+
+  /**
+   * Sets the ratio by which the short-term minimum RTT may exceed the long-term minimum RTT before the limit is reduced
+   * using the gradient algorithm. Higher tolerances favor throughput over latency.
+   *
+   * @throws IllegalArgumentException if {@code rttTolerance} < 1
+   * @throws IllegalStateException if the AIMD algorithm is used
+   */
+  public AdaptiveLimiter withRttTolerance(double rttTolerance) {
+    Assert.state(gradient, "rttTolerance applies to the gradient algorithm");
+    Assert.isTrue(rttTolerance >= 1, "rttTolerance must be greater than or equal to 1");
+    this.rttTolerance = rttTolerance;
+    return this;
+  }
+
+  @Override
+  void releasePermit(long latencyNanos, boolean failed) {
+    int delta;
+    synchronized (this) {
+      int newLimit = gradient ? gradientLimit(latencyNanos) : aimdLimit(failed);
+      delta = newLimit - limit;
+      limit = newLimit;
+    }
+
+    if (delta != 0)
+      adjustPermits(delta);
+    releasePermit();
+  }
+
+  private int aimdLimit(boolean failed) {
+    if (failed)
+      return Math.max(minLimit, (int) (limit * backoffRatio));
+
+    // Only grow the limit when it is being used, including the attempt that is releasing its permit
+    int inFlight = limit - getAvailablePermits();
+    if (inFlight * 2 >= limit)
+      return Math.min(maxLimit, limit + 1);
+    return limit;
+  }
+
+  private int gradientLimit(long rttNanos) {
+    if (windowSamples == 0 || rttNanos < windowMinRtt)
+      windowMinRtt = Math.max(1, rttNanos);
+    if (++windowSamples < RTT_WINDOW)
+      return limit;
+
+    // Track new lows immediately, and recover slowly from lows that are no longer observed
+    long shortTermRtt = windowMinRtt;
+    windowSamples = 0;
+    if (longTermRtt == 0 || shortTermRtt < longTermRtt)
+      longTermRtt = shortTermRtt;
+    else
+      longTermRtt += (shortTermRtt - longTermRtt) / LONG_TERM_WINDOWS;
+
+    double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longTermRtt / shortTermRtt));
+    double queueSize = Math.sqrt(gradientLimit);
+    double newLimit = gradientLimit * gradient + queueSize;
+    gradientLimit = gradientLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    gradientLimit = Math.max(minLimit, Math.min(maxLimit, gradientLimit));
+    return (int) gradientLimit;
+  }
+}
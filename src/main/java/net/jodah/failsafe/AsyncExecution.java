@@ -1,9 +1,12 @@
 package net.jodah.failsafe;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import net.jodah.failsafe.Functions.HedgeableCallableWrapper;
 import net.jodah.failsafe.internal.util.Assert;
 import net.jodah.failsafe.util.concurrent.Scheduler;
 
@@ -15,9 +18,28 @@ import net.jodah.failsafe.util.concurrent.Scheduler;
 public final class AsyncExecution extends AbstractExecution {
   private final Callable<Object> callable;
   private final FailsafeFuture<Object> future;
-  private final Scheduler scheduler;
+  final Scheduler scheduler;
+  private final Callable<Object> attempt;
   volatile boolean completeCalled;
   volatile boolean retryCalled;
+  /** The pipeline stage that the next attempt is admitted from, which is past the stages checked on submission */
+  int admissionStage;
+  long retryLogId;
+
+  // Run state for the current attempt, guarded by this
+  private int runs;
+  private int attemptRun;
+  private int runsInFlight;
+  private int hedges;
+  private long[] runStartTimes;
+  private List<Future<?>> hedgeFutures;
+  /** The stages that the runs of the current hedged attempt complete via, indexed from the attempt's first run */
+  private Future<?>[] runStages;
+  /** The run that finished the current attempt, -1 if it timed out, else 0 while it's in progress */
+  private int finishedRun;
+  private HedgePolicy hedgePolicy;
+  private Future<?> timeoutFuture;
+  private boolean attemptTimedOut;
 
   @SuppressWarnings("unchecked")
   <T> AsyncExecution(Callable<T> callable, Scheduler scheduler, FailsafeFuture<T> future,
@@ -26,6 +48,15 @@ public final class AsyncExecution extends AbstractExecution {
     this.callable = (Callable<Object>) callable;
     this.scheduler = scheduler;
     this.future = (FailsafeFuture<Object>) future;
+    attempt = new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        int stage = admissionStage;
+        admissionStage = 0;
+        admit(stage);
+        return null;
+      }
+    };
   }
 
   /**
@@ -108,21 +139,13 @@ public final class AsyncExecution extends AbstractExecution {
   }
 
   /**
-   * Prepares for an execution retry by recording the start time, checking if the circuit is open, resetting internal
-   * flags, and calling the retry listeners.
+   * Prepares for an execution retry by recording the start time, resetting internal flags, and calling the retry
+   * listeners.
    */
   void before() {
-    if (config.circuitBreaker != null && !config.circuitBreaker.allowsExecution()) {
-      completed = true;
-      Exception failure = new CircuitBreakerOpenException();
-      if (config != null)
-        config.handleComplete(null, failure, this, false);
-      future.complete(null, failure, config.fallback);
-      return;
-    }
-
     if (completeCalled && config != null)
       config.handleRetry(lastResult, lastFailure, this);
+    attemptTimedOut = false;
 
     super.before();
     completeCalled = false;
@@ -137,8 +160,13 @@ public final class AsyncExecution extends AbstractExecution {
   @Override
   synchronized boolean complete(Object result, Throwable failure, boolean checkArgs) {
     if (!completeCalled) {
-      if (super.complete(result, failure, checkArgs))
-        future.complete(result, failure, config.fallback);
+      Assert.state(!completed, "Execution has already been completed");
+      try {
+        if (super.complete(result, failure, checkArgs))
+          completeFuture(result, failure);
+      } catch (RuntimeException e) {
+        completeFuture(null, e);
+      }
       completeCalled = true;
     }
 
@@ -147,23 +175,357 @@ public final class AsyncExecution extends AbstractExecution {
 
   /**
    * Attempts to complete the execution else schedule a retry, returning whether a retry has been scheduled or not.
+   * Outcomes that are recorded for an attempt that already timed out are ignored.
    * 
    * @throws IllegalStateException if the execution is already complete
    */
   @SuppressWarnings({ "unchecked", "rawtypes" })
   synchronized boolean completeOrRetry(Object result, Throwable failure) {
+    if (attemptTimedOut)
+      return false;
     if (!complete(result, failure, true) && !future.isDone() && !future.isCancelled()) {
       try {
-        future.setFuture((Future) scheduler.schedule(callable, delayNanos, TimeUnit.NANOSECONDS));
+        if (config.retryLog != null)
+          retryLogId = config.retryLog.retryScheduled(retryLogId, config.retryLogPayload, executions, delayNanos,
+              System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        future.setFuture((Future) scheduler.schedule(attempt, waitNanos, TimeUnit.NANOSECONDS));
         return true;
       } catch (Throwable t) {
         failure = t;
         if (config != null)
           config.handleComplete(null, t, this, false);
-        future.complete(null, failure, config.fallback);
+        completeFuture(null, failure);
       }
     }
 
     return false;
   }
-}
\ No newline at end of file
+
+  /**
+   * Returns a callable that admits the next attempt via the pipeline and performs it.
+   */
+  Callable<Object> nextAttempt() {
+    return attempt;
+  }
+
+  /**
+   * Admits the first attempt on submission via the pipeline stages that don't wait for permits via the scheduler, up to
+   * the first stage that does. Returns the failure that the attempt is rejected with, after releasing it from the
+   * stages that allowed it, else {@code null} if the rest of the attempt's admission can be performed via the
+   * scheduler.
+   */
+  RuntimeException admitOnSubmission() {
+    int stage = 0;
+    for (; stage < pipeline.length && !pipeline[stage].acquiresAsynchronously(); stage++) {
+      RuntimeException rejection = null;
+      boolean admitted = false;
+      try {
+        rejection = pipeline[stage].rejectionFor(this);
+        admitted = rejection == null;
+      } finally {
+        if (!admitted)
+          release(stage);
+      }
+      if (rejection != null)
+        return rejection;
+    }
+
+    admissionStage = stage;
+    return null;
+  }
+
+  /**
+   * Admits the current attempt via the pipeline starting at the {@code stage}, then performs it. Stages that wait for a
+   * permit continue the admission when the permit is acquired.
+   */
+  void admit(int stage) {
+    for (; stage < pipeline.length; stage++) {
+      PolicyExecutor executor = pipeline[stage];
+      if (executor.acquiresAsynchronously()) {
+        executor.acquirePermit(this, stage);
+        return;
+      }
+
+      RuntimeException rejection = executor.rejectionFor(this);
+      if (rejection != null) {
+        rejectAttempt(stage, rejection);
+        return;
+      }
+    }
+
+    if (future.isDone()) {
+      release(pipeline.length);
+      return;
+    }
+
+    try {
+      callable.call();
+    } catch (Throwable t) {
+      completeOrRetry(null, t);
+    }
+  }
+
+  /**
+   * Continues admitting the current attempt at the {@code stage} after the {@code delayNanos}, via the scheduler.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  void admitAfter(final int stage, long delayNanos) {
+    try {
+      future.setFuture((Future) scheduler.schedule(new Callable<Object>() {
+        @Override
+        public Object call() throws Exception {
+          admit(stage);
+          return null;
+        }
+      }, delayNanos, TimeUnit.NANOSECONDS));
+    } catch (Throwable t) {
+      rejectAttempt(stage, t);
+    }
+  }
+
+  /**
+   * Rejects the current attempt with the {@code failure} at the {@code stage} of the pipeline, releasing it from the
+   * stages before it and completing the execution.
+   */
+  void rejectAttempt(int stage, Throwable failure) {
+    release(stage);
+    reject(failure);
+  }
+
+  /**
+   * Completes the execution with the {@code failure} without recording an attempt, such as when the execution is
+   * rejected by a circuit breaker or bulkhead.
+   */
+  synchronized void reject(Throwable failure) {
+    completed = true;
+    if (config != null)
+      config.handleComplete(null, failure, this, false);
+    completeFuture(null, failure);
+  }
+
+  /**
+   * Completes the future with the {@code result} and {@code failure}, recording successful results with the pipeline
+   * and completing unsuccessful executions with a result provided by the pipeline if there is one, such as a stale
+   * cached result. Executions whose retries were logged are recorded as completed in the {@link RetryLog}.
+   */
+  private void completeFuture(Object result, Throwable failure) {
+    if (retryLogId != 0)
+      config.retryLog.executionCompleted(retryLogId);
+
+    if (success)
+      succeeded(result);
+    else {
+      Object replacement = resultOnFailure(failure);
+      if (replacement != PolicyExecutor.NO_RESULT) {
+        future.complete(replacement, null, null);
+        return;
+      }
+    }
+
+    future.complete(result, failure, config.fallback);
+  }
+
+  /**
+   * Records the outcome of the {@code run} of an attempt that was started via {@link #startAttempt()}. When hedging,
+   * the attempt is completed by the first successful run, else by the last failed run, and the remaining runs are
+   * cancelled. Returns whether a retry has been scheduled or not.
+   */
+  synchronized boolean completeOrRetry(int run, Object result, Throwable failure) {
+    // Ignore runs of earlier attempts and runs that lost to another run of the current attempt
+    if (run < attemptRun || finishedRun != 0 || completeCalled)
+      return false;
+
+    if (failure == null) {
+      try {
+        for (PolicyExecutor executor : pipeline)
+          result = executor.resultFor(result);
+      } catch (Throwable t) {
+        result = null;
+        failure = t;
+      }
+    }
+
+    if (hedgeFutures != null) {
+      runsInFlight--;
+      boolean succeeded = failure == null && !retryPolicy.canRetryFor(result, failure);
+      if (!succeeded && runsInFlight > 0)
+        return false;
+      if (succeeded)
+        hedgePolicy.recordLatency(clock.nanoTime() - runStartTimes[run - attemptRun]);
+    }
+
+    finishAttempt(run, true);
+    return completeOrRetry(result, failure);
+  }
+
+  /**
+   * Starts an execution attempt, notifying the pipeline so that a {@link Timeout} and hedged runs can be scheduled.
+   * Returns the run number for the attempt.
+   */
+  synchronized int startAttempt() {
+    before();
+    attemptRun = ++runs;
+    runsInFlight = 1;
+    hedgeFutures = null;
+    runStages = null;
+    finishedRun = 0;
+    for (PolicyExecutor executor : pipeline)
+      executor.attemptStarted(this, attemptRun);
+    return attemptRun;
+  }
+
+  /**
+   * Schedules the {@code timeout} for the {@code attempt}.
+   */
+  void scheduleTimeout(Timeout timeout, int attempt) {
+    try {
+      timeoutFuture = scheduler.schedule(timeoutFor(timeout, attempt), timeout.getTimeout().toNanos(),
+          TimeUnit.NANOSECONDS);
+    } catch (Throwable ignore) {
+    }
+  }
+
+  /**
+   * Schedules hedged runs of the {@code attempt} according to the {@code hedgePolicy}, if the attempt is completed by
+   * Failsafe rather than via this execution.
+   */
+  void scheduleHedges(HedgePolicy hedgePolicy, int attempt) {
+    if (!(callable instanceof HedgeableCallableWrapper))
+      return;
+
+    this.hedgePolicy = hedgePolicy;
+    int maxHedges = hedgePolicy.getMaxHedges();
+    runs += maxHedges;
+    runStartTimes = new long[maxHedges + 1];
+    runStartTimes[0] = attemptStartTime;
+    hedgeFutures = new ArrayList<Future<?>>(maxHedges);
+    runStages = new Future<?>[maxHedges + 1];
+    long hedgeDelayNanos = hedgePolicy.getHedgeDelayNanos();
+    for (int i = 1; i <= maxHedges; i++) {
+      try {
+        hedgeFutures.add(
+            scheduler.schedule(hedgeFor(attempt, attempt + i), hedgeDelayNanos * i, TimeUnit.NANOSECONDS));
+      } catch (Throwable ignore) {
+      }
+    }
+  }
+
+  /**
+   * Performs the {@code run} of the current attempt by calling the {@code callable} via the policy executors in the
+   * pipeline, starting at the {@code stage}.
+   */
+  Object performRun(HedgeableCallableWrapper<?> callable, int run, int stage) throws Exception {
+    return stage < pipeline.length ? pipeline[stage].performRun(this, callable, run, stage) : callable.call(run);
+  }
+
+  /**
+   * Records the {@code stage} that the {@code run} completes via, such as a future returned by the callable, so that
+   * the stage is cancelled if another run wins the attempt. Cancels the {@code stage} if the run has already lost.
+   */
+  synchronized void runStageStarted(int run, Future<?> stage) {
+    if (run >= attemptRun && finishedRun == 0) {
+      if (runStages != null)
+        runStages[run - attemptRun] = stage;
+    } else if (run != finishedRun)
+      stage.cancel(false);
+  }
+
+  /**
+   * Performs the {@code run} of the current attempt via the {@code callable} after the {@code delayNanos}, if the run
+   * is still in progress.
+   */
+  void performAfter(final Callable<Object> callable, final int run, long delayNanos) {
+    try {
+      scheduler.schedule(new Callable<Object>() {
+        @Override
+        public Object call() throws Exception {
+          synchronized (AsyncExecution.this) {
+            if (run < attemptRun || completeCalled)
+              return null;
+          }
+          return callable.call();
+        }
+      }, delayNanos, TimeUnit.NANOSECONDS);
+    } catch (Throwable t) {
+      completeOrRetry(run, null, t);
+    }
+  }
+
+  /**
+   * Returns a callable that performs the hedged {@code run} of the {@code attempt} if the attempt is still in progress,
+   * the pipeline allows hedges, such as when a circuit breaker allows executions, and a hedge can be acquired.
+   */
+  @SuppressWarnings("unchecked")
+  private Callable<Object> hedgeFor(final int attempt, final int run) {
+    return new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        synchronized (AsyncExecution.this) {
+          if (attempt != attemptRun || completeCalled || future.isDone() || future.isCancelled())
+            return null;
+          for (PolicyExecutor executor : pipeline)
+            if (!executor.allowsHedge(AsyncExecution.this))
+              return null;
+          if (!hedgePolicy.tryAcquireHedge())
+            return null;
+          hedges++;
+          runsInFlight++;
+          runStartTimes[run - attempt] = clock.nanoTime();
+        }
+
+        return ((HedgeableCallableWrapper<Object>) callable).perform(run);
+      }
+    };
+  }
+
+  /**
+   * Returns a callable that fails the {@code attempt} with a {@link TimeoutExceededException} if it is still in
+   * progress, cancelling its runs.
+   */
+  private Callable<Object> timeoutFor(final Timeout timeout, final int attempt) {
+    return new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        synchronized (AsyncExecution.this) {
+          if (attempt == attemptRun && !completeCalled && !future.isDone() && !future.isCancelled()) {
+            finishAttempt(-1, timeout.canInterrupt());
+            completeOrRetry(null, new TimeoutExceededException(timeout.getTimeout()));
+            attemptTimedOut = true;
+          }
+        }
+
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Finishes the current attempt by cancelling its timeout and any runs, and their stages, other than the
+   * {@code winningRun}.
+   */
+  private void finishAttempt(int winningRun, boolean mayInterruptIfRunning) {
+    finishedRun = winningRun;
+    if (timeoutFuture != null) {
+      if (winningRun != -1)
+        timeoutFuture.cancel(false);
+      timeoutFuture = null;
+    }
+
+    if (winningRun != attemptRun)
+      future.cancelDelegate(mayInterruptIfRunning);
+    if (hedgeFutures != null) {
+      for (int i = 0; i < hedgeFutures.size(); i++)
+        if (attemptRun + i + 1 != winningRun)
+          hedgeFutures.get(i).cancel(mayInterruptIfRunning);
+      hedgePolicy.releaseHedges(hedges);
+      hedges = 0;
+      hedgeFutures = null;
+    }
+    if (runStages != null) {
+      for (int i = 0; i < runStages.length; i++)
+        if (runStages[i] != null && attemptRun + i != winningRun)
+          runStages[i].cancel(mayInterruptIfRunning);
+      runStages = null;
+    }
+  }
+}
@@ -5,12 +5,14 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import net.jodah.failsafe.Functions.AsyncCallableWrapper;
+import net.jodah.failsafe.Functions.HedgeableCallableWrapper;
 import net.jodah.failsafe.function.AsyncCallable;
 import net.jodah.failsafe.function.AsyncRunnable;
 import net.jodah.failsafe.function.CheckedBiFunction;
 import net.jodah.failsafe.function.CheckedRunnable;
 import net.jodah.failsafe.function.ContextualCallable;
 import net.jodah.failsafe.function.ContextualRunnable;
+import net.jodah.failsafe.internal.util.Assert;
 import net.jodah.failsafe.util.concurrent.Scheduler;
 
 /**
@@ -61,11 +63,13 @@ public class AsyncFailsafe<R> extends AsyncFailsafeConfig<R, AsyncFailsafe<R>> {
   /**
    * Executes the {@code callable} asynchronously until the resulting future is successfully completed or the configured
    * {@link RetryPolicy} is exceeded. This method is intended for integration with asynchronous code. Retries must be
-   * manually scheduled via one of the {@code AsyncExecution.retry} methods.
+   * manually scheduled via one of the {@code AsyncExecution.retry} methods. A configured {@link Timeout} fails attempts
+   * that are not completed or retried in time, after which the outcome recorded for the attempt is ignored.
    * <p>
    * Supported on Java 8 and above.
    * 
    * @throws NullPointerException if the {@code callable} is null
+   * @throws IllegalStateException if a {@link HedgePolicy} is configured
    * @throws CircuitBreakerOpenException if a configured circuit breaker is open
    */
   public <T> java.util.concurrent.CompletableFuture<T> futureAsync(
@@ -100,9 +104,11 @@ public class AsyncFailsafe<R> extends AsyncFailsafeConfig<R, AsyncFailsafe<R>> {
   /**
    * Executes the {@code callable} asynchronously until a successful result is returned or the configured
    * {@link RetryPolicy} is exceeded. This method is intended for integration with asynchronous code. Retries must be
-   * manually scheduled via one of the {@code AsyncExecution.retry} methods.
+   * manually scheduled via one of the {@code AsyncExecution.retry} methods. A configured {@link Timeout} fails attempts
+   * that are not completed or retried in time, after which the outcome recorded for the attempt is ignored.
    * 
    * @throws NullPointerException if the {@code callable} is null
+   * @throws IllegalStateException if a {@link HedgePolicy} is configured
    * @throws CircuitBreakerOpenException if a configured circuit breaker is open
    */
   public <T> FailsafeFuture<T> getAsync(AsyncCallable<T> callable) {
@@ -134,40 +140,64 @@ public class AsyncFailsafe<R> extends AsyncFailsafeConfig<R, AsyncFailsafe<R>> {
   /**
    * Executes the {@code runnable} asynchronously until successful or until the configured {@link RetryPolicy} is
    * exceeded. This method is intended for integration with asynchronous code. Retries must be manually scheduled via
-   * one of the {@code AsyncExecution.retry} methods.
+   * one of the {@code AsyncExecution.retry} methods. A configured {@link Timeout} fails attempts that are not completed
+   * or retried in time, after which the outcome recorded for the attempt is ignored.
    * 
    * @throws NullPointerException if the {@code runnable} is null
+   * @throws IllegalStateException if a {@link HedgePolicy} is configured
    * @throws CircuitBreakerOpenException if a configured circuit breaker is open
    */
   public FailsafeFuture<Void> runAsync(AsyncRunnable runnable) {
     return call(Functions.<Void>asyncOf(runnable), null);
   }
 
+  /**
+   * Executes the {@code callable} asynchronously, completing the {@code future} with the outcome.
+   */
+  <T> FailsafeFuture<T> get(Callable<T> callable, FailsafeFuture<T> future) {
+    return call(Functions.asyncOf(callable), future);
+  }
+
   /**
    * Calls the asynchronous {@code callable} via the {@code executor}, performing retries according to the
    * {@code retryPolicy}.
    * 
    * @throws NullPointerException if any argument is null
+   * @throws IllegalStateException if a hedge policy is configured and the {@code callable} is completed via an
+   *           {@link AsyncExecution}
    * @throws CircuitBreakerOpenException if a configured circuit breaker is open
    */
   @SuppressWarnings("unchecked")
   private <T> FailsafeFuture<T> call(AsyncCallableWrapper<T> callable, FailsafeFuture<T> future) {
+    Assert.state(hedgePolicy == null || callable instanceof HedgeableCallableWrapper,
+        "Hedging is not supported for executions that are completed via an AsyncExecution");
     if (future == null)
       future = new FailsafeFuture<T>();
 
-    if (circuitBreaker != null && !circuitBreaker.allowsExecution()) {
-      CircuitBreakerOpenException e = new CircuitBreakerOpenException();
+    AsyncExecution execution = new AsyncExecution(callable, scheduler, future, (FailsafeConfig<Object, ?>) this);
+    Object cached = execution.resultBeforeExecution();
+    if (cached != PolicyExecutor.NO_RESULT) {
+      future.complete((T) cached, null, null);
+      return future;
+    }
+
+    RuntimeException rejection = execution.admitOnSubmission();
+    if (rejection != null) {
+      Object replacement = execution.resultOnFailure(rejection);
+      if (replacement != PolicyExecutor.NO_RESULT) {
+        future.complete((T) replacement, null, null);
+        return future;
+      }
       if (fallback == null)
-        throw e;
-      future.complete(null, e, (CheckedBiFunction<T, Throwable, T>) fallback);
+        throw rejection;
+      future.complete(null, rejection, (CheckedBiFunction<T, Throwable, T>) fallback);
       return future;
     }
 
-    AsyncExecution execution = new AsyncExecution(callable, scheduler, future, (FailsafeConfig<Object, ?>) this);
     callable.inject(execution);
 
     try {
-      future.setFuture((Future<T>) scheduler.schedule(callable, 0, TimeUnit.MILLISECONDS));
+      future.setFuture((Future<T>) scheduler.schedule(execution.nextAttempt(), 0, TimeUnit.MILLISECONDS));
     } catch (Throwable t) {
       handleComplete(null, t, execution, false);
       future.complete(null, t, (CheckedBiFunction<T, Throwable, T>) fallback);
@@ -175,4 +205,28 @@ public class AsyncFailsafe<R> extends AsyncFailsafeConfig<R, AsyncFailsafe<R>> {
 
     return future;
   }
-}
\ No newline at end of file
+
+  /**
+   * Replays the logged {@code retry} by performing the {@code callable} at the retry's scheduled time, continuing the
+   * execution from the logged number of attempts and retry delay.
+   */
+  @SuppressWarnings("unchecked")
+  <T> FailsafeFuture<T> replay(Callable<T> callable, RetryLog.PendingRetry retry) {
+    FailsafeFuture<T> future = new FailsafeFuture<T>();
+    AsyncCallableWrapper<T> wrapper = Functions.asyncOf(callable);
+    AsyncExecution execution = new AsyncExecution(wrapper, scheduler, future, (FailsafeConfig<Object, ?>) this);
+    wrapper.inject(execution);
+    execution.executions = retry.attempts;
+    execution.delayNanos = retry.delayNanos;
+    execution.retryLogId = retry.executionId;
+
+    try {
+      long delayMillis = Math.max(0, retry.nextRetryTime - System.currentTimeMillis());
+      future.setFuture((Future<T>) scheduler.schedule(execution.nextAttempt(), delayMillis, TimeUnit.MILLISECONDS));
+    } catch (Throwable t) {
+      execution.reject(t);
+    }
+
+    return future;
+  }
+}
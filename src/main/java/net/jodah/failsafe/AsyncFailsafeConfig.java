@@ -5,6 +5,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import net.jodah.failsafe.event.ContextualResultListener;
 import net.jodah.failsafe.function.CheckedBiConsumer;
 import net.jodah.failsafe.function.CheckedConsumer;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Clock;
 import net.jodah.failsafe.util.concurrent.Scheduler;
 
 /**
@@ -24,6 +26,36 @@ public class AsyncFailsafeConfig<R, F> extends FailsafeConfig<R, F> {
   AsyncFailsafeConfig(FailsafeConfig<R, ?> config, Scheduler scheduler) {
     super(config);
     this.scheduler = scheduler;
+    if (clock == Clock.SYSTEM && scheduler instanceof Clock)
+      clock = (Clock) scheduler;
+  }
+
+  /**
+   * Configures the {@code hedgePolicy} to be used for performing hedged executions.
+   * 
+   * @throws NullPointerException if {@code hedgePolicy} is null
+   * @throws IllegalStateException if a hedge policy is already configured
+   */
+  public F with(HedgePolicy hedgePolicy) {
+    Assert.state(this.hedgePolicy == null, "A hedge policy has already been configured");
+    this.hedgePolicy = Assert.notNull(hedgePolicy, "hedgePolicy");
+    addPolicyExecutor(new HedgeExecutor(hedgePolicy));
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code retryLog} to record scheduled retries in, along with the {@code payload} that identifies the
+   * work being performed, so that pending retries can be replayed after a restart via
+   * {@link RetryLog#replay(AsyncFailsafe, net.jodah.failsafe.function.CheckedFunction)}.
+   * 
+   * @throws NullPointerException if {@code retryLog} or {@code payload} are null
+   * @throws IllegalStateException if a retry log is already configured
+   */
+  public F withRetryLog(RetryLog retryLog, String payload) {
+    Assert.state(this.retryLog == null, "A retry log has already been configured");
+    this.retryLog = Assert.notNull(retryLog, "retryLog");
+    this.retryLogPayload = Assert.notNull(payload, "payload");
+    return (F) this;
   }
 
   /**
@@ -0,0 +1,41 @@
+package net.jodah.failsafe;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Thrown when a {@link SyncFailsafe#getAll(java.util.Collection, net.jodah.failsafe.function.BatchCallable) batch
+ * execution} completes with items that failed. Provides the results of the items that succeeded and the failures of
+ * the items that failed. Use {@link Throwable#getCause()} to learn the failure of the first failed item.
+ * 
+ * @author Jonathan Halterman
+ */
+public class BatchException extends FailsafeException {
+  private static final long serialVersionUID = 1L;
+
+  private final Map<Object, Object> results;
+  private final Map<Object, Throwable> failures;
+
+  @SuppressWarnings("unchecked")
+  BatchException(Map<?, ?> results, Map<?, Throwable> failures) {
+    super(failures.values().iterator().next());
+    this.results = Collections.unmodifiableMap((Map<Object, Object>) results);
+    this.failures = Collections.unmodifiableMap((Map<Object, Throwable>) failures);
+  }
+
+  /**
+   * Returns the failures of the items that failed, by item.
+   */
+  @SuppressWarnings("unchecked")
+  public <I> Map<I, Throwable> getFailures() {
+    return (Map<I, Throwable>) (Map<?, Throwable>) failures;
+  }
+
+  /**
+   * Returns the results of the items that succeeded, by item.
+   */
+  @SuppressWarnings("unchecked")
+  public <I, T> Map<I, T> getResults() {
+    return (Map<I, T>) (Map<?, ?>) results;
+  }
+}
@@ -0,0 +1,245 @@
+package net.jodah.failsafe;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * A bulkhead that limits the number of concurrent execution attempts. Attempts that cannot acquire a permit are
+ * rejected with a {@link BulkheadFullException}, or, when a {@link #withMaxWaitTime(long, TimeUnit) maxWaitTime} is
+ * configured, wait for a permit to be released.
+ * <p>
+ * Synchronous executions wait by blocking the calling thread. Asynchronous executions wait without blocking a thread,
+ * by queueing the attempt to be scheduled once a permit is released. A permit is held for the duration of each
+ * attempt, and is not held while waiting to retry.
+ * <p>
+ * This class is thread safe, and acquiring and releasing permits is lock-free.
+ * 
+ * @author Jonathan Halterman
+ */
+public class Bulkhead {
+  private final int maxConcurrentExecutions;
+  private final AtomicInteger permits;
+  private final AtomicInteger waitingExecutions = new AtomicInteger();
+  private final Queue<PermitWaiter> waiters = new ConcurrentLinkedQueue<PermitWaiter>();
+  private Duration maxWaitTime = Duration.NONE;
+  private int maxWaitingExecutions = Integer.MAX_VALUE;
+
+  /**
+   * Creates a Bulkhead that allows at most {@code maxConcurrentExecutions}, rejecting executions that exceed it.
+   * 
+   * @throws IllegalArgumentException if {@code maxConcurrentExecutions} < 1
+   */
+  public Bulkhead(int maxConcurrentExecutions) {
+    Assert.isTrue(maxConcurrentExecutions >= 1, "maxConcurrentExecutions must be greater than or equal to 1");
+    this.maxConcurrentExecutions = maxConcurrentExecutions;
+    permits = new AtomicInteger(maxConcurrentExecutions);
+  }
+
+  /**
+   * Waits for a permit to be released.
+   */
+  static abstract class PermitWaiter {
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+    private final AtomicInteger state = new AtomicInteger();
+
+    /**
+     * Called when a permit is granted to the waiter.
+     */
+    abstract void onGrant();
+  }
+
+  /**
+   * Returns the number of permits that are currently available.
+   */
+  public int getAvailablePermits() {
+    return permits.get();
+  }
+
+  /**
+   * Returns the max number of concurrent executions.
+   */
+  public int getMaxConcurrentExecutions() {
+    return maxConcurrentExecutions;
+  }
+
+  /**
+   * Returns the max time to wait for a permit. Defaults to {@link Duration#NONE}.
+   * 
+   * @see #withMaxWaitTime(long, TimeUnit)
+   */
+  public Duration getMaxWaitTime() {
+    return maxWaitTime;
+  }
+
+  /**
+   * Returns the max number of executions that may wait for a permit. Defaults to {@link Integer#MAX_VALUE}.
+   * 
+   * @see #withMaxWaitingExecutions(int)
+   */
+  public int getMaxWaitingExecutions() {
+    return maxWaitingExecutions;
+  }
+
+  /**
+   * Returns the number of executions that are currently waiting for a permit.
+   */
+  public int getWaitingExecutions() {
+    return waitingExecutions.get();
+  }
+
+  /**
+   * Releases a permit, handing it to a waiting execution if there is one. Should only be called after a permit has been
+   * acquired via {@link #tryAcquirePermit()}.
+   */
+  public void releasePermit() {
+    permits.incrementAndGet();
+
+    // Hand released permits to waiters, including waiters that were queued concurrently
+    while (!waiters.isEmpty() && tryAcquirePermit()) {
+      boolean granted = false;
+      PermitWaiter waiter;
+      while (!granted && (waiter = waiters.poll()) != null)
+        granted = grant(waiter);
+      if (!granted)
+        permits.incrementAndGet();
+    }
+  }
+
+  /**
+   * Records the {@code latencyNanos} and outcome of an attempt that held a permit, then releases the permit.
+   */
+  void releasePermit(long latencyNanos, boolean failed) {
+    releasePermit();
+  }
+
+  /**
+   * Adjusts the number of permits by the {@code delta}, handing any added permits to waiting executions.
+   */
+  void adjustPermits(int delta) {
+    if (delta < 0)
+      permits.addAndGet(delta);
+    else
+      for (int i = 0; i < delta; i++)
+        releasePermit();
+  }
+
+  /**
+   * Attempts to acquire a permit without waiting, returning whether a permit was acquired.
+   */
+  public boolean tryAcquirePermit() {
+    while (true) {
+      int available = permits.get();
+      if (available <= 0)
+        return false;
+      if (permits.compareAndSet(available, available - 1))
+        return true;
+    }
+  }
+
+  /**
+   * Sets the max time that executions should wait for a permit before being rejected.
+   * 
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxWaitTime} <= 0
+   */
+  public Bulkhead withMaxWaitTime(long maxWaitTime, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(maxWaitTime > 0, "maxWaitTime must be greater than 0");
+    this.maxWaitTime = new Duration(maxWaitTime, timeUnit);
+    return this;
+  }
+
+  /**
+   * Sets the max number of executions that may wait for a permit, beyond which executions are rejected immediately.
+   * 
+   * @throws IllegalArgumentException if {@code maxWaitingExecutions} < 0
+   */
+  public Bulkhead withMaxWaitingExecutions(int maxWaitingExecutions) {
+    Assert.isTrue(maxWaitingExecutions >= 0, "maxWaitingExecutions must be greater than or equal to 0");
+    this.maxWaitingExecutions = maxWaitingExecutions;
+    return this;
+  }
+
+  /**
+   * Acquires a permit, waiting up to the max wait time if necessary, and returns whether a permit was acquired.
+   * 
+   * @throws InterruptedException if interrupted while waiting
+   */
+  boolean acquirePermit() throws InterruptedException {
+    if (tryAcquirePermit())
+      return true;
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    PermitWaiter waiter = new PermitWaiter() {
+      @Override
+      void onGrant() {
+        latch.countDown();
+      }
+    };
+
+    if (!enqueue(waiter))
+      return false;
+
+    try {
+      if (latch.await(maxWaitTime.toNanos(), TimeUnit.NANOSECONDS))
+        return true;
+    } catch (InterruptedException e) {
+      if (!cancel(waiter))
+        releasePermit();
+      throw e;
+    }
+
+    // Check whether a permit was granted after the wait timed out
+    return !cancel(waiter);
+  }
+
+  /**
+   * Cancels the {@code waiter}, returning whether it was cancelled before being granted a permit.
+   */
+  boolean cancel(PermitWaiter waiter) {
+    if (!waiter.state.compareAndSet(PermitWaiter.WAITING, PermitWaiter.CANCELLED))
+      return false;
+    waitingExecutions.decrementAndGet();
+    waiters.remove(waiter);
+    return true;
+  }
+
+  /**
+   * Queues the {@code waiter} to be granted a permit when one is released, returning whether it was queued or
+   * {@code false} if waiting is not permitted or too many executions are already waiting.
+   */
+  boolean enqueue(PermitWaiter waiter) {
+    if (maxWaitTime.toNanos() == 0)
+      return false;
+    while (true) {
+      int waiting = waitingExecutions.get();
+      if (waiting >= maxWaitingExecutions)
+        return false;
+      if (waitingExecutions.compareAndSet(waiting, waiting + 1))
+        break;
+    }
+
+    waiters.add(waiter);
+
+    // Grant a permit that was released before the waiter was queued
+    if (tryAcquirePermit() && !grant(waiter))
+      releasePermit();
+    return true;
+  }
+
+  private boolean grant(PermitWaiter waiter) {
+    if (!waiter.state.compareAndSet(PermitWaiter.WAITING, PermitWaiter.GRANTED))
+      return false;
+    waitingExecutions.decrementAndGet();
+    waiter.onGrant();
+    return true;
+  }
+}
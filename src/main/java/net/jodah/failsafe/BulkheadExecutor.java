@@ -0,0 +1,75 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.Bulkhead.PermitWaiter;
+
+/**
+ * Applies a {@link Bulkhead} to execution attempts, acquiring a permit for each attempt and releasing it when the
+ * attempt completes or is rejected by a later policy. Asynchronous attempts wait for a permit without blocking.
+ *
+ * @author Jonathan Halterman
+ */
+final class BulkheadExecutor extends PolicyExecutor {
+  private final Bulkhead bulkhead;
+
+  BulkheadExecutor(Bulkhead bulkhead) {
+    this.bulkhead = bulkhead;
+  }
+
+  @Override
+  RuntimeException acquirePermit(AbstractExecution execution) throws InterruptedException {
+    return bulkhead.acquirePermit() ? null : new BulkheadFullException();
+  }
+
+  @Override
+  boolean acquiresAsynchronously() {
+    return true;
+  }
+
+  @Override
+  void acquirePermit(final AsyncExecution execution, final int stage) {
+    if (bulkhead.tryAcquirePermit()) {
+      execution.admit(stage + 1);
+      return;
+    }
+
+    // Wait for a permit without blocking the thread
+    final PermitWaiter waiter = new PermitWaiter() {
+      @Override
+      void onGrant() {
+        execution.admitAfter(stage + 1, 0);
+      }
+    };
+
+    if (!bulkhead.enqueue(waiter)) {
+      execution.rejectAttempt(stage, new BulkheadFullException());
+      return;
+    }
+
+    try {
+      execution.scheduler.schedule(new Callable<Object>() {
+        @Override
+        public Object call() throws Exception {
+          if (bulkhead.cancel(waiter))
+            execution.rejectAttempt(stage, new BulkheadFullException());
+          return null;
+        }
+      }, bulkhead.getMaxWaitTime().toNanos(), TimeUnit.NANOSECONDS);
+    } catch (Throwable t) {
+      if (bulkhead.cancel(waiter))
+        execution.rejectAttempt(stage, t);
+    }
+  }
+
+  @Override
+  protected void releaseAttempt(ExecutionContext context) {
+    bulkhead.releasePermit();
+  }
+
+  @Override
+  protected void afterAttempt(ExecutionContext context, Object result, Throwable failure) {
+    bulkhead.releasePermit(context.clock.nanoTime() - context.attemptStartTime, failure != null);
+  }
+}
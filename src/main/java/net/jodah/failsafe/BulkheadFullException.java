@@ -0,0 +1,10 @@
+package net.jodah.failsafe;
+
+/**
+ * Thrown when an execution is attempted while a configured {@link Bulkhead} is full.
+ * 
+ * @author Jonathan Halterman
+ */
+public class BulkheadFullException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,213 @@
+package net.jodah.failsafe;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * An in-memory, size bounded cache of successful execution results. Executions that are configured with a cache via
+ * {@link FailsafeConfig#withCache(Cache, Object)} return a fresh cached result for their key without being performed.
+ * Results are cached when an execution succeeds, and are fresh until their {@link #withTtl(long, TimeUnit) ttl}
+ * elapses, after which they are stale. When an execution fails, such as when the {@link RetryPolicy} is exceeded or a
+ * {@link CircuitBreaker} is open, a stale result for its key is returned in place of the failure, taking precedence
+ * over any configured fallback. Stale results are not returned for aborted executions or for failures that are not
+ * retryable, which are handled as usual. Ttls and staleness are measured with the
+ * {@link FailsafeConfig#withClock(net.jodah.failsafe.util.Clock) clock} of the executions.
+ * <p>
+ * Entries are evicted using a segmented LRU policy: new entries are admitted to a probationary segment and are promoted
+ * to a protected segment when read again, so that entries which are only used once do not displace frequently used
+ * entries. Stale entries are retained until they are evicted, or until their
+ * {@link #withMaxStaleness(long, TimeUnit) maxStaleness} elapses.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public class Cache {
+  /** The fraction of the max size reserved for protected entries */
+  private static final double PROTECTED_RATIO = 0.8;
+
+  private final int maxSize;
+  private final int maxProtectedSize;
+  private Duration ttl;
+  private Duration maxStaleness;
+
+  // Segments in LRU order, guarded by "this"
+  private final LinkedHashMap<Object, Entry> probation = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+  private final LinkedHashMap<Object, Entry> protectedEntries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+
+  /**
+   * Creates a Cache that holds up to {@code maxSize} results, which are fresh for the {@code ttl}.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxSize} < 1 or {@code ttl} <= 0
+   */
+  public Cache(int maxSize, long ttl, TimeUnit timeUnit) {
+    Assert.isTrue(maxSize >= 1, "maxSize must be greater than or equal to 1");
+    this.maxSize = maxSize;
+    this.maxProtectedSize = (int) (maxSize * PROTECTED_RATIO);
+    withTtl(ttl, timeUnit);
+  }
+
+  /**
+   * A cached result.
+   */
+  static final class Entry {
+    final Object value;
+    final long writeNanos;
+    final long ttlNanos;
+
+    Entry(Object value, long writeNanos, long ttlNanos) {
+      this.value = value;
+      this.writeNanos = writeNanos;
+      this.ttlNanos = ttlNanos;
+    }
+
+    boolean isStale(long nowNanos) {
+      return nowNanos - writeNanos >= ttlNanos;
+    }
+  }
+
+  /**
+   * Returns the max size of the cache.
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the max time that stale results may be returned for after they expire, else {@code null} if stale results
+   * are retained until they're evicted.
+   *
+   * @see #withMaxStaleness(long, TimeUnit)
+   */
+  public Duration getMaxStaleness() {
+    return maxStaleness;
+  }
+
+  /**
+   * Returns the time that cached results are fresh for.
+   *
+   * @see #withTtl(long, TimeUnit)
+   */
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  /**
+   * Removes any cached result for the {@code key}.
+   */
+  public synchronized void invalidate(Object key) {
+    if (probation.remove(key) == null)
+      protectedEntries.remove(key);
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public synchronized void invalidateAll() {
+    probation.clear();
+    protectedEntries.clear();
+  }
+
+  /**
+   * Returns the number of cached results, including stale results.
+   */
+  public synchronized int size() {
+    return probation.size() + protectedEntries.size();
+  }
+
+  /**
+   * Sets the max time that stale results may be returned for after they expire. By default, stale results are retained
+   * until they're evicted.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxStaleness} < 0
+   */
+  public Cache withMaxStaleness(long maxStaleness, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(maxStaleness >= 0, "maxStaleness must be greater than or equal to 0");
+    this.maxStaleness = new Duration(maxStaleness, timeUnit);
+    return this;
+  }
+
+  /**
+   * Sets the time that results are fresh for after they're cached. Results that are cached after the ttl is changed are
+   * fresh for the new ttl.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code ttl} <= 0
+   */
+  public Cache withTtl(long ttl, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(ttl > 0, "ttl must be greater than 0");
+    this.ttl = new Duration(ttl, timeUnit);
+    return this;
+  }
+
+  /**
+   * Returns the entry for the {@code key} that is fresh at {@code nowNanos}, else {@code null}.
+   */
+  Entry getFresh(Object key, long nowNanos) {
+    Entry entry = get(key, nowNanos);
+    return entry == null || entry.isStale(nowNanos) ? null : entry;
+  }
+
+  /**
+   * Returns the entry for the {@code key} at {@code nowNanos}, which may be stale, else {@code null}.
+   */
+  Entry getStale(Object key, long nowNanos) {
+    return get(key, nowNanos);
+  }
+
+  /**
+   * Caches the {@code value} for the {@code key} as written at {@code nowNanos}, evicting the least recently used
+   * entries if the cache is full.
+   */
+  synchronized void put(Object key, Object value, long nowNanos) {
+    Entry entry = new Entry(value, nowNanos, ttl.toNanos());
+    if (protectedEntries.containsKey(key)) {
+      protectedEntries.put(key, entry);
+      return;
+    }
+
+    probation.put(key, entry);
+    while (size() > maxSize)
+      evictEldest(probation.isEmpty() ? protectedEntries : probation);
+  }
+
+  private synchronized Entry get(Object key, long nowNanos) {
+    Entry entry = protectedEntries.get(key);
+    if (entry == null) {
+      entry = probation.remove(key);
+      if (entry == null)
+        return null;
+
+      // Promote entries that are read again, demoting the least recently used protected entries
+      protectedEntries.put(key, entry);
+      while (protectedEntries.size() > maxProtectedSize) {
+        Iterator<Map.Entry<Object, Entry>> it = protectedEntries.entrySet().iterator();
+        Map.Entry<Object, Entry> eldest = it.next();
+        it.remove();
+        probation.put(eldest.getKey(), eldest.getValue());
+      }
+    }
+
+    if (maxStaleness != null && nowNanos - entry.writeNanos >= entry.ttlNanos + maxStaleness.toNanos()) {
+      invalidate(key);
+      return null;
+    }
+
+    return entry;
+  }
+
+  private static void evictEldest(LinkedHashMap<Object, Entry> segment) {
+    Iterator<Map.Entry<Object, Entry>> it = segment.entrySet().iterator();
+    it.next();
+    it.remove();
+  }
+}
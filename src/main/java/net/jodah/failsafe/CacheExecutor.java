@@ -0,0 +1,52 @@
+package net.jodah.failsafe;
+
+/**
+ * Applies a {@link Cache} to executions, returning a fresh cached result in place of performing an execution, caching
+ * the results of successful executions, and returning a stale cached result in place of a failure that is retryable,
+ * that exceeded the retry policy or that was caused by an open circuit breaker. Time is measured with the clock of each execution.
+ *
+ * @author Jonathan Halterman
+ */
+final class CacheExecutor extends PolicyExecutor {
+  private final Cache cache;
+  private final Object key;
+
+  CacheExecutor(Cache cache, Object key) {
+    this.cache = cache;
+    this.key = key;
+  }
+
+  @Override
+  Object resultBeforeExecution(AbstractExecution execution) {
+    Cache.Entry entry = cache.getFresh(key, execution.clock.nanoTime());
+    return entry == null ? NO_RESULT : entry.value;
+  }
+
+  @Override
+  Object resultOnFailure(AbstractExecution execution, Throwable failure) {
+    if (!servesStaleResultFor(execution, failure))
+      return NO_RESULT;
+    Cache.Entry entry = cache.getStale(key, execution.clock.nanoTime());
+    return entry == null ? NO_RESULT : entry.value;
+  }
+
+  @Override
+  void executionSucceeded(AbstractExecution execution, Object result) {
+    cache.put(key, result, execution.clock.nanoTime());
+  }
+
+  /**
+   * Returns whether a stale result may be returned in place of the {@code failure} of the {@code execution}, which is
+   * when it was rejected by an open circuit breaker, its retries were exceeded or the failure is retryable, and not
+   * when the execution was aborted.
+   */
+  private static boolean servesStaleResultFor(AbstractExecution execution, Throwable failure) {
+    if (failure instanceof CircuitBreakerOpenException)
+      return true;
+    RetryPolicy retryPolicy = execution.retryPolicy;
+    Object result = execution.lastResult;
+    if (retryPolicy.canAbortFor(result, failure))
+      return false;
+    return execution.retriesExceeded || retryPolicy.canRetryFor(result, failure);
+  }
+}
@@ -16,6 +16,7 @@ import net.jodah.failsafe.internal.ClosedState;
 import net.jodah.failsafe.internal.HalfOpenState;
 import net.jodah.failsafe.internal.OpenState;
 import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Clock;
 import net.jodah.failsafe.util.Duration;
 import net.jodah.failsafe.util.Ratio;
 
@@ -34,10 +35,8 @@ public class CircuitBreaker {
       return currentExecutions.get();
     }
   };
-  private Duration delay = Duration.NONE;
-  private Duration timeout;
-  private Ratio failureThreshold;
-  private Ratio successThreshold;
+  private Clock clock = Clock.SYSTEM;
+  private volatile Settings settings = new Settings(Duration.NONE, null, null, null, 1);
   /** Indicates whether failures are checked by a configured failure condition */
   private boolean failuresChecked;
   private List<BiPredicate<Object, Throwable>> failureConditions;
@@ -45,6 +44,26 @@ public class CircuitBreaker {
   CheckedRunnable onHalfOpen;
   CheckedRunnable onClose;
 
+  /**
+   * The delay, timeout and thresholds of the circuit, which are replaced as a whole when any of them change so that they
+   * are never observed partially updated.
+   */
+  private static final class Settings {
+    final Duration delay;
+    final Duration timeout;
+    final Ratio failureThreshold;
+    final Ratio successThreshold;
+    final long version;
+
+    Settings(Duration delay, Duration timeout, Ratio failureThreshold, Ratio successThreshold, long version) {
+      this.delay = delay;
+      this.timeout = timeout;
+      this.failureThreshold = failureThreshold;
+      this.successThreshold = successThreshold;
+      this.version = version;
+    }
+  }
+
   /**
    * Creates a Circuit that opens after a single failure, closes after a single success, and has no delay by default.
    */
@@ -150,13 +169,22 @@ public class CircuitBreaker {
     return this;
   }
 
+  /**
+   * Returns the clock that the delay in open state is measured with. Defaults to {@link Clock#SYSTEM}.
+   * 
+   * @see #withClock(Clock)
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
   /**
    * Returns the delay before allowing another execution on the circuit. Defaults to {@link Duration#NONE}.
    * 
    * @see #withDelay(long, TimeUnit)
    */
   public Duration getDelay() {
-    return delay;
+    return settings.delay;
   }
 
   /**
@@ -167,7 +195,7 @@ public class CircuitBreaker {
    * @see #withFailureThreshold(int, int)
    */
   public Ratio getFailureThreshold() {
-    return failureThreshold;
+    return settings.failureThreshold;
   }
 
   /**
@@ -185,7 +213,7 @@ public class CircuitBreaker {
    * @see #withSuccessThreshold(int, int)
    */
   public Ratio getSuccessThreshold() {
-    return successThreshold;
+    return settings.successThreshold;
   }
 
   /**
@@ -194,7 +222,17 @@ public class CircuitBreaker {
    * @see #withTimeout(long, TimeUnit)
    */
   public Duration getTimeout() {
-    return timeout;
+    return settings.timeout;
+  }
+
+  /**
+   * Returns the version of the circuit's delay, timeout and thresholds, which starts at 1 and is incremented each time
+   * they are changed.
+   * 
+   * @see #reconfigure(CircuitBreaker)
+   */
+  public long getVersion() {
+    return settings.version;
   }
 
   /**
@@ -274,6 +312,19 @@ public class CircuitBreaker {
     transitionTo(State.OPEN, onOpen);
   }
 
+  /**
+   * Replaces the delay, timeout and thresholds of the circuit with those of the {@code settings}, such as to change them
+   * at runtime. The new values are published at once, so executions never observe some of them changed and others not,
+   * and the circuit keeps its current state and the executions recorded in it.
+   * 
+   * @throws NullPointerException if {@code settings} is null
+   */
+  public CircuitBreaker reconfigure(CircuitBreaker settings) {
+    Settings other = Assert.notNull(settings, "settings").settings;
+    publish(other.delay, other.timeout, other.failureThreshold, other.successThreshold);
+    return this;
+  }
+
   /**
    * Records an execution {@code failure} as a success or failure based on the failure configuration as determined by
    * {@link #isFailure(Object, Throwable)}.
@@ -310,16 +361,28 @@ public class CircuitBreaker {
     return getState().toString();
   }
 
+  /**
+   * Sets the {@code clock} to measure the delay in open state with, such as a
+   * {@link net.jodah.failsafe.util.concurrent.VirtualTimeScheduler} for simulating the circuit without waiting.
+   * 
+   * @throws NullPointerException if {@code clock} is null
+   */
+  public CircuitBreaker withClock(Clock clock) {
+    this.clock = Assert.notNull(clock, "clock");
+    return this;
+  }
+
   /**
    * Sets the {@code delay} to wait in open state before transitioning to half-open.
    * 
    * @throws NullPointerException if {@code timeUnit} is null
    * @throws IllegalArgumentException if {@code delay} <= 0
    */
-  public CircuitBreaker withDelay(long delay, TimeUnit timeUnit) {
+  public synchronized CircuitBreaker withDelay(long delay, TimeUnit timeUnit) {
     Assert.notNull(timeUnit, "timeUnit");
     Assert.isTrue(delay > 0, "delay must be greater than 0");
-    this.delay = new Duration(delay, timeUnit);
+    Settings current = settings;
+    publish(new Duration(delay, timeUnit), current.timeout, current.failureThreshold, current.successThreshold);
     return this;
   }
 
@@ -347,8 +410,8 @@ public class CircuitBreaker {
     Assert.isTrue(failures >= 1, "failures must be greater than or equal to 1");
     Assert.isTrue(executions >= 1, "executions must be greater than or equal to 1");
     Assert.isTrue(executions >= failures, "executions must be greater than or equal to failures");
-    this.failureThreshold = new Ratio(failures, executions);
-    state.get().setFailureThreshold(failureThreshold);
+    Settings current = settings;
+    publish(current.delay, current.timeout, new Ratio(failures, executions), current.successThreshold);
     return this;
   }
 
@@ -377,8 +440,8 @@ public class CircuitBreaker {
     Assert.isTrue(successes >= 1, "successes must be greater than or equal to 1");
     Assert.isTrue(executions >= 1, "executions must be greater than or equal to 1");
     Assert.isTrue(executions >= successes, "executions must be greater than or equal to successes");
-    this.successThreshold = new Ratio(successes, executions);
-    state.get().setSuccessThreshold(successThreshold);
+    Settings current = settings;
+    publish(current.delay, current.timeout, current.failureThreshold, new Ratio(successes, executions));
     return this;
   }
 
@@ -389,10 +452,11 @@ public class CircuitBreaker {
    * @throws NullPointerException if {@code timeUnit} is null
    * @throws IllegalArgumentException if {@code timeout} <= 0
    */
-  public CircuitBreaker withTimeout(long timeout, TimeUnit timeUnit) {
+  public synchronized CircuitBreaker withTimeout(long timeout, TimeUnit timeUnit) {
     Assert.notNull(timeUnit, "timeUnit");
     Assert.isTrue(timeout > 0, "timeout must be greater than 0");
-    this.timeout = new Duration(timeout, timeUnit);
+    Settings current = settings;
+    publish(current.delay, new Duration(timeout, timeUnit), current.failureThreshold, current.successThreshold);
     return this;
   }
 
@@ -400,6 +464,14 @@ public class CircuitBreaker {
     currentExecutions.incrementAndGet();
   }
 
+  /**
+   * Publishes new settings with a single volatile write, then applies the thresholds to the current state.
+   */
+  private synchronized void publish(Duration delay, Duration timeout, Ratio failureThreshold, Ratio successThreshold) {
+    settings = new Settings(delay, timeout, failureThreshold, successThreshold, settings.version + 1);
+    state.get().setThresholds(failureThreshold, successThreshold);
+  }
+
   /**
    * Records an execution failure.
    */
@@ -427,8 +499,10 @@ public class CircuitBreaker {
    */
   private void transitionTo(State newState, CheckedRunnable listener) {
     boolean transitioned = false;
+    State oldState;
     synchronized (this) {
-      if (!getState().equals(newState)) {
+      oldState = getState();
+      if (!oldState.equals(newState)) {
         switch (newState) {
           case CLOSED:
             state.set(new ClosedState(this));
@@ -444,6 +518,9 @@ public class CircuitBreaker {
       }
     }
 
+    if (transitioned && Observers.OBSERVER != null)
+      Observers.circuitTransitioned(this, oldState, newState);
+
     if (transitioned && listener != null) {
       try {
         listener.run();
@@ -0,0 +1,46 @@
+package net.jodah.failsafe;
+
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * Applies a {@link CircuitBreaker} to execution attempts, rejecting attempts and hedged runs while the circuit does
+ * not allow executions and recording the outcome of each attempt with the circuit.
+ *
+ * @author Jonathan Halterman
+ */
+final class CircuitBreakerExecutor extends PolicyExecutor {
+  private final CircuitBreaker circuitBreaker;
+
+  CircuitBreakerExecutor(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  protected RuntimeException rejectionFor(ExecutionContext context) {
+    if (circuitBreaker.allowsExecution())
+      return null;
+    if (Observers.OBSERVER != null)
+      Observers.circuitRejected(circuitBreaker);
+    return new CircuitBreakerOpenException();
+  }
+
+  @Override
+  boolean allowsHedge(AbstractExecution execution) {
+    return circuitBreaker.allowsExecution();
+  }
+
+  @Override
+  protected void beforeAttempt(ExecutionContext context) {
+    circuitBreaker.before();
+  }
+
+  @Override
+  protected void afterAttempt(ExecutionContext context, Object result, Throwable failure) {
+    Duration timeout = circuitBreaker.getTimeout();
+    boolean timeoutExceeded = timeout != null && context.getElapsedTime().toNanos() >= timeout.toNanos();
+    if (circuitBreaker.isFailure(result, failure) || timeoutExceeded)
+      circuitBreaker.recordFailure();
+    else
+      circuitBreaker.recordSuccess();
+  }
+}
@@ -0,0 +1,61 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Tracks in-flight synchronous executions by key, so that concurrent executions that are configured via
+ * {@link SyncFailsafe#coalescing(Coalescer, Object)} with the same Coalescer and an equal key share a single in-flight
+ * execution. Keys are scoped to the Coalescer, so executions of unrelated operations can use separate Coalescers
+ * without their keys colliding.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public final class Coalescer {
+  private final ConcurrentMap<Object, FutureTask<?>> inFlight = new ConcurrentHashMap<Object, FutureTask<?>>();
+
+  /**
+   * Returns the number of executions that are in-flight.
+   */
+  public int getInFlightExecutions() {
+    return inFlight.size();
+  }
+
+  /**
+   * Calls the {@code callable}, or waits for an in-flight execution with the same {@code key} to complete, returning
+   * its result.
+   * 
+   * @throws FailsafeException if interrupted while waiting, or if the execution fails with a checked exception
+   */
+  @SuppressWarnings("unchecked")
+  <T> T execute(Object key, Callable<T> callable) {
+    FutureTask<T> task = new FutureTask<T>(callable);
+    FutureTask<T> existing = (FutureTask<T>) inFlight.putIfAbsent(key, task);
+    if (existing == null) {
+      existing = task;
+      try {
+        task.run();
+      } finally {
+        inFlight.remove(key, task);
+      }
+    }
+
+    try {
+      return existing.get();
+    } catch (InterruptedException e) {
+      throw new FailsafeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new FailsafeException(cause);
+    }
+  }
+}
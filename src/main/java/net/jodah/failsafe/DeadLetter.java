@@ -0,0 +1,102 @@
+package net.jodah.failsafe;
+
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * The payload of an execution that was aborted or exceeded its retries, along with a summary of how it failed.
+ *
+ * @author Jonathan Halterman
+ * @see DeadLetterSink
+ */
+public final class DeadLetter {
+  /**
+   * The reason that an execution was dead lettered.
+   */
+  public enum Reason {
+    /** The execution was aborted according to the retry policy */
+    ABORTED,
+    /** The execution exceeded the retry policy's max retries or max duration */
+    RETRIES_EXCEEDED
+  }
+
+  final String payload;
+  final Reason reason;
+  final int attempts;
+  final long time;
+  final String result;
+  final String failure;
+
+  /**
+   * Creates a dead letter for the {@code payload}.
+   *
+   * @param payload identifies the work that was being performed
+   * @param reason the reason the execution was dead lettered
+   * @param attempts the number of attempts that were performed
+   * @param time the time, in milliseconds since the epoch, that the execution was dead lettered
+   * @param result a summary of the last result, else {@code null}
+   * @param failure a summary of the last failure, else {@code null}
+   * @throws NullPointerException if {@code payload} or {@code reason} are null
+   */
+  public DeadLetter(String payload, Reason reason, int attempts, long time, String result, String failure) {
+    this.payload = Assert.notNull(payload, "payload");
+    this.reason = Assert.notNull(reason, "reason");
+    this.attempts = attempts;
+    this.time = time;
+    this.result = result;
+    this.failure = failure;
+  }
+
+  /**
+   * Returns the number of attempts that were performed.
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Returns a summary of the last failure, containing the failure's type and message, else {@code null} if the last
+   * attempt did not fail with an exception.
+   */
+  public String getFailure() {
+    return failure;
+  }
+
+  /**
+   * Returns the payload that identifies the work that was being performed.
+   */
+  public String getPayload() {
+    return payload;
+  }
+
+  /**
+   * Returns the reason the execution was dead lettered.
+   */
+  public Reason getReason() {
+    return reason;
+  }
+
+  /**
+   * Returns a summary of the last result, else {@code null} if the last attempt failed with an exception.
+   */
+  public String getResult() {
+    return result;
+  }
+
+  /**
+   * Returns the time, in milliseconds since the epoch, that the execution was dead lettered.
+   */
+  public long getTime() {
+    return time;
+  }
+
+  @Override
+  public String toString() {
+    return "DeadLetter[payload=" + payload + ", reason=" + reason + ", attempts=" + attempts + ", time=" + time
+        + ", result=" + result + ", failure=" + failure + "]";
+  }
+
+  static DeadLetter of(String payload, Reason reason, Object result, Throwable failure, ExecutionContext context) {
+    return new DeadLetter(payload, reason, context.getExecutions(), System.currentTimeMillis(),
+        failure == null ? String.valueOf(result) : null, failure == null ? null : failure.toString());
+  }
+}
@@ -0,0 +1,18 @@
+package net.jodah.failsafe;
+
+/**
+ * Receives {@link DeadLetter dead letters} for executions that are aborted or that exceed their retries, so that the
+ * work can be reprocessed later. Configured via {@link FailsafeConfig#withDeadLetterSink(DeadLetterSink, String)}.
+ * <p>
+ * Sinks are called on the execution thread, so implementations should not block. Exceptions thrown by a sink are
+ * ignored.
+ *
+ * @author Jonathan Halterman
+ * @see FileDeadLetterSink
+ */
+public interface DeadLetterSink {
+  /**
+   * Accepts the {@code deadLetter}.
+   */
+  void accept(DeadLetter deadLetter);
+}
@@ -0,0 +1,24 @@
+package net.jodah.failsafe;
+
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * Computes the delay before the next execution attempt.
+ *
+ * @author Jonathan Halterman
+ * @param <R> result type
+ * @param <F> failure type
+ * @see DelayFunctions
+ * @see RetryPolicy.Builder#withDelay(DelayFunction)
+ */
+public interface DelayFunction<R, F extends Throwable> {
+  /**
+   * Returns the delay before the next execution attempt, else {@code null} if the delay should be computed from the
+   * RetryPolicy's fixed or backoff delay configuration.
+   *
+   * @param result the last execution result, else {@code null} if the execution failed
+   * @param failure the last execution failure, else {@code null} if the execution returned a result
+   * @param context the execution context, whose {@link ExecutionContext#getWaitTime() wait time} is the previous delay
+   */
+  Duration computeDelay(R result, F failure, ExecutionContext context);
+}
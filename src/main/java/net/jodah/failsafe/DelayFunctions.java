@@ -0,0 +1,142 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.internal.util.Randoms;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * Built-in {@link DelayFunction} backoff strategies. Each strategy starts from a base {@code delay} for the first retry,
+ * grows with the number of executions, and never exceeds a {@code maxDelay}. Randomized strategies draw from a
+ * per-thread random number generator so that many concurrent executions do not contend on a shared one.
+ *
+ * @author Jonathan Halterman
+ * @see RetryPolicy.Builder#withDelay(DelayFunction)
+ */
+public final class DelayFunctions {
+  private DelayFunctions() {
+  }
+
+  /**
+   * Returns a function that delays retries by the {@code delay}, multiplying successive delays by the
+   * {@code delayFactor} up to the {@code maxDelay}.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0, {@code delay} is >= {@code maxDelay}, or the
+   *           {@code delayFactor} is <= 1
+   */
+  public static DelayFunction<Object, Throwable> exponential(long delay, long maxDelay, TimeUnit timeUnit,
+      final double delayFactor) {
+    Assert.isTrue(delayFactor > 1, "delayFactor must be greater than 1");
+    return new BoundedDelayFunction(delay, maxDelay, timeUnit) {
+      @Override
+      double computeDelay(int retries, ExecutionContext context) {
+        return delayNanos * Math.pow(delayFactor, retries);
+      }
+    };
+  }
+
+  /**
+   * Returns a function that delays retries by the {@code delay} multiplied by successive Fibonacci numbers, up to the
+   * {@code maxDelay}. This backs off more gradually than an exponential function.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0 or {@code delay} is >= {@code maxDelay}
+   */
+  public static DelayFunction<Object, Throwable> fibonacci(long delay, long maxDelay, TimeUnit timeUnit) {
+    return new BoundedDelayFunction(delay, maxDelay, timeUnit) {
+      @Override
+      double computeDelay(int retries, ExecutionContext context) {
+        double previous = 0;
+        double current = delayNanos;
+        for (int i = 0; i < retries && current < maxDelayNanos; i++) {
+          double next = previous + current;
+          previous = current;
+          current = next;
+        }
+        return current;
+      }
+    };
+  }
+
+  /**
+   * Returns a function that delays retries by a random duration between {@code 0} and an exponential backoff from the
+   * {@code delay} to the {@code maxDelay}. This spreads retries from many clients the most, at the cost of some retries
+   * occurring almost immediately.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0 or {@code delay} is >= {@code maxDelay}
+   */
+  public static DelayFunction<Object, Throwable> fullJitter(long delay, long maxDelay, TimeUnit timeUnit) {
+    return new BoundedDelayFunction(delay, maxDelay, timeUnit) {
+      @Override
+      double computeDelay(int retries, ExecutionContext context) {
+        return Randoms.nextDouble() * Math.min(maxDelayNanos, delayNanos * Math.pow(2, retries));
+      }
+    };
+  }
+
+  /**
+   * Returns a function that delays retries by half of an exponential backoff from the {@code delay} to the
+   * {@code maxDelay}, plus a random duration of up to the other half.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0 or {@code delay} is >= {@code maxDelay}
+   */
+  public static DelayFunction<Object, Throwable> equalJitter(long delay, long maxDelay, TimeUnit timeUnit) {
+    return new BoundedDelayFunction(delay, maxDelay, timeUnit) {
+      @Override
+      double computeDelay(int retries, ExecutionContext context) {
+        double half = Math.min(maxDelayNanos, delayNanos * Math.pow(2, retries)) / 2;
+        return half + Randoms.nextDouble() * half;
+      }
+    };
+  }
+
+  /**
+   * Returns a function that delays retries by a random duration between the {@code delay} and three times the previous
+   * delay, up to the {@code maxDelay}. Since each delay depends on the previous random delay rather than on the number
+   * of executions, retries from many clients decorrelate over time.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0 or {@code delay} is >= {@code maxDelay}
+   */
+  public static DelayFunction<Object, Throwable> decorrelatedJitter(long delay, long maxDelay, TimeUnit timeUnit) {
+    return new BoundedDelayFunction(delay, maxDelay, timeUnit) {
+      @Override
+      double computeDelay(int retries, ExecutionContext context) {
+        double previous = Math.max(delayNanos, context.getWaitTime().toNanos());
+        return delayNanos + Randoms.nextDouble() * (previous * 3 - delayNanos);
+      }
+    };
+  }
+
+  /**
+   * A delay function that is bounded by a base delay and a max delay.
+   */
+  static abstract class BoundedDelayFunction implements DelayFunction<Object, Throwable> {
+    final long delayNanos;
+    final long maxDelayNanos;
+
+    BoundedDelayFunction(long delay, long maxDelay, TimeUnit timeUnit) {
+      Assert.notNull(timeUnit, "timeUnit");
+      Assert.isTrue(timeUnit.toNanos(delay) > 0, "delay must be greater than 0");
+      Assert.isTrue(timeUnit.toNanos(delay) < timeUnit.toNanos(maxDelay), "delay must be less than the maxDelay");
+      delayNanos = timeUnit.toNanos(delay);
+      maxDelayNanos = timeUnit.toNanos(maxDelay);
+    }
+
+    @Override
+    public Duration computeDelay(Object result, Throwable failure, ExecutionContext context) {
+      int retries = Math.max(0, context.getExecutions() - 1);
+      long delay = (long) Math.min(maxDelayNanos, computeDelay(retries, context));
+      return new Duration(delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the delay in nanoseconds for the given number of {@code retries} performed so far.
+     */
+    abstract double computeDelay(int retries, ExecutionContext context);
+  }
+}
@@ -1,5 +1,7 @@
 package net.jodah.failsafe;
 
+import java.util.concurrent.Callable;
+
 import net.jodah.failsafe.internal.util.Assert;
 
 /**
@@ -104,4 +106,37 @@ public class Execution extends AbstractExecution {
   public boolean recordFailure(Throwable failure) {
     return canRetryOn(failure);
   }
-}
\ No newline at end of file
+
+  /**
+   * Starts an attempt of the execution via the configured policies, returning the failure that the attempt is rejected
+   * with, such as a {@link CircuitBreakerOpenException} when a circuit breaker is open, else {@code null} if the attempt
+   * was started. Attempts that are performed outside of {@link SyncFailsafe} should be started via this method, and an
+   * attempt that was started should be recorded via {@link #canRetryOn(Throwable)}, {@link #canRetryFor(Object)} or
+   * {@link #complete()} before another attempt is started. Rejected attempts should not be recorded.
+   * 
+   * @throws IllegalStateException if the execution is already complete
+   * @throws FailsafeException if interrupted while waiting for a permit
+   */
+  public RuntimeException startAttempt() {
+    Assert.state(!completed, "Execution has already been completed");
+    RuntimeException rejection;
+    try {
+      rejection = admit();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FailsafeException(e);
+    }
+
+    if (rejection == null)
+      before();
+    return rejection;
+  }
+
+  /**
+   * Performs an attempt by calling the {@code callable} via the policy executors in the pipeline, starting at the
+   * {@code stage}.
+   */
+  Object perform(Callable<?> callable, int stage) throws Throwable {
+    return stage < pipeline.length ? pipeline[stage].perform(this, callable, stage) : callable.call();
+  }
+}
@@ -2,6 +2,7 @@ package net.jodah.failsafe;
 
 import java.util.concurrent.TimeUnit;
 
+import net.jodah.failsafe.util.Clock;
 import net.jodah.failsafe.util.Duration;
 
 /**
@@ -10,24 +11,41 @@ import net.jodah.failsafe.util.Duration;
  * @author Jonathan Halterman
  */
 public class ExecutionContext {
+  final Clock clock;
   final Duration startTime;
   /** Number of execution attempts */
   volatile int executions;
+  /** Time to wait before the next execution attempt */
+  volatile long waitNanos;
+  /** Time that the current execution attempt started */
+  volatile long attemptStartTime;
 
-  ExecutionContext(Duration startTime) {
+  ExecutionContext(Clock clock, Duration startTime) {
+    this.clock = clock;
     this.startTime = startTime;
   }
 
   ExecutionContext(ExecutionContext context) {
+    this.clock = context.clock;
     this.startTime = context.startTime;
     this.executions = context.executions;
+    this.waitNanos = context.waitNanos;
+    this.attemptStartTime = context.attemptStartTime;
+  }
+
+  /**
+   * Returns the elapsed time since the current execution attempt began. When called from an attempt listener, this is
+   * the duration of the attempt that the listener was called for.
+   */
+  public Duration getAttemptElapsedTime() {
+    return new Duration(clock.nanoTime() - attemptStartTime, TimeUnit.NANOSECONDS);
   }
 
   /**
    * Returns the elapsed time since initial execution began.
    */
   public Duration getElapsedTime() {
-    return new Duration(System.nanoTime() - startTime.toNanos(), TimeUnit.NANOSECONDS);
+    return new Duration(clock.nanoTime() - startTime.toNanos(), TimeUnit.NANOSECONDS);
   }
 
   /**
@@ -44,6 +62,13 @@ public class ExecutionContext {
     return startTime;
   }
 
+  /**
+   * Returns the time to wait before the next execution attempt.
+   */
+  public Duration getWaitTime() {
+    return new Duration(waitNanos, TimeUnit.NANOSECONDS);
+  }
+
   ExecutionContext copy() {
     return new ExecutionContext(this);
   }
@@ -19,6 +19,28 @@ public class Failsafe {
     return new SyncFailsafe<T>(Assert.notNull(retryPolicy, "retryPolicy"));
   }
 
+  /**
+   * Creates and returns a new SyncFailsafe instance that will perform executions and retries synchronously according to
+   * the current policy of the {@code retryPolicyHolder}.
+   * 
+   * @param <T> result type
+   * @throws NullPointerException if {@code retryPolicyHolder} is null
+   */
+  public static <T> SyncFailsafe<T> with(RetryPolicyHolder retryPolicyHolder) {
+    return new SyncFailsafe<T>(Assert.notNull(retryPolicyHolder, "retryPolicyHolder"));
+  }
+
+  /**
+   * Creates and returns a new SyncFailsafe instance that will perform executions synchronously according to the
+   * {@code bulkhead}.
+   * 
+   * @param <T> result type
+   * @throws NullPointerException if {@code bulkhead} is null
+   */
+  public static <T> SyncFailsafe<T> with(Bulkhead bulkhead) {
+    return new SyncFailsafe<T>(Assert.notNull(bulkhead, "bulkhead"));
+  }
+
   /**
    * Creates and returns a new SyncFailsafe instance that will perform executions and retries synchronously according to
    * the {@code circuitBreaker}.
@@ -29,4 +51,26 @@ public class Failsafe {
   public static <T> SyncFailsafe<T> with(CircuitBreaker circuitBreaker) {
     return new SyncFailsafe<T>(Assert.notNull(circuitBreaker, "circuitBreaker"));
   }
+
+  /**
+   * Creates and returns a new SyncFailsafe instance that will perform executions synchronously according to the
+   * {@code rateLimiter}.
+   * 
+   * @param <T> result type
+   * @throws NullPointerException if {@code rateLimiter} is null
+   */
+  public static <T> SyncFailsafe<T> with(RateLimiter rateLimiter) {
+    return new SyncFailsafe<T>(Assert.notNull(rateLimiter, "rateLimiter"));
+  }
+
+  /**
+   * Creates and returns a new SyncFailsafe instance that will perform executions synchronously according to the
+   * {@code timeout}.
+   * 
+   * @param <T> result type
+   * @throws NullPointerException if {@code timeout} is null
+   */
+  public static <T> SyncFailsafe<T> with(Timeout timeout) {
+    return new SyncFailsafe<T>(Assert.notNull(timeout, "timeout"));
+  }
 }
@@ -12,6 +12,7 @@ import net.jodah.failsafe.function.CheckedRunnable;
 import net.jodah.failsafe.function.CheckedConsumer;
 import net.jodah.failsafe.function.CheckedFunction;
 import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Clock;
 
 /**
  * Failsafe configuration.
@@ -23,20 +24,50 @@ import net.jodah.failsafe.internal.util.Assert;
 @SuppressWarnings("unchecked")
 public class FailsafeConfig<R, F> {
   RetryPolicy retryPolicy = RetryPolicy.NEVER;
+  RetryPolicyHolder retryPolicyHolder;
   CircuitBreaker circuitBreaker;
+  Bulkhead bulkhead;
+  FaultInjection faultInjection;
+  Cache cache;
+  Object cacheKey;
+  HedgePolicy hedgePolicy;
+  RateLimiter rateLimiter;
+  Timeout timeout;
+  Clock clock = Clock.SYSTEM;
+  RetryLog retryLog;
+  String retryLogPayload;
+  DeadLetterSink deadLetterSink;
+  String deadLetterPayload;
   CheckedBiFunction<R, Throwable, R> fallback;
   Listeners<R> listeners;
   ListenerRegistry<R> listenerRegistry;
+  List<PolicyExecutor> policyExecutors;
+  private volatile PolicyExecutor[] pipeline;
 
   FailsafeConfig() {
   }
 
   FailsafeConfig(FailsafeConfig<R, ?> config) {
     retryPolicy = config.retryPolicy;
+    retryPolicyHolder = config.retryPolicyHolder;
     circuitBreaker = config.circuitBreaker;
+    bulkhead = config.bulkhead;
+    faultInjection = config.faultInjection;
+    cache = config.cache;
+    cacheKey = config.cacheKey;
+    hedgePolicy = config.hedgePolicy;
+    rateLimiter = config.rateLimiter;
+    timeout = config.timeout;
+    clock = config.clock;
+    retryLog = config.retryLog;
+    retryLogPayload = config.retryLogPayload;
+    deadLetterSink = config.deadLetterSink;
+    deadLetterPayload = config.deadLetterPayload;
     fallback = config.fallback;
     listeners = config.listeners;
     listenerRegistry = config.listenerRegistry;
+    if (config.policyExecutors != null)
+      policyExecutors = new ArrayList<PolicyExecutor>(config.policyExecutors);
   }
 
   static class ListenerRegistry<T> {
@@ -399,6 +430,19 @@ public class FailsafeConfig<R, F> {
     return (F) this;
   }
 
+  /**
+   * Configures the {@code bulkhead} to be used to limit concurrent executions.
+   * 
+   * @throws NullPointerException if {@code bulkhead} is null
+   * @throws IllegalStateException if a bulkhead is already configured
+   */
+  public F with(Bulkhead bulkhead) {
+    Assert.state(this.bulkhead == null, "A bulkhead has already been configured");
+    this.bulkhead = Assert.notNull(bulkhead, "bulkhead");
+    addPolicyExecutor(new BulkheadExecutor(bulkhead));
+    return (F) this;
+  }
+
   /**
    * Configures the {@code circuitBreaker} to be used to control the rate of event execution.
    * 
@@ -408,6 +452,7 @@ public class FailsafeConfig<R, F> {
   public F with(CircuitBreaker circuitBreaker) {
     Assert.state(this.circuitBreaker == null, "A circuit breaker has already been configured");
     this.circuitBreaker = Assert.notNull(circuitBreaker, "circuitBreaker");
+    addPolicyExecutor(new CircuitBreakerExecutor(circuitBreaker));
     return (F) this;
   }
 
@@ -421,6 +466,44 @@ public class FailsafeConfig<R, F> {
     return (F) this;
   }
 
+  /**
+   * Configures the {@code faultInjection} to be used to inject faults into execution attempts.
+   * 
+   * @throws NullPointerException if {@code faultInjection} is null
+   * @throws IllegalStateException if a fault injection is already configured
+   */
+  public F with(FaultInjection faultInjection) {
+    Assert.state(this.faultInjection == null, "A fault injection has already been configured");
+    this.faultInjection = Assert.notNull(faultInjection, "faultInjection");
+    addPolicyExecutor(new FaultInjectionExecutor(faultInjection));
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code policyExecutor} to be applied to execution attempts. Policy executors, including those for
+   * built-in policies such as a {@link CircuitBreaker} or {@link Bulkhead}, are applied in the order they are
+   * configured.
+   * 
+   * @throws NullPointerException if {@code policyExecutor} is null
+   */
+  public F with(PolicyExecutor policyExecutor) {
+    addPolicyExecutor(Assert.notNull(policyExecutor, "policyExecutor"));
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code rateLimiter} to be used to limit the rate of execution attempts.
+   * 
+   * @throws NullPointerException if {@code rateLimiter} is null
+   * @throws IllegalStateException if a rate limiter is already configured
+   */
+  public F with(RateLimiter rateLimiter) {
+    Assert.state(this.rateLimiter == null, "A rate limiter has already been configured");
+    this.rateLimiter = Assert.notNull(rateLimiter, "rateLimiter");
+    addPolicyExecutor(new RateLimiterExecutor(rateLimiter));
+    return (F) this;
+  }
+
   /**
    * Configures the {@code retryPolicy} to be used for retrying failed executions.
    * 
@@ -428,11 +511,83 @@ public class FailsafeConfig<R, F> {
    * @throws IllegalStateException if a retry policy is already configured
    */
   public F with(RetryPolicy retryPolicy) {
-    Assert.state(this.retryPolicy == RetryPolicy.NEVER, "A retry policy has already been configurd");
+    Assert.state(this.retryPolicy == RetryPolicy.NEVER && retryPolicyHolder == null,
+        "A retry policy has already been configurd");
     this.retryPolicy = Assert.notNull(retryPolicy, "retryPolicy");
     return (F) this;
   }
 
+  /**
+   * Configures the {@code retryPolicyHolder} whose current policy is to be used for retrying failed executions. Each
+   * execution attempt uses the policy that is current when the attempt starts.
+   * 
+   * @throws NullPointerException if {@code retryPolicyHolder} is null
+   * @throws IllegalStateException if a retry policy is already configured
+   */
+  public F with(RetryPolicyHolder retryPolicyHolder) {
+    Assert.state(this.retryPolicy == RetryPolicy.NEVER && this.retryPolicyHolder == null,
+        "A retry policy has already been configurd");
+    this.retryPolicyHolder = Assert.notNull(retryPolicyHolder, "retryPolicyHolder");
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code timeout} to be used for failing execution attempts that take too long.
+   * 
+   * @throws NullPointerException if {@code timeout} is null
+   * @throws IllegalStateException if a timeout is already configured
+   */
+  public F with(Timeout timeout) {
+    Assert.state(this.timeout == null, "A timeout has already been configured");
+    this.timeout = Assert.notNull(timeout, "timeout");
+    addPolicyExecutor(new TimeoutExecutor(timeout));
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code cache} to return results for the {@code key} from, and to cache successful results for the
+   * {@code key} in. A stale cached result is returned in place of a failure, before any fallback is applied.
+   * 
+   * @throws NullPointerException if {@code cache} or {@code key} are null
+   * @throws IllegalStateException if a cache is already configured
+   */
+  public F withCache(Cache cache, Object key) {
+    Assert.state(this.cache == null, "A cache has already been configured");
+    this.cache = Assert.notNull(cache, "cache");
+    this.cacheKey = Assert.notNull(key, "key");
+    addPolicyExecutor(new CacheExecutor(cache, key));
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code clock} to measure elapsed time and to wait between retries with, such as a
+   * {@link net.jodah.failsafe.util.concurrent.VirtualTimeScheduler} for simulating executions without waiting. Defaults
+   * to {@link Clock#SYSTEM}.
+   * 
+   * @throws NullPointerException if {@code clock} is null
+   * @throws IllegalStateException if a clock is already configured
+   */
+  public F withClock(Clock clock) {
+    Assert.state(this.clock == Clock.SYSTEM, "A clock has already been configured");
+    this.clock = Assert.notNull(clock, "clock");
+    return (F) this;
+  }
+
+  /**
+   * Configures the {@code deadLetterSink} to receive a {@link DeadLetter} containing the {@code payload} when an
+   * execution is aborted or exceeds its retries, so that the work identified by the {@code payload} can be reprocessed
+   * later.
+   * 
+   * @throws NullPointerException if {@code deadLetterSink} or {@code payload} are null
+   * @throws IllegalStateException if a dead letter sink is already configured
+   */
+  public F withDeadLetterSink(DeadLetterSink deadLetterSink, String payload) {
+    Assert.state(this.deadLetterSink == null, "A dead letter sink has already been configured");
+    this.deadLetterSink = Assert.notNull(deadLetterSink, "deadLetterSink");
+    this.deadLetterPayload = Assert.notNull(payload, "payload");
+    return (F) this;
+  }
+
   /**
    * Configures the {@code fallback} action to be executed if execution fails.
    * 
@@ -514,7 +669,34 @@ public class FailsafeConfig<R, F> {
     return (F) withFallback((CheckedBiFunction) Functions.fnOf(Assert.notNull(fallback, "fallback")));
   }
 
+  /**
+   * Appends the {@code policyExecutor} to the pipeline.
+   */
+  void addPolicyExecutor(PolicyExecutor policyExecutor) {
+    if (policyExecutors == null)
+      policyExecutors = new ArrayList<PolicyExecutor>();
+    policyExecutors.add(policyExecutor);
+    pipeline = null;
+  }
+
+  /**
+   * Returns the policy executors to apply to execution attempts, in the order they were configured, compiling them
+   * into an array the first time they are needed after the configuration changes.
+   */
+  PolicyExecutor[] pipeline() {
+    PolicyExecutor[] result = pipeline;
+    if (result == null) {
+      pipeline = result = policyExecutors == null ? new PolicyExecutor[0]
+          : policyExecutors.toArray(new PolicyExecutor[policyExecutors.size()]);
+    }
+
+    return result;
+  }
+
   void handleAbort(R result, Throwable failure, ExecutionContext context) {
+    if (deadLetterSink != null)
+      deadLetter(DeadLetter.Reason.ABORTED, result, failure, context);
+
     if (listenerRegistry != null && listenerRegistry.abortListeners != null) {
       context = context.copy();
       call(listenerRegistry.abortListeners, result, failure, context);
@@ -559,6 +741,9 @@ public class FailsafeConfig<R, F> {
   }
 
   void handleRetriesExceeded(R result, Throwable failure, ExecutionContext context) {
+    if (deadLetterSink != null)
+      deadLetter(DeadLetter.Reason.RETRIES_EXCEEDED, result, failure, context);
+
     if (listenerRegistry != null && listenerRegistry.retriesExceededListeners != null) {
       context = context.copy();
       call(listenerRegistry.retriesExceededListeners, result, failure, context);
@@ -590,6 +775,13 @@ public class FailsafeConfig<R, F> {
     }
   }
 
+  private void deadLetter(DeadLetter.Reason reason, R result, Throwable failure, ExecutionContext context) {
+    try {
+      deadLetterSink.accept(DeadLetter.of(deadLetterPayload, reason, result, failure, context));
+    } catch (Exception ignore) {
+    }
+  }
+
   ListenerRegistry<R> registry() {
     return listenerRegistry != null ? listenerRegistry : (listenerRegistry = new ListenerRegistry<R>());
   }
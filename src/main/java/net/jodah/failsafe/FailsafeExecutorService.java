@@ -0,0 +1,263 @@
+package net.jodah.failsafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.jodah.failsafe.function.CheckedBiFunction;
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * An {@link ExecutorService} that performs every submitted task as a Failsafe execution, so existing
+ * {@code executor.submit(task)} call sites are subject to the configured policies. Created via
+ * {@link SyncFailsafe#decorate(ScheduledExecutorService)}. Tasks that a configured policy rejects when they are
+ * submitted, such as while a {@link CircuitBreaker} is open, are rejected with a {@link RejectedExecutionException}
+ * whose cause is the policy's failure, as with any other {@link ExecutorService}.
+ * <p>
+ * Attempts and retries are performed via the decorated executor, and the futures that are returned are the
+ * {@link FailsafeFuture FailsafeFutures} of the executions, so decorating an executor adds no thread hops or wrapper
+ * futures. The configuration is copied when the executor is decorated, so later changes to the {@link SyncFailsafe} do
+ * not apply. Shutting down this executor shuts down the decorated executor, after which pending retries are rejected.
+ * Delayed and periodic tasks are not supported, since this executor is not a {@link ScheduledExecutorService}; such
+ * tasks should be scheduled via the decorated executor and perform their work via a {@link SyncFailsafe}.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public final class FailsafeExecutorService implements ExecutorService {
+  private final AsyncFailsafe<?> failsafe;
+  private final ScheduledExecutorService executor;
+
+  FailsafeExecutorService(AsyncFailsafe<?> failsafe, ScheduledExecutorService executor) {
+    this.failsafe = failsafe;
+    this.executor = executor;
+  }
+
+  /**
+   * Performs the {@code command} until successful or until the configured policies are exceeded.
+   *
+   * @throws NullPointerException if {@code command} is null
+   * @throws RejectedExecutionException if the execution is rejected by a configured policy, such as an open
+   *           {@link CircuitBreaker}, with the policy's failure as the cause
+   */
+  @Override
+  public void execute(Runnable command) {
+    submit(command);
+  }
+
+  /**
+   * Performs the {@code task} until a successful result is returned or the configured policies are exceeded.
+   *
+   * @throws NullPointerException if {@code task} is null
+   * @throws RejectedExecutionException if the execution is rejected by a configured policy, such as an open
+   *           {@link CircuitBreaker}, with the policy's failure as the cause
+   */
+  @Override
+  public <T> FailsafeFuture<T> submit(Callable<T> task) {
+    return perform(Assert.notNull(task, "task"), null);
+  }
+
+  /**
+   * Performs the {@code task} until successful or until the configured policies are exceeded.
+   *
+   * @throws NullPointerException if {@code task} is null
+   * @throws RejectedExecutionException if the execution is rejected by a configured policy, such as an open
+   *           {@link CircuitBreaker}, with the policy's failure as the cause
+   */
+  @Override
+  public FailsafeFuture<?> submit(Runnable task) {
+    return submit(task, null);
+  }
+
+  /**
+   * Performs the {@code task} until successful or until the configured policies are exceeded, returning a future that
+   * is completed with the {@code result}.
+   *
+   * @throws NullPointerException if {@code task} is null
+   * @throws RejectedExecutionException if the execution is rejected by a configured policy, such as an open
+   *           {@link CircuitBreaker}, with the policy's failure as the cause
+   */
+  @Override
+  public <T> FailsafeFuture<T> submit(Runnable task, T result) {
+    return perform(Executors.callable(Assert.notNull(task, "task"), result), null);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    Assert.notNull(tasks, "tasks");
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    boolean done = false;
+    try {
+      for (Callable<T> task : tasks)
+        futures.add(submit(task));
+      for (Future<T> future : futures)
+        await(future);
+      done = true;
+      return futures;
+    } finally {
+      if (!done)
+        cancelAll(futures);
+    }
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    Assert.notNull(tasks, "tasks");
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    boolean done = false;
+    try {
+      for (Callable<T> task : tasks)
+        futures.add(submit(task));
+      for (Future<T> future : futures) {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0)
+          return futures;
+        try {
+          future.get(remainingNanos, TimeUnit.NANOSECONDS);
+        } catch (CancellationException ignore) {
+        } catch (ExecutionException ignore) {
+        } catch (TimeoutException e) {
+          return futures;
+        }
+      }
+      done = true;
+      return futures;
+    } finally {
+      if (!done)
+        cancelAll(futures);
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    try {
+      return invokeAny(tasks, false, 0);
+    } catch (TimeoutException cannotHappen) {
+      throw new AssertionError(cannotHappen);
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return invokeAny(tasks, true, unit.toNanos(timeout));
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Returns the result of the first of the {@code tasks} to succeed, cancelling the remaining tasks.
+   */
+  private <T> T invokeAny(Collection<? extends Callable<T>> tasks, boolean timed, long nanos)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    Assert.notNull(tasks, "tasks");
+    Assert.isTrue(!tasks.isEmpty(), "tasks cannot be empty");
+    long deadline = System.nanoTime() + nanos;
+    BlockingQueue<Future<T>> completed = new LinkedBlockingQueue<Future<T>>();
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    try {
+      for (Callable<T> task : tasks)
+        futures.add(perform(Assert.notNull(task, "task"), new QueueingFuture<T>(completed)));
+
+      ExecutionException failure = null;
+      for (int i = 0; i < futures.size(); i++) {
+        Future<T> future = timed ? completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+            : completed.take();
+        if (future == null)
+          throw new TimeoutException();
+        try {
+          return future.get();
+        } catch (ExecutionException e) {
+          failure = e;
+        }
+      }
+
+      throw failure;
+    } finally {
+      cancelAll(futures);
+    }
+  }
+
+  /**
+   * Performs the {@code task} as an asynchronous execution that completes the {@code future}, else a new future if
+   * {@code null}.
+   *
+   * @throws RejectedExecutionException if the execution is rejected by a configured policy
+   */
+  private <T> FailsafeFuture<T> perform(Callable<T> task, FailsafeFuture<T> future) {
+    try {
+      return failsafe.get(task, future);
+    } catch (RuntimeException e) {
+      throw new RejectedExecutionException(e);
+    }
+  }
+
+  private static void await(Future<?> future) throws InterruptedException {
+    try {
+      future.get();
+    } catch (CancellationException ignore) {
+    } catch (ExecutionException ignore) {
+    }
+  }
+
+  private static <T> void cancelAll(List<Future<T>> futures) {
+    for (Future<T> future : futures)
+      if (!future.isDone())
+        future.cancel(true);
+  }
+
+  /**
+   * A future that adds itself to a queue when completed.
+   */
+  private static final class QueueingFuture<T> extends FailsafeFuture<T> {
+    private final BlockingQueue<Future<T>> completed;
+
+    QueueingFuture(BlockingQueue<Future<T>> completed) {
+      this.completed = completed;
+    }
+
+    @Override
+    synchronized void complete(T result, Throwable failure, CheckedBiFunction<T, Throwable, T> fallback) {
+      super.complete(result, failure, fallback);
+      completed.add(this);
+    }
+  }
+}
@@ -129,6 +129,8 @@ public class FailsafeFuture<T> implements Future<T> {
       this.result = result;
       this.failure = failure;
     } else {
+      if (Observers.OBSERVER != null)
+        Observers.fallbackInvoked(result, failure);
       try {
         this.result = fallback.apply(result, failure);
       } catch (Throwable fallbackFailure) {
@@ -142,6 +144,15 @@ public class FailsafeFuture<T> implements Future<T> {
     circuit.close();
   }
 
+  /**
+   * Cancels the delegate future without cancelling this future.
+   */
+  void cancelDelegate(boolean mayInterruptIfRunning) {
+    Future<T> delegate = this.delegate;
+    if (delegate != null)
+      delegate.cancel(mayInterruptIfRunning);
+  }
+
   void setFuture(Future<T> delegate) {
     this.delegate = delegate;
   }
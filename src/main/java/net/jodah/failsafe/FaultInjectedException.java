@@ -0,0 +1,14 @@
+package net.jodah.failsafe;
+
+/**
+ * Thrown by default when a {@link FaultInjection} injects a failure into an execution attempt.
+ *
+ * @author Jonathan Halterman
+ */
+public class FaultInjectedException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  public FaultInjectedException(String message) {
+    super(message);
+  }
+}
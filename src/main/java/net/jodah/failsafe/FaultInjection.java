@@ -0,0 +1,310 @@
+package net.jodah.failsafe;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.function.CheckedFunction;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.internal.util.Randoms;
+import net.jodah.failsafe.util.Clock;
+
+/**
+ * Injects faults into execution attempts, for exercising how the other policies and the calling code behave when a
+ * dependency is slow or failing. A fault injection can add {@link #withLatency(Latency) latency} to attempts, fail a
+ * {@link #withFailure(double) fraction} of attempts, {@link #withCorruption(double, CheckedFunction) corrupt} a fraction
+ * of results, and fail every attempt during {@link #withOutage(long, long, TimeUnit) outage} windows.
+ * <p>
+ * Latency and failures are injected before an attempt is performed, so a failed attempt does not call the dependency
+ * and the injected latency counts against any configured {@link Timeout}. Synchronous attempts are delayed by sleeping
+ * on the configured {@link FailsafeConfig#withClock(Clock) clock}, while asynchronous attempts are delayed via the
+ * {@link net.jodah.failsafe.util.concurrent.Scheduler Scheduler}. Asynchronous executions that complete themselves,
+ * such as those performed via {@code getAsync} or {@code runAsync}, are not subject to fault injection.
+ * <p>
+ * Decisions are made using a random stream per thread so that injecting faults does not contend across threads. A
+ * fault injection can be {@link #disable() disabled} and {@link #enable() enabled} at runtime. This class is thread
+ * safe.
+ *
+ * @author Jonathan Halterman
+ */
+public class FaultInjection {
+  private final List<long[]> outages = new CopyOnWriteArrayList<long[]>();
+  private volatile Clock clock = Clock.SYSTEM;
+  private volatile boolean enabled = true;
+  private volatile long enabledTime = clock.nanoTime();
+  private volatile double failureRate;
+  private volatile Throwable failure;
+  private volatile Latency latency;
+  private volatile double corruptionRate;
+  private volatile CheckedFunction<Object, Object> corrupter;
+
+  /**
+   * A distribution of latencies to inject into execution attempts.
+   */
+  public static abstract class Latency {
+    Latency() {
+    }
+
+    /**
+     * Returns a latency that is always the {@code latency}.
+     *
+     * @throws NullPointerException if {@code timeUnit} is null
+     * @throws IllegalArgumentException if {@code latency} < 0
+     */
+    public static Latency fixed(long latency, TimeUnit timeUnit) {
+      Assert.notNull(timeUnit, "timeUnit");
+      Assert.isTrue(latency >= 0, "latency must be greater than or equal to 0");
+      final long nanos = timeUnit.toNanos(latency);
+      return new Latency() {
+        @Override
+        long nanosFor(double random) {
+          return nanos;
+        }
+      };
+    }
+
+    /**
+     * Returns latencies that are uniformly distributed between {@code min} inclusive and {@code max} exclusive.
+     *
+     * @throws NullPointerException if {@code timeUnit} is null
+     * @throws IllegalArgumentException if {@code min} < 0 or {@code max} < {@code min}
+     */
+    public static Latency uniform(long min, long max, TimeUnit timeUnit) {
+      Assert.notNull(timeUnit, "timeUnit");
+      Assert.isTrue(min >= 0, "min must be greater than or equal to 0");
+      Assert.isTrue(max >= min, "max must be greater than or equal to min");
+      final long minNanos = timeUnit.toNanos(min);
+      final long rangeNanos = timeUnit.toNanos(max) - minNanos;
+      return new Latency() {
+        @Override
+        long nanosFor(double random) {
+          return minNanos + (long) (random * rangeNanos);
+        }
+      };
+    }
+
+    /**
+     * Returns latencies that are exponentially distributed with the {@code mean}.
+     *
+     * @throws NullPointerException if {@code timeUnit} is null
+     * @throws IllegalArgumentException if {@code mean} < 0
+     */
+    public static Latency exponential(long mean, TimeUnit timeUnit) {
+      Assert.notNull(timeUnit, "timeUnit");
+      Assert.isTrue(mean >= 0, "mean must be greater than or equal to 0");
+      final long meanNanos = timeUnit.toNanos(mean);
+      return new Latency() {
+        @Override
+        long nanosFor(double random) {
+          return (long) (-meanNanos * Math.log(1 - random));
+        }
+      };
+    }
+
+    /**
+     * Returns latencies that are Pareto distributed with the minimum {@code scale} and the {@code shape}, which
+     * produces the long tail of latencies seen from loaded services. Smaller shapes produce longer tails, with a shape
+     * of about 1.16 placing 80% of latencies within the smallest 20% of the range.
+     *
+     * @throws NullPointerException if {@code timeUnit} is null
+     * @throws IllegalArgumentException if {@code scale} < 0 or {@code shape} <= 0
+     */
+    public static Latency pareto(long scale, double shape, TimeUnit timeUnit) {
+      Assert.notNull(timeUnit, "timeUnit");
+      Assert.isTrue(scale >= 0, "scale must be greater than or equal to 0");
+      Assert.isTrue(shape > 0, "shape must be greater than 0");
+      final long scaleNanos = timeUnit.toNanos(scale);
+      final double exponent = 1 / shape;
+      return new Latency() {
+        @Override
+        long nanosFor(double random) {
+          double nanos = scaleNanos / Math.pow(1 - random, exponent);
+          return nanos >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) nanos;
+        }
+      };
+    }
+
+    /**
+     * Returns the latency in nanoseconds for the {@code random} value between 0.0 inclusive and 1.0 exclusive.
+     */
+    abstract long nanosFor(double random);
+  }
+
+  /**
+   * Disables the fault injection, after which attempts are performed without faults.
+   */
+  public void disable() {
+    enabled = false;
+  }
+
+  /**
+   * Enables the fault injection. Outage windows are measured from the time the fault injection was last enabled.
+   */
+  public void enable() {
+    enabledTime = clock.nanoTime();
+    enabled = true;
+  }
+
+  /**
+   * Returns the clock that outage windows are measured with. Defaults to {@link Clock#SYSTEM}.
+   *
+   * @see #withClock(Clock)
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Returns the fraction of results that are corrupted.
+   *
+   * @see #withCorruption(double, CheckedFunction)
+   */
+  public double getCorruptionRate() {
+    return corruptionRate;
+  }
+
+  /**
+   * Returns the fraction of attempts that are failed outside of outage windows.
+   *
+   * @see #withFailure(double)
+   */
+  public double getFailureRate() {
+    return failureRate;
+  }
+
+  /**
+   * Returns the distribution of latencies that are injected, else {@code null} if none was configured.
+   *
+   * @see #withLatency(Latency)
+   */
+  public Latency getLatency() {
+    return latency;
+  }
+
+  /**
+   * Returns whether faults are being injected.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets the {@code clock} to measure outage windows with, such as a
+   * {@link net.jodah.failsafe.util.concurrent.VirtualTimeScheduler} for simulating outages without waiting. Outage
+   * windows are measured from the time the clock is set.
+   *
+   * @throws NullPointerException if {@code clock} is null
+   */
+  public FaultInjection withClock(Clock clock) {
+    this.clock = Assert.notNull(clock, "clock");
+    enabledTime = clock.nanoTime();
+    return this;
+  }
+
+  /**
+   * Corrupts the {@code rate} fraction of successful results by replacing them with the result of the
+   * {@code corrupter}. Failures thrown by the {@code corrupter} fail the attempt.
+   *
+   * @throws NullPointerException if {@code corrupter} is null
+   * @throws IllegalArgumentException if {@code rate} is not between 0 and 1
+   */
+  @SuppressWarnings("unchecked")
+  public <T> FaultInjection withCorruption(double rate, CheckedFunction<? super T, ? extends T> corrupter) {
+    Assert.notNull(corrupter, "corrupter");
+    Assert.isTrue(rate >= 0 && rate <= 1, "rate must be between 0 and 1");
+    this.corrupter = (CheckedFunction<Object, Object>) corrupter;
+    this.corruptionRate = rate;
+    return this;
+  }
+
+  /**
+   * Fails the {@code rate} fraction of attempts with a {@link FaultInjectedException}.
+   *
+   * @throws IllegalArgumentException if {@code rate} is not between 0 and 1
+   */
+  public FaultInjection withFailure(double rate) {
+    return withFailure(rate, null);
+  }
+
+  /**
+   * Fails the {@code rate} fraction of attempts with the {@code failure}, and fails attempts during outage windows with
+   * the {@code failure}. A {@link FaultInjectedException} is used if the {@code failure} is null.
+   *
+   * @throws IllegalArgumentException if {@code rate} is not between 0 and 1
+   */
+  public FaultInjection withFailure(double rate, Throwable failure) {
+    Assert.isTrue(rate >= 0 && rate <= 1, "rate must be between 0 and 1");
+    this.failure = failure;
+    this.failureRate = rate;
+    return this;
+  }
+
+  /**
+   * Delays each attempt by a latency from the {@code latency} distribution.
+   *
+   * @throws NullPointerException if {@code latency} is null
+   */
+  public FaultInjection withLatency(Latency latency) {
+    this.latency = Assert.notNull(latency, "latency");
+    return this;
+  }
+
+  /**
+   * Fails every attempt during an outage that begins {@code start} after the fault injection was last enabled and
+   * lasts for the {@code duration}.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code start} < 0 or {@code duration} <= 0
+   */
+  public FaultInjection withOutage(long start, long duration, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(start >= 0, "start must be greater than or equal to 0");
+    Assert.isTrue(duration > 0, "duration must be greater than 0");
+    long startNanos = timeUnit.toNanos(start);
+    outages.add(new long[] { startNanos, startNanos + timeUnit.toNanos(duration) });
+    return this;
+  }
+
+  /**
+   * Returns the latency in nanoseconds to inject into the next attempt, which is 0 if none should be injected.
+   */
+  long nextLatencyNanos() {
+    Latency latency = this.latency;
+    return enabled && latency != null ? latency.nanosFor(Randoms.nextDouble()) : 0;
+  }
+
+  /**
+   * Returns the failure to inject into the next attempt, else {@code null} if the attempt should be performed.
+   */
+  Throwable nextFailure() {
+    if (!enabled)
+      return null;
+
+    if (!outages.isEmpty()) {
+      long elapsedNanos = clock.nanoTime() - enabledTime;
+      for (long[] outage : outages)
+        if (elapsedNanos >= outage[0] && elapsedNanos < outage[1])
+          return failure("Outage injected");
+    }
+
+    double failureRate = this.failureRate;
+    return failureRate > 0 && Randoms.nextDouble() < failureRate ? failure("Failure injected") : null;
+  }
+
+  /**
+   * Returns the {@code result}, which is corrupted if a corruption should be injected.
+   *
+   * @throws Exception if the corrupter fails
+   */
+  Object corrupt(Object result) throws Exception {
+    double corruptionRate = this.corruptionRate;
+    if (!enabled || corruptionRate == 0 || Randoms.nextDouble() >= corruptionRate)
+      return result;
+    return corrupter.apply(result);
+  }
+
+  private Throwable failure(String message) {
+    Throwable failure = this.failure;
+    return failure == null ? new FaultInjectedException(message) : failure;
+  }
+}
@@ -0,0 +1,61 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Callable;
+
+import net.jodah.failsafe.Functions.HedgeableCallableWrapper;
+
+/**
+ * Applies a {@link FaultInjection} to execution attempts, injecting latency and failures before the rest of the
+ * pipeline is performed, and corrupting successful results. Latency is injected into asynchronous attempts via the
+ * scheduler.
+ *
+ * @author Jonathan Halterman
+ */
+final class FaultInjectionExecutor extends PolicyExecutor {
+  private final FaultInjection faultInjection;
+
+  FaultInjectionExecutor(FaultInjection faultInjection) {
+    this.faultInjection = faultInjection;
+  }
+
+  @Override
+  Object perform(Execution execution, Callable<?> callable, int stage) throws Throwable {
+    long latencyNanos = faultInjection.nextLatencyNanos();
+    if (latencyNanos > 0)
+      execution.clock.sleep(latencyNanos);
+    Throwable failure = faultInjection.nextFailure();
+    if (failure != null)
+      throw failure;
+    return faultInjection.corrupt(execution.perform(callable, stage + 1));
+  }
+
+  @Override
+  Object performRun(final AsyncExecution execution, final HedgeableCallableWrapper<?> callable, final int run,
+      final int stage) throws Exception {
+    long latencyNanos = faultInjection.nextLatencyNanos();
+    if (latencyNanos == 0)
+      return performOrFail(execution, callable, run, stage);
+
+    execution.performAfter(new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        return performOrFail(execution, callable, run, stage);
+      }
+    }, run, latencyNanos);
+    return null;
+  }
+
+  @Override
+  Object resultFor(Object result) throws Exception {
+    return faultInjection.corrupt(result);
+  }
+
+  private Object performOrFail(AsyncExecution execution, HedgeableCallableWrapper<?> callable, int run, int stage)
+      throws Exception {
+    Throwable failure = faultInjection.nextFailure();
+    if (failure == null)
+      return execution.performRun(callable, run, stage + 1);
+    execution.completeOrRetry(run, null, failure);
+    return null;
+  }
+}
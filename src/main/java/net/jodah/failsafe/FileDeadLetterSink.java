@@ -0,0 +1,338 @@
+package net.jodah.failsafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import net.jodah.failsafe.function.CheckedConsumer;
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * A {@link DeadLetterSink} that appends dead letters to a series of memory-mapped segment files in a directory. Dead
+ * letters are accepted onto a lock-free queue and written by a background thread, so accepting a dead letter does not
+ * perform I/O on the execution thread. Dead letters can be read back via {@link #replay(File, CheckedConsumer)}, such
+ * as to reprocess the work offline.
+ * <p>
+ * Each time a sink is opened it starts writing to a new segment after the existing ones, and a new segment is started
+ * whenever the current one fills up. Dead letters are written to memory and are not forced to disk individually. They
+ * survive a crash or restart of the process once written, while surviving a crash of the operating system requires
+ * calling {@link #flush()}.
+ * <p>
+ * Dead letters that cannot be written, such as when a segment cannot be created, are dropped and counted as
+ * {@link #getFailedWrites() failed writes}, and the sink continues writing later dead letters. Dead letters that are
+ * accepted after the background thread has stopped are also counted as failed writes.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public class FileDeadLetterSink implements DeadLetterSink, Closeable {
+  /** The default size of each segment file */
+  public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+  private static final String SEGMENT_PREFIX = "deadletters-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final byte RECORD = 1;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final DeadLetter.Reason[] REASONS = DeadLetter.Reason.values();
+
+  private final File directory;
+  private final int segmentSize;
+  private final Queue<DeadLetter> queue = new ConcurrentLinkedQueue<DeadLetter>();
+  private final AtomicLong accepted = new AtomicLong();
+  private final AtomicLong failedWrites = new AtomicLong();
+  private final Thread writer;
+  private volatile long written;
+  private volatile boolean closed;
+
+  // Guarded by "this"
+  private int segmentIndex;
+  private RandomAccessFile segment;
+  private MappedByteBuffer buffer;
+
+  private FileDeadLetterSink(File directory, int segmentSize) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    File[] segments = segments(directory);
+    if (segments.length > 0)
+      segmentIndex = indexOf(segments[segments.length - 1]);
+
+    writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        writeDeadLetters();
+      }
+    }, "failsafe-dead-letter-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Opens a sink that writes to segments in the {@code directory}, creating the directory if it does not exist.
+   *
+   * @throws NullPointerException if {@code directory} is null
+   * @throws IOException if the directory cannot be created
+   */
+  public static FileDeadLetterSink open(File directory) throws IOException {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Opens a sink that writes to segments of the {@code segmentSize} in bytes in the {@code directory}, creating the
+   * directory if it does not exist.
+   *
+   * @throws NullPointerException if {@code directory} is null
+   * @throws IllegalArgumentException if {@code segmentSize} < 1024
+   * @throws IOException if the directory cannot be created
+   */
+  public static FileDeadLetterSink open(File directory, int segmentSize) throws IOException {
+    Assert.notNull(directory, "directory");
+    Assert.isTrue(segmentSize >= 1024, "segmentSize must be greater than or equal to 1024");
+    if (!directory.isDirectory() && !directory.mkdirs())
+      throw new IOException("Failed to create " + directory);
+    return new FileDeadLetterSink(directory, segmentSize);
+  }
+
+  /**
+   * Reads the dead letters from the segments in the {@code directory}, in the order they were written, passing each to
+   * the {@code consumer}. Returns the number of dead letters that were read.
+   *
+   * @throws NullPointerException if {@code directory} or {@code consumer} are null
+   * @throws IOException if a segment cannot be read
+   * @throws FailsafeException if the {@code consumer} fails with a checked exception
+   */
+  public static int replay(File directory, CheckedConsumer<? super DeadLetter> consumer) throws IOException {
+    Assert.notNull(directory, "directory");
+    Assert.notNull(consumer, "consumer");
+    int count = 0;
+    for (File file : segments(directory)) {
+      RandomAccessFile segment = new RandomAccessFile(file, "r");
+      try {
+        MappedByteBuffer buffer = segment.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, segment.length());
+        for (DeadLetter deadLetter; (deadLetter = read(buffer)) != null; count++) {
+          try {
+            consumer.accept(deadLetter);
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new FailsafeException(e);
+          }
+        }
+      } finally {
+        segment.close();
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Queues the {@code deadLetter} to be written. Dead letters that are accepted after the sink is closed are ignored,
+   * and dead letters that are accepted after the background thread has stopped are counted as failed writes.
+   */
+  @Override
+  public void accept(DeadLetter deadLetter) {
+    if (!closed && deadLetter != null) {
+      if (!writer.isAlive()) {
+        failedWrites.incrementAndGet();
+        return;
+      }
+
+      queue.offer(deadLetter);
+      accepted.incrementAndGet();
+      LockSupport.unpark(writer);
+    }
+  }
+
+  /**
+   * Waits for the dead letters that have been accepted to be written, then closes the sink.
+   *
+   * @throws IOException if the current segment cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    LockSupport.unpark(writer);
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    synchronized (this) {
+      closeSegment();
+    }
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Waits for the dead letters that have been accepted to be written, then forces them to be written to the storage
+   * device.
+   *
+   * @throws IOException if interrupted while waiting
+   */
+  public void flush() throws IOException {
+    long target = accepted.get();
+    while (written < target && writer.isAlive()) {
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(this, 100000);
+      if (Thread.interrupted()) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    synchronized (this) {
+      if (buffer != null)
+        buffer.force();
+    }
+  }
+
+  /**
+   * Returns the directory that segments are written to.
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the number of dead letters that could not be written.
+   */
+  public long getFailedWrites() {
+    return failedWrites.get();
+  }
+
+  /**
+   * Returns the size of each segment in bytes.
+   */
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  private void writeDeadLetters() {
+    while (true) {
+      DeadLetter deadLetter = queue.poll();
+      if (deadLetter != null) {
+        try {
+          write(deadLetter);
+        } catch (Exception e) {
+          failedWrites.incrementAndGet();
+        }
+        written++;
+      } else if (closed)
+        return;
+      else
+        LockSupport.park(this);
+    }
+  }
+
+  private synchronized void write(DeadLetter deadLetter) throws IOException {
+    byte[] payload = deadLetter.payload.getBytes(UTF_8);
+    byte[] result = deadLetter.result == null ? null : deadLetter.result.getBytes(UTF_8);
+    byte[] failure = deadLetter.failure == null ? null : deadLetter.failure.getBytes(UTF_8);
+    int length = 8 + 1 + 4 + 4 * 3 + payload.length + (result == null ? 0 : result.length)
+        + (failure == null ? 0 : failure.length);
+    int recordSize = 1 + 4 + length;
+    if (buffer == null || buffer.remaining() < recordSize)
+      nextSegment(recordSize);
+
+    int position = buffer.position();
+    // Mutate via Buffer so that builds on newer JDKs link against the Java 8 methods
+    ((Buffer) buffer).position(position + 1);
+    buffer.putInt(length).putLong(deadLetter.time).put((byte) deadLetter.reason.ordinal()).putInt(deadLetter.attempts);
+    put(buffer, payload);
+    put(buffer, result);
+    put(buffer, failure);
+
+    // Write the record type last so that partially written records are ignored
+    buffer.put(position, RECORD);
+  }
+
+  private void nextSegment(int recordSize) throws IOException {
+    closeSegment();
+    File file = new File(directory, String.format("%s%010d%s", SEGMENT_PREFIX, ++segmentIndex, SEGMENT_SUFFIX));
+    segment = new RandomAccessFile(file, "rw");
+    buffer = segment.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, recordSize + 1));
+  }
+
+  private void closeSegment() throws IOException {
+    if (segment != null) {
+      buffer.force();
+      segment.close();
+      segment = null;
+      buffer = null;
+    }
+  }
+
+  private static void put(ByteBuffer buffer, byte[] bytes) {
+    if (bytes == null)
+      buffer.putInt(-1);
+    else
+      buffer.putInt(bytes.length).put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == -1)
+      return null;
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Reads the next dead letter from the {@code buffer}, else returns null if there are no more complete records.
+   */
+  private static DeadLetter read(ByteBuffer buffer) {
+    if (buffer.remaining() < 5 || buffer.get(buffer.position()) != RECORD)
+      return null;
+    buffer.get();
+    int length = buffer.getInt();
+    if (length < 0 || buffer.remaining() < length)
+      return null;
+
+    long time = buffer.getLong();
+    DeadLetter.Reason reason = REASONS[buffer.get()];
+    int attempts = buffer.getInt();
+    String payload = getString(buffer);
+    String result = getString(buffer);
+    String failure = getString(buffer);
+    return new DeadLetter(payload, reason, attempts, time, result, failure);
+  }
+
+  private static File[] segments(File directory) {
+    File[] segments = directory.listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+      }
+    });
+
+    if (segments == null)
+      return new File[0];
+    Arrays.sort(segments);
+    return segments;
+  }
+
+  private static int indexOf(File segment) {
+    String name = segment.getName();
+    return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+}
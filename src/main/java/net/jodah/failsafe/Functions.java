@@ -29,6 +29,30 @@ final class Functions {
     }
   }
 
+  /**
+   * A wrapper for executions that are completed by Failsafe rather than via an {@link AsyncExecution}, whose attempts
+   * can be timed out and performed in multiple runs when hedging.
+   */
+  static abstract class HedgeableCallableWrapper<T> extends AsyncCallableWrapper<T> {
+    @Override
+    public T call() throws Exception {
+      return perform(execution.startAttempt());
+    }
+
+    /**
+     * Performs the {@code run} of the current attempt via the pipeline.
+     */
+    @SuppressWarnings("unchecked")
+    T perform(int run) throws Exception {
+      return (T) execution.performRun(this, run, 0);
+    }
+
+    /**
+     * Performs the {@code run} of the current attempt.
+     */
+    abstract T call(int run) throws Exception;
+  }
+
   static abstract class ContextualCallableWrapper<T> implements Callable<T> {
     protected ExecutionContext context;
 
@@ -43,7 +67,7 @@ final class Functions {
       @Override
       public synchronized T call() throws Exception {
         try {
-          execution.before();
+          execution.startAttempt();
           T result = callable.call(execution);
           return result;
         } catch (Exception e) {
@@ -60,7 +84,7 @@ final class Functions {
       @Override
       public synchronized T call() throws Exception {
         try {
-          execution.before();
+          execution.startAttempt();
           runnable.run(execution);
         } catch (Exception e) {
           execution.completeOrRetry(null, e);
@@ -73,16 +97,15 @@ final class Functions {
 
   static <T> AsyncCallableWrapper<T> asyncOf(final Callable<T> callable) {
     Assert.notNull(callable, "callable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(int run) throws Exception {
         try {
-          execution.before();
           T result = callable.call();
-          execution.completeOrRetry(result, null);
+          execution.completeOrRetry(run, result, null);
           return result;
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
           return null;
         }
       }
@@ -91,15 +114,14 @@ final class Functions {
 
   static <T> AsyncCallableWrapper<T> asyncOf(final CheckedRunnable runnable) {
     Assert.notNull(runnable, "runnable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(int run) throws Exception {
         try {
-          execution.before();
           runnable.run();
-          execution.completeOrRetry(null, null);
+          execution.completeOrRetry(run, null, null);
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
         }
 
         return null;
@@ -109,16 +131,15 @@ final class Functions {
 
   static <T> AsyncCallableWrapper<T> asyncOf(final ContextualCallable<T> callable) {
     Assert.notNull(callable, "callable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(int run) throws Exception {
         try {
-          execution.before();
           T result = callable.call(execution);
-          execution.completeOrRetry(result, null);
+          execution.completeOrRetry(run, result, null);
           return result;
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
           return null;
         }
       }
@@ -127,15 +148,14 @@ final class Functions {
 
   static <T> AsyncCallableWrapper<T> asyncOf(final ContextualRunnable runnable) {
     Assert.notNull(runnable, "runnable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(int run) throws Exception {
         try {
-          execution.before();
           runnable.run(execution);
-          execution.completeOrRetry(null, null);
+          execution.completeOrRetry(run, null, null);
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
         }
 
         return null;
@@ -152,7 +172,7 @@ final class Functions {
       @Override
       public T call() throws Exception {
         try {
-          execution.before();
+          execution.startAttempt();
           asyncFutureLock.acquire();
           callable.call(execution).whenComplete(new BiConsumer<T, Throwable>() {
             @Override
@@ -181,22 +201,23 @@ final class Functions {
 
   static <T> AsyncCallableWrapper<T> asyncOfFuture(final Callable<java.util.concurrent.CompletableFuture<T>> callable) {
     Assert.notNull(callable, "callable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(final int run) throws Exception {
         try {
-          execution.before();
-          callable.call().whenComplete(new BiConsumer<T, Throwable>() {
+          java.util.concurrent.CompletableFuture<T> stage = callable.call();
+          execution.runStageStarted(run, stage);
+          stage.whenComplete(new BiConsumer<T, Throwable>() {
             @Override
             public void accept(T innerResult, Throwable failure) {
               // Unwrap CompletionException cause
               if (failure != null && failure instanceof java.util.concurrent.CompletionException)
                 failure = failure.getCause();
-              execution.completeOrRetry(innerResult, failure);
+              execution.completeOrRetry(run, innerResult, failure);
             }
           });
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
         }
 
         return null;
@@ -207,22 +228,23 @@ final class Functions {
   static <T> AsyncCallableWrapper<T> asyncOfFuture(
       final ContextualCallable<java.util.concurrent.CompletableFuture<T>> callable) {
     Assert.notNull(callable, "callable");
-    return new AsyncCallableWrapper<T>() {
+    return new HedgeableCallableWrapper<T>() {
       @Override
-      public T call() throws Exception {
+      T call(final int run) throws Exception {
         try {
-          execution.before();
-          callable.call(execution).whenComplete(new BiConsumer<T, Throwable>() {
+          java.util.concurrent.CompletableFuture<T> stage = callable.call(execution);
+          execution.runStageStarted(run, stage);
+          stage.whenComplete(new BiConsumer<T, Throwable>() {
             @Override
             public void accept(T innerResult, Throwable failure) {
               // Unwrap CompletionException cause
               if (failure != null && failure instanceof java.util.concurrent.CompletionException)
                 failure = failure.getCause();
-              execution.completeOrRetry(innerResult, failure);
+              execution.completeOrRetry(run, innerResult, failure);
             }
           });
         } catch (Exception e) {
-          execution.completeOrRetry(null, e);
+          execution.completeOrRetry(run, null, e);
         }
 
         return null;
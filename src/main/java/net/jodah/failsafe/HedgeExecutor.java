@@ -0,0 +1,19 @@
+package net.jodah.failsafe;
+
+/**
+ * Applies a {@link HedgePolicy} to asynchronous execution attempts, scheduling hedged runs of each attempt.
+ *
+ * @author Jonathan Halterman
+ */
+final class HedgeExecutor extends PolicyExecutor {
+  private final HedgePolicy hedgePolicy;
+
+  HedgeExecutor(HedgePolicy hedgePolicy) {
+    this.hedgePolicy = hedgePolicy;
+  }
+
+  @Override
+  void attemptStarted(AsyncExecution execution, int run) {
+    execution.scheduleHedges(hedgePolicy, run);
+  }
+}
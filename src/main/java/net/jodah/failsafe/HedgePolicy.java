@@ -0,0 +1,201 @@
+package net.jodah.failsafe;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * A policy that performs hedged, or speculative, executions. When an asynchronous execution attempt has not completed
+ * within a hedge delay, a parallel run of the same attempt is started. The first run to succeed completes the attempt
+ * and the remaining runs are cancelled, including the futures returned by the losing runs of
+ * {@link AsyncFailsafe#future(java.util.concurrent.Callable) future} executions. The attempt only fails if all of its
+ * runs fail, in which case it may be retried according to the {@link RetryPolicy}.
+ * <p>
+ * The hedge delay is either {@link #withDelay(long, TimeUnit) fixed}, or a {@link #withPercentile(double) percentile}
+ * of recently recorded attempt latencies. Hedges are not started while a configured {@link CircuitBreaker} disallows
+ * executions, and only the outcome of each attempt is recorded with the circuit breaker.
+ * <p>
+ * Hedging applies to asynchronous executions whose completion is controlled by Failsafe. Since runs cannot be raced
+ * when an execution is completed via an {@link AsyncExecution}, such as via {@link AsyncFailsafe#getAsync}, those
+ * executions are rejected with an {@link IllegalStateException} when a HedgePolicy is configured. A HedgePolicy may be
+ * shared by many executions, in which case the {@link #withMaxConcurrentHedges(int) maxConcurrentHedges} bounds the
+ * extra load hedging can generate.
+ *
+ * @author Jonathan Halterman
+ */
+public class HedgePolicy {
+  /** The number of recent latencies that percentiles are computed from */
+  static final int LATENCY_SAMPLES = 100;
+  /** The number of latencies that must be recorded before percentiles are used */
+  static final int MIN_LATENCY_SAMPLES = 10;
+
+  private final AtomicInteger concurrentHedges = new AtomicInteger();
+  private Duration delay;
+  private double percentile;
+  private int maxHedges = 1;
+  private int maxConcurrentHedges = Integer.MAX_VALUE;
+
+  /** Ring buffer of recent latencies, guarded by "latencies" */
+  private final long[] latencies = new long[LATENCY_SAMPLES];
+  private int latencyCount;
+
+  /**
+   * Creates a HedgePolicy that starts a single hedge after the {@code delay}.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0
+   */
+  public HedgePolicy(long delay, TimeUnit timeUnit) {
+    withDelay(delay, timeUnit);
+  }
+
+  /**
+   * Returns the number of hedges that are currently in progress.
+   */
+  public int getConcurrentHedges() {
+    return concurrentHedges.get();
+  }
+
+  /**
+   * Returns the delay before starting a hedge, which is also used when a {@link #withPercentile(double) percentile} is
+   * configured until enough latencies have been recorded.
+   *
+   * @see #withDelay(long, TimeUnit)
+   */
+  public Duration getDelay() {
+    return delay;
+  }
+
+  /**
+   * Returns the max number of hedges that may be in progress across all executions. Defaults to
+   * {@link Integer#MAX_VALUE}.
+   *
+   * @see #withMaxConcurrentHedges(int)
+   */
+  public int getMaxConcurrentHedges() {
+    return maxConcurrentHedges;
+  }
+
+  /**
+   * Returns the max number of hedges to start for each execution attempt. Defaults to {@code 1}.
+   *
+   * @see #withMaxHedges(int)
+   */
+  public int getMaxHedges() {
+    return maxHedges;
+  }
+
+  /**
+   * Returns the percentile of recent latencies to start hedges after, else {@code 0.0} if none has been configured.
+   *
+   * @see #withPercentile(double)
+   */
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Sets the {@code delay} to wait for an execution attempt to complete before starting a hedge. Successive hedges for
+   * the same attempt are started after successive delays.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code delay} <= 0
+   */
+  public HedgePolicy withDelay(long delay, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(delay > 0, "delay must be greater than 0");
+    this.delay = new Duration(delay, timeUnit);
+    return this;
+  }
+
+  /**
+   * Sets the max number of hedges that may be in progress across all executions that share this policy. Hedges that
+   * would exceed the max are not started.
+   *
+   * @throws IllegalArgumentException if {@code maxConcurrentHedges} < 1
+   */
+  public HedgePolicy withMaxConcurrentHedges(int maxConcurrentHedges) {
+    Assert.isTrue(maxConcurrentHedges >= 1, "maxConcurrentHedges must be greater than or equal to 1");
+    this.maxConcurrentHedges = maxConcurrentHedges;
+    return this;
+  }
+
+  /**
+   * Sets the max number of hedges to start for each execution attempt.
+   *
+   * @throws IllegalArgumentException if {@code maxHedges} < 1
+   */
+  public HedgePolicy withMaxHedges(int maxHedges) {
+    Assert.isTrue(maxHedges >= 1, "maxHedges must be greater than or equal to 1");
+    this.maxHedges = maxHedges;
+    return this;
+  }
+
+  /**
+   * Sets the {@code percentile} of the last 100 successful attempt latencies to wait for before starting a hedge. For
+   * example: a {@code percentile} of {@code .95} starts a hedge when an attempt is slower than 95% of recent attempts.
+   * The {@link #withDelay(long, TimeUnit) delay} is used until 10 latencies have been recorded.
+   *
+   * @throws IllegalArgumentException if {@code percentile} is <= 0 or >= 1
+   */
+  public HedgePolicy withPercentile(double percentile) {
+    Assert.isTrue(percentile > 0 && percentile < 1, "percentile must be > 0 and < 1");
+    this.percentile = percentile;
+    return this;
+  }
+
+  /**
+   * Returns the delay in nanoseconds before starting a hedge.
+   */
+  long getHedgeDelayNanos() {
+    if (percentile == 0.0)
+      return delay.toNanos();
+
+    long[] samples;
+    synchronized (latencies) {
+      if (latencyCount < MIN_LATENCY_SAMPLES)
+        return delay.toNanos();
+      samples = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_SAMPLES));
+    }
+
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(percentile * samples.length) - 1;
+    return Math.max(1, samples[Math.max(0, index)]);
+  }
+
+  /**
+   * Records the latency of a successful execution attempt.
+   */
+  void recordLatency(long latencyNanos) {
+    if (percentile == 0.0)
+      return;
+    synchronized (latencies) {
+      latencies[latencyCount++ % LATENCY_SAMPLES] = latencyNanos;
+      if (latencyCount == 2 * LATENCY_SAMPLES)
+        latencyCount = LATENCY_SAMPLES;
+    }
+  }
+
+  /**
+   * Releases {@code hedges} that were previously acquired.
+   */
+  void releaseHedges(int hedges) {
+    concurrentHedges.addAndGet(-hedges);
+  }
+
+  /**
+   * Attempts to acquire a hedge, returning whether it was acquired without exceeding the max concurrent hedges.
+   */
+  boolean tryAcquireHedge() {
+    while (true) {
+      int current = concurrentHedges.get();
+      if (current >= maxConcurrentHedges)
+        return false;
+      if (concurrentHedges.compareAndSet(current, current + 1))
+        return true;
+    }
+  }
+}
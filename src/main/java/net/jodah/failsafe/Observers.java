@@ -0,0 +1,168 @@
+package net.jodah.failsafe;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import net.jodah.failsafe.CircuitBreaker.State;
+import net.jodah.failsafe.event.FailsafeObserver;
+
+/**
+ * Holds the {@link FailsafeObserver} discovered on the classpath and guards calls to it. Call sites are expected to
+ * check {@link #OBSERVER} for {@code null} before calling into this class, so that observation is free when no observer
+ * is present.
+ *
+ * @author Jonathan Halterman
+ */
+final class Observers {
+  /** The discovered observer, else {@code null} if none is present */
+  static final FailsafeObserver OBSERVER = load();
+
+  private Observers() {
+  }
+
+  static Object attemptStarted(ExecutionContext context) {
+    try {
+      return OBSERVER.attemptStarted(context);
+    } catch (Exception ignore) {
+      return null;
+    }
+  }
+
+  static void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+    try {
+      OBSERVER.attemptEnded(context, attempt, result, failure);
+    } catch (Exception ignore) {
+    }
+  }
+
+  static void retryScheduled(ExecutionContext context, long waitNanos) {
+    try {
+      OBSERVER.retryScheduled(context, waitNanos);
+    } catch (Exception ignore) {
+    }
+  }
+
+  static void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+    try {
+      OBSERVER.circuitTransitioned(circuitBreaker, fromState, toState);
+    } catch (Exception ignore) {
+    }
+  }
+
+  static void circuitRejected(CircuitBreaker circuitBreaker) {
+    try {
+      OBSERVER.circuitRejected(circuitBreaker);
+    } catch (Exception ignore) {
+    }
+  }
+
+  static void fallbackInvoked(Object result, Throwable failure) {
+    try {
+      OBSERVER.fallbackInvoked(result, failure);
+    } catch (Exception ignore) {
+    }
+  }
+
+  /**
+   * Loads the observers present on the classpath, returning {@code null} if there are none.
+   */
+  private static FailsafeObserver load() {
+    List<FailsafeObserver> observers = new ArrayList<FailsafeObserver>(2);
+    try {
+      Iterator<FailsafeObserver> iterator = ServiceLoader
+          .load(FailsafeObserver.class, FailsafeObserver.class.getClassLoader()).iterator();
+      while (iterator.hasNext()) {
+        try {
+          observers.add(iterator.next());
+        } catch (ServiceConfigurationError ignore) {
+        }
+      }
+    } catch (ServiceConfigurationError ignore) {
+    }
+
+    if (observers.isEmpty())
+      return null;
+    if (observers.size() == 1)
+      return observers.get(0);
+
+    return new CompositeObserver(observers);
+  }
+
+  /**
+   * Calls each of a list of observers in turn, ignoring failures so that an observer which throws neither stops the
+   * observers after it nor fails the execution.
+   */
+  static final class CompositeObserver extends FailsafeObserver {
+    private final List<FailsafeObserver> observers;
+
+    CompositeObserver(List<FailsafeObserver> observers) {
+      this.observers = observers;
+    }
+
+    @Override
+    public Object attemptStarted(ExecutionContext context) {
+      Object[] attempts = new Object[observers.size()];
+      for (int i = 0; i < attempts.length; i++) {
+        try {
+          attempts[i] = observers.get(i).attemptStarted(context);
+        } catch (Exception ignore) {
+        }
+      }
+      return attempts;
+    }
+
+    @Override
+    public void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+      Object[] attempts = (Object[]) attempt;
+      for (int i = 0; i < observers.size(); i++) {
+        try {
+          observers.get(i).attemptEnded(context, attempts == null ? null : attempts[i], result, failure);
+        } catch (Exception ignore) {
+        }
+      }
+    }
+
+    @Override
+    public void retryScheduled(ExecutionContext context, long waitNanos) {
+      for (FailsafeObserver observer : observers) {
+        try {
+          observer.retryScheduled(context, waitNanos);
+        } catch (Exception ignore) {
+        }
+      }
+    }
+
+    @Override
+    public void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+      for (FailsafeObserver observer : observers) {
+        try {
+          observer.circuitTransitioned(circuitBreaker, fromState, toState);
+        } catch (Exception ignore) {
+        }
+      }
+    }
+
+    @Override
+    public void circuitRejected(CircuitBreaker circuitBreaker) {
+      for (FailsafeObserver observer : observers) {
+        try {
+          observer.circuitRejected(circuitBreaker);
+        } catch (Exception ignore) {
+        }
+      }
+    }
+
+    @Override
+    public void fallbackInvoked(Object result, Throwable failure) {
+      for (FailsafeObserver observer : observers) {
+        try {
+          observer.fallbackInvoked(result, failure);
+        } catch (Exception ignore) {
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Callable;
+
+import net.jodah.failsafe.Functions.HedgeableCallableWrapper;
+
+/**
+ * Applies a policy to the attempts of an execution. Policy executors are composed into a pipeline in the order that
+ * policies are configured via the {@code with} methods of {@link FailsafeConfig}, including the executors for built-in
+ * policies such as a {@link CircuitBreaker}, {@link Bulkhead}, {@link RateLimiter} or {@link Timeout}, and custom
+ * executors configured via {@link FailsafeConfig#with(PolicyExecutor)}. The pipeline is compiled once per
+ * configuration into an array that is shared by synchronous and asynchronous executions, so applying the pipeline to an
+ * attempt is a loop over the array without allocating.
+ * <p>
+ * Before each attempt, each executor in turn is asked whether the attempt should be
+ * {@link #rejectionFor(ExecutionContext) rejected}, with the first rejection failing the attempt. When an attempt is
+ * rejected, the executors that already allowed it are asked to {@link #releaseAttempt(ExecutionContext) release} it in
+ * reverse order. Allowed attempts are then {@link #beforeAttempt(ExecutionContext) started} and
+ * {@link #afterAttempt(ExecutionContext, Object, Throwable) completed} by each executor in order, before the
+ * {@link RetryPolicy} decides whether the execution is retried.
+ * <p>
+ * For asynchronous executions, the first attempt is checked when the execution is submitted, so that a rejection is
+ * thrown to the caller, up to the first executor whose policy waits for a permit via the scheduler, such as a
+ * {@link Bulkhead} or {@link RateLimiter}. Rejections by that executor and by later executors fail the execution's
+ * future.
+ * <p>
+ * Implementations are called concurrently by executions and must be thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public abstract class PolicyExecutor {
+  /** Indicates that a policy executor does not provide a result for an execution */
+  static final Object NO_RESULT = new Object();
+
+  /**
+   * Returns the failure to reject an attempt of the execution with, else {@code null} if the attempt is allowed. This
+   * default implementation allows every attempt.
+   */
+  protected RuntimeException rejectionFor(ExecutionContext context) {
+    return null;
+  }
+
+  /**
+   * Called when an attempt of the execution that this executor allowed is rejected by a later executor in the pipeline,
+   * so that anything acquired for the attempt, such as a permit, can be released.
+   */
+  protected void releaseAttempt(ExecutionContext context) {
+  }
+
+  /**
+   * Called when an allowed attempt of the execution starts.
+   */
+  protected void beforeAttempt(ExecutionContext context) {
+  }
+
+  /**
+   * Called when an attempt of the execution completes with the {@code result} or {@code failure}.
+   */
+  protected void afterAttempt(ExecutionContext context, Object result, Throwable failure) {
+  }
+
+  /**
+   * Returns the failure to reject a synchronous attempt of the {@code execution} with, else {@code null} if the attempt
+   * is allowed, waiting for a permit if necessary.
+   *
+   * @throws InterruptedException if interrupted while waiting for a permit
+   */
+  RuntimeException acquirePermit(AbstractExecution execution) throws InterruptedException {
+    return rejectionFor(execution);
+  }
+
+  /**
+   * Returns whether asynchronous attempts wait for a permit via the scheduler, and so must be admitted via
+   * {@link #acquirePermit(AsyncExecution, int)}.
+   */
+  boolean acquiresAsynchronously() {
+    return false;
+  }
+
+  /**
+   * Admits an asynchronous attempt of the {@code execution} at the {@code stage} of the pipeline, eventually calling
+   * {@link AsyncExecution#admit(int)} with the next stage, or {@link AsyncExecution#rejectAttempt(int, Throwable)} with
+   * this stage.
+   */
+  void acquirePermit(AsyncExecution execution, int stage) {
+    RuntimeException rejection = rejectionFor(execution);
+    if (rejection == null)
+      execution.admit(stage + 1);
+    else
+      execution.rejectAttempt(stage, rejection);
+  }
+
+  /**
+   * Returns whether a hedged run of an attempt of the {@code execution} may be started.
+   */
+  boolean allowsHedge(AbstractExecution execution) {
+    return true;
+  }
+
+  /**
+   * Performs a synchronous attempt of the {@code execution} by calling the next {@code stage} of the pipeline.
+   */
+  Object perform(Execution execution, Callable<?> callable, int stage) throws Throwable {
+    return execution.perform(callable, stage + 1);
+  }
+
+  /**
+   * Performs the {@code run} of an asynchronous attempt of the {@code execution} by calling the next {@code stage} of
+   * the pipeline.
+   */
+  Object performRun(AsyncExecution execution, HedgeableCallableWrapper<?> callable, int run, int stage)
+      throws Exception {
+    return execution.performRun(callable, run, stage + 1);
+  }
+
+  /**
+   * Called when the {@code run} of an asynchronous attempt of the {@code execution} is started.
+   */
+  void attemptStarted(AsyncExecution execution, int run) {
+  }
+
+  /**
+   * Returns the successful {@code result} of an asynchronous attempt as transformed by this executor.
+   */
+  Object resultFor(Object result) throws Exception {
+    return result;
+  }
+
+  /**
+   * Returns a result to complete the {@code execution} with before any attempts are performed, else
+   * {@link #NO_RESULT}.
+   */
+  Object resultBeforeExecution(AbstractExecution execution) {
+    return NO_RESULT;
+  }
+
+  /**
+   * Returns a result to complete the {@code execution} with in place of the {@code failure}, else {@link #NO_RESULT}.
+   */
+  Object resultOnFailure(AbstractExecution execution, Throwable failure) {
+    return NO_RESULT;
+  }
+
+  /**
+   * Called when the {@code execution} completes successfully with the {@code result}.
+   */
+  void executionSucceeded(AbstractExecution execution, Object result) {
+  }
+}
@@ -0,0 +1,171 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Clock;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * A token bucket rate limiter that limits the rate of execution attempts, including retries. Attempts that exceed the
+ * rate are rejected with a {@link RateLimitExceededException}, or, when a
+ * {@link #withMaxWaitTime(long, TimeUnit) maxWaitTime} is configured, wait for a permit.
+ * <p>
+ * A {@link #smooth(long, long, TimeUnit) smooth} rate limiter spaces permits evenly over the period, while a
+ * {@link #bursty(long, long, TimeUnit) bursty} rate limiter allows up to the max executions to be performed at once
+ * after being idle, refilling permits evenly over the period.
+ * <p>
+ * Synchronous executions wait by sleeping the calling thread, while asynchronous executions are delayed via the
+ * {@link net.jodah.failsafe.util.concurrent.Scheduler Scheduler}. This class is thread safe and lock-free: the state of
+ * the bucket is a single word, the time at which the next permit becomes free, which is reserved via compare and set.
+ * 
+ * @author Jonathan Halterman
+ */
+public class RateLimiter {
+  /** Indicates that no permits have been reserved */
+  private static final long UNRESERVED = Long.MIN_VALUE;
+
+  private final long maxExecutions;
+  private final Duration period;
+  private final boolean bursty;
+  private final long intervalNanos;
+  private final long burstNanos;
+  /** The time at which the next permit is free, less any burst capacity */
+  private final AtomicLong nextPermitNanos = new AtomicLong(UNRESERVED);
+  private Duration maxWaitTime = Duration.NONE;
+  private Clock clock = Clock.SYSTEM;
+
+  private RateLimiter(long maxExecutions, long period, TimeUnit timeUnit, boolean bursty) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(maxExecutions > 0, "maxExecutions must be greater than 0");
+    Assert.isTrue(timeUnit.toNanos(period) / maxExecutions > 0, "period must be greater than maxExecutions nanoseconds");
+    this.maxExecutions = maxExecutions;
+    this.period = new Duration(period, timeUnit);
+    this.bursty = bursty;
+    intervalNanos = timeUnit.toNanos(period) / maxExecutions;
+    burstNanos = bursty ? intervalNanos * (maxExecutions - 1) : 0;
+  }
+
+  /**
+   * Returns a bursty RateLimiter that permits {@code maxExecutions} per {@code period}, allowing up to
+   * {@code maxExecutions} to be performed at once after being idle.
+   * 
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxExecutions} < 1 or the {@code period} is too small
+   */
+  public static RateLimiter bursty(long maxExecutions, long period, TimeUnit timeUnit) {
+    return new RateLimiter(maxExecutions, period, timeUnit, true);
+  }
+
+  /**
+   * Returns a smooth RateLimiter that permits {@code maxExecutions} per {@code period}, spaced evenly over the period.
+   * For example: 10 executions per second permits an execution every 100 milliseconds.
+   * 
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxExecutions} < 1 or the {@code period} is too small
+   */
+  public static RateLimiter smooth(long maxExecutions, long period, TimeUnit timeUnit) {
+    return new RateLimiter(maxExecutions, period, timeUnit, false);
+  }
+
+  /**
+   * Returns the clock that permits are measured and waited for with. Defaults to {@link Clock#SYSTEM}.
+   * 
+   * @see #withClock(Clock)
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Returns the max number of executions permitted per {@link #getPeriod() period}.
+   */
+  public long getMaxExecutions() {
+    return maxExecutions;
+  }
+
+  /**
+   * Returns the max time to wait for a permit. Defaults to {@link Duration#NONE}.
+   * 
+   * @see #withMaxWaitTime(long, TimeUnit)
+   */
+  public Duration getMaxWaitTime() {
+    return maxWaitTime;
+  }
+
+  /**
+   * Returns the period over which the {@link #getMaxExecutions() max executions} are permitted.
+   */
+  public Duration getPeriod() {
+    return period;
+  }
+
+  /**
+   * Returns whether the rate limiter is bursty.
+   */
+  public boolean isBursty() {
+    return bursty;
+  }
+
+  /**
+   * Attempts to acquire a permit without waiting, returning whether a permit was acquired.
+   */
+  public boolean tryAcquirePermit() {
+    return reservePermit(0) == 0;
+  }
+
+  /**
+   * Sets the {@code clock} to measure and wait for permits with, such as a
+   * {@link net.jodah.failsafe.util.concurrent.VirtualTimeScheduler} for simulating the rate limiter without waiting. The
+   * clock should be set before any permits are acquired.
+   * 
+   * @throws NullPointerException if {@code clock} is null
+   */
+  public RateLimiter withClock(Clock clock) {
+    this.clock = Assert.notNull(clock, "clock");
+    return this;
+  }
+
+  /**
+   * Sets the max time that executions should wait for a permit before being rejected.
+   * 
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code maxWaitTime} <= 0
+   */
+  public RateLimiter withMaxWaitTime(long maxWaitTime, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(maxWaitTime > 0, "maxWaitTime must be greater than 0");
+    this.maxWaitTime = new Duration(maxWaitTime, timeUnit);
+    return this;
+  }
+
+  /**
+   * Acquires a permit, sleeping up to the max wait time if necessary, and returns whether a permit was acquired.
+   * 
+   * @throws InterruptedException if interrupted while waiting
+   */
+  boolean acquirePermit() throws InterruptedException {
+    long waitNanos = reservePermit(maxWaitTime.toNanos());
+    if (waitNanos > 0)
+      clock.sleep(waitNanos);
+    return waitNanos != -1;
+  }
+
+  /**
+   * Reserves a permit, returning the time to wait in nanoseconds before the permit can be used, else {@code -1} if a
+   * permit cannot be reserved within the {@code maxWaitNanos}.
+   */
+  long reservePermit(long maxWaitNanos) {
+    while (true) {
+      long now = clock.nanoTime();
+      long reserved = nextPermitNanos.get();
+      long next = reserved == UNRESERVED ? now : reserved;
+      long waitNanos = Math.max(0, next - burstNanos - now);
+      if (waitNanos > maxWaitNanos)
+        return -1;
+      if (nextPermitNanos.compareAndSet(reserved, (next - now > 0 ? next : now) + intervalNanos))
+        return waitNanos;
+    }
+  }
+}
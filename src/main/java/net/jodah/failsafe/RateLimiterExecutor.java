@@ -0,0 +1,36 @@
+package net.jodah.failsafe;
+
+/**
+ * Applies a {@link RateLimiter} to execution attempts, acquiring a permit for each attempt. Synchronous attempts sleep
+ * until their permit can be used, while asynchronous attempts are delayed via the scheduler.
+ *
+ * @author Jonathan Halterman
+ */
+final class RateLimiterExecutor extends PolicyExecutor {
+  private final RateLimiter rateLimiter;
+
+  RateLimiterExecutor(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  RuntimeException acquirePermit(AbstractExecution execution) throws InterruptedException {
+    return rateLimiter.acquirePermit() ? null : new RateLimitExceededException();
+  }
+
+  @Override
+  boolean acquiresAsynchronously() {
+    return true;
+  }
+
+  @Override
+  void acquirePermit(AsyncExecution execution, int stage) {
+    long waitNanos = rateLimiter.reservePermit(rateLimiter.getMaxWaitTime().toNanos());
+    if (waitNanos == -1)
+      execution.rejectAttempt(stage, new RateLimitExceededException());
+    else if (waitNanos == 0)
+      execution.admit(stage + 1);
+    else
+      execution.admitAfter(stage + 1, waitNanos);
+  }
+}
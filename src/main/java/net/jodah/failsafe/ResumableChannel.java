@@ -0,0 +1,249 @@
+package net.jodah.failsafe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.jodah.failsafe.function.CheckedFunction;
+import net.jodah.failsafe.util.Clock;
+
+/**
+ * A ReadableByteChannel that tracks the position of the bytes it has delivered, and when reading fails, reopens its
+ * source at that position according to the configured {@link RetryPolicy}. Bytes are read directly into the
+ * caller's buffer. Created via {@link SyncFailsafe#channel(CheckedFunction)}.
+ * <p>
+ * Retries are tracked across consecutive failures, so the retry policy's max retries and max duration apply to each
+ * series of failures that occurs without any bytes being read. Each time the source is opened is an attempt that is
+ * admitted by the configured policies, such as a {@link CircuitBreaker} or {@link Bulkhead}, and that is completed
+ * by the first read from the source, so a source is not opened while a policy rejects the attempt.
+ * <p>
+ * This class is thread safe, though reads are serialized. Closing the channel does not wait for a read that is in
+ * progress, and a read that is waiting to reopen the source is woken and fails with an
+ * {@link AsynchronousCloseException}.
+ *
+ * @author Jonathan Halterman
+ */
+public class ResumableChannel implements ReadableByteChannel {
+  private final FailsafeConfig<Object, ?> config;
+  private final CheckedFunction<Long, ? extends ReadableByteChannel> opener;
+  /** Serializes reads */
+  private final ReentrantLock readLock = new ReentrantLock();
+  /** Guards the channel and closed state, and is signalled when closed */
+  private final ReentrantLock stateLock = new ReentrantLock();
+  private final Condition closedCondition = stateLock.newCondition();
+
+  // Written while holding "stateLock"
+  private volatile ReadableByteChannel channel;
+  private volatile boolean closed;
+
+  // Guarded by "readLock"
+  private Execution execution;
+  private volatile long position;
+
+  ResumableChannel(FailsafeConfig<Object, ?> config, CheckedFunction<Long, ? extends ReadableByteChannel> opener) {
+    this.config = config;
+    this.opener = opener;
+  }
+
+  /**
+   * Returns an InputStream that reads from this channel without copying bytes through an intermediate buffer.
+   */
+  public InputStream asInputStream() {
+    return Channels.newInputStream(this);
+  }
+
+  /**
+   * Returns the position of the next byte to be read, which is the number of bytes that have been delivered.
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    ReadableByteChannel current;
+    stateLock.lock();
+    try {
+      closed = true;
+      current = channel;
+      channel = null;
+      closedCondition.signalAll();
+    } finally {
+      stateLock.unlock();
+    }
+
+    if (current != null)
+      current.close();
+  }
+
+  /**
+   * Reads bytes into the {@code buffer}, reopening the source at the current position if reading fails and the failure
+   * can be retried.
+   *
+   * @throws ClosedChannelException if this channel is closed
+   * @throws AsynchronousCloseException if this channel is closed while reading or waiting to reopen the source
+   * @throws InterruptedIOException if interrupted while waiting to reopen the source
+   * @throws CircuitBreakerOpenException if the source must be reopened while a configured circuit breaker is open
+   * @throws RuntimeException if the source must be reopened while another configured policy rejects the attempt, such
+   *           as a {@link BulkheadFullException}
+   * @throws IOException if reading fails and cannot be retried
+   * @throws FailsafeException if opening the source fails with a checked exception that cannot be retried
+   */
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    readLock.lock();
+    try {
+      if (closed)
+        throw new ClosedChannelException();
+
+      while (true) {
+        ReadableByteChannel current = channel;
+        if (current == null) {
+          if (execution == null)
+            execution = new Execution(config);
+          admitAttempt();
+        }
+
+        try {
+          if (current == null)
+            current = open();
+          int read = current.read(buffer);
+          if (read > 0)
+            position += read;
+          if (read != 0 && execution != null) {
+            execution.complete();
+            execution = null;
+          }
+          return read;
+        } catch (Exception e) {
+          closeQuietly();
+          if (closed)
+            throw abandon(e);
+
+          // Failures of a source that was already read from are recorded as an attempt of a new execution
+          if (execution == null) {
+            execution = new Execution(config);
+            admitAttempt();
+          }
+          if (Thread.currentThread().isInterrupted() || !execution.canRetryOn(e)) {
+            execution = null;
+            if (e instanceof IOException)
+              throw (IOException) e;
+            throw e instanceof RuntimeException ? (RuntimeException) e : new FailsafeException(e);
+          }
+
+          try {
+            awaitRetry(execution.getWaitTime().toNanos());
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+          }
+          if (closed)
+            throw abandon(null);
+
+          config.handleRetry(null, e, execution);
+        }
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Completes any attempt in progress with the {@code failure} after this channel was closed while reading, and returns
+   * the exception to fail the read with.
+   */
+  private AsynchronousCloseException abandon(Exception failure) {
+    if (execution != null) {
+      if (failure != null)
+        execution.complete(null, failure, false);
+      execution = null;
+    }
+    return new AsynchronousCloseException();
+  }
+
+  /**
+   * Admits an attempt to reopen the source via the configured policies, throwing the rejection if the attempt is
+   * rejected.
+   */
+  private void admitAttempt() throws InterruptedIOException {
+    RuntimeException rejection;
+    try {
+      rejection = execution.admit();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+    if (rejection != null)
+      throw rejection;
+    execution.before();
+  }
+
+  /**
+   * Opens the source at the current position, closing it if this channel was closed while it was being opened.
+   */
+  private ReadableByteChannel open() throws Exception {
+    ReadableByteChannel opened = opener.apply(position);
+    stateLock.lock();
+    try {
+      if (!closed) {
+        channel = opened;
+        return opened;
+      }
+    } finally {
+      stateLock.unlock();
+    }
+
+    opened.close();
+    throw new AsynchronousCloseException();
+  }
+
+  /**
+   * Waits for the {@code nanos} to elapse before reopening the source, returning early if this channel is closed. Time
+   * is measured with the configured clock when it is not the system clock, such as a virtual clock that does not block.
+   */
+  private void awaitRetry(long nanos) throws InterruptedException {
+    if (config.clock != Clock.SYSTEM) {
+      config.clock.sleep(nanos);
+      return;
+    }
+
+    stateLock.lock();
+    try {
+      while (!closed && nanos > 0)
+        nanos = closedCondition.awaitNanos(nanos);
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  private void closeQuietly() {
+    ReadableByteChannel current;
+    stateLock.lock();
+    try {
+      current = channel;
+      channel = null;
+    } finally {
+      stateLock.unlock();
+    }
+
+    if (current != null) {
+      try {
+        current.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+}
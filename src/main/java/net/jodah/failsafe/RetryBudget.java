@@ -0,0 +1,102 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * A budget that limits the number of retries performed across all executions that share it, preventing retry storms
+ * against a degraded dependency.
+ * <p>
+ * The budget is a token bucket that is credited a fraction of a retry, the {@code retryRatio}, for each initial
+ * execution attempt, and debited one retry for each retry that is performed. The bucket holds at most
+ * {@code maxRetries} retries, which bounds how far retries can burst beyond the ratio, and starts full. For example: a
+ * {@code retryRatio} of {@code .1} allows roughly one retry for every 10 executions once the initial balance is spent.
+ * <p>
+ * This class is thread safe and lock-free, and is intended to be shared via
+ * {@link RetryPolicy.Builder#withBudget(RetryBudget)}.
+ *
+ * @author Jonathan Halterman
+ */
+public class RetryBudget {
+  /** Fixed point units in a single retry */
+  private static final long RETRY_UNITS = 1000;
+
+  private final double retryRatio;
+  private final int maxRetries;
+  private final long depositUnits;
+  private final long maxUnits;
+  private final AtomicLong balance;
+
+  /**
+   * Creates a RetryBudget that allows {@code retryRatio} retries per initial execution, holding at most 10 retries.
+   *
+   * @throws IllegalArgumentException if {@code retryRatio} < 0
+   */
+  public RetryBudget(double retryRatio) {
+    this(retryRatio, 10);
+  }
+
+  /**
+   * Creates a RetryBudget that allows {@code retryRatio} retries per initial execution, holding at most
+   * {@code maxRetries} retries.
+   *
+   * @throws IllegalArgumentException if {@code retryRatio} < 0 or {@code maxRetries} < 0
+   */
+  public RetryBudget(double retryRatio, int maxRetries) {
+    Assert.isTrue(retryRatio >= 0, "retryRatio must be greater than or equal to 0");
+    Assert.isTrue(maxRetries >= 0, "maxRetries must be greater than or equal to 0");
+    this.retryRatio = retryRatio;
+    this.maxRetries = maxRetries;
+    depositUnits = (long) (retryRatio * RETRY_UNITS);
+    maxUnits = maxRetries * RETRY_UNITS;
+    balance = new AtomicLong(maxUnits);
+  }
+
+  /**
+   * Returns the number of retries that are currently available.
+   */
+  public int getAvailableRetries() {
+    return (int) (balance.get() / RETRY_UNITS);
+  }
+
+  /**
+   * Returns the max number of retries the budget can hold.
+   */
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  /**
+   * Returns the number of retries that are credited for each initial execution.
+   */
+  public double getRetryRatio() {
+    return retryRatio;
+  }
+
+  /**
+   * Credits the budget for an initial execution attempt.
+   */
+  void recordExecution() {
+    while (true) {
+      long current = balance.get();
+      if (current >= maxUnits)
+        return;
+      if (balance.compareAndSet(current, Math.min(maxUnits, current + depositUnits)))
+        return;
+    }
+  }
+
+  /**
+   * Debits the budget for a retry, returning whether the retry is permitted.
+   */
+  boolean tryAcquireRetry() {
+    while (true) {
+      long current = balance.get();
+      if (current < RETRY_UNITS)
+        return false;
+      if (balance.compareAndSet(current, current - RETRY_UNITS))
+        return true;
+    }
+  }
+}
@@ -0,0 +1,350 @@
+package net.jodah.failsafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import net.jodah.failsafe.function.CheckedFunction;
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * A durable, append-only log of the retries that are scheduled for asynchronous executions, so that pending retries can
+ * be {@link #replay(AsyncFailsafe, CheckedFunction) replayed} after a restart. Executions are logged when configured
+ * via {@link AsyncFailsafeConfig#withRetryLog(RetryLog, String)} with a payload that identifies the work being
+ * performed, such as a message id.
+ * <p>
+ * Each scheduled retry appends a record of the execution id, payload, attempt count, retry delay and next retry time to
+ * a memory-mapped file, and the completion of an execution that was retried appends a completion record, so the cost
+ * of logging is a sequential write to memory. Records are not forced to disk individually. They survive a crash or
+ * restart of the process, while surviving a crash of the operating system requires calling {@link #flush()}.
+ * Completed entries are compacted away when the log is opened and when the mapped file fills up. If the log cannot be
+ * compacted when it is full, records are not written and are counted as {@link #getFailedWrites() failed writes}, while
+ * the retries are still performed, and the pending retries are written when the log is next compacted.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public class RetryLog implements Closeable {
+  /** The default initial size of the log file */
+  public static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+  private static final byte RETRY = 1;
+  private static final byte COMPLETE = 2;
+  private static final int RETRY_HEADER_SIZE = 1 + 8 + 4 + 8 + 8 + 4;
+  private static final int COMPLETE_SIZE = 1 + 8;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File file;
+  private final File compactionFile;
+
+  // Guarded by "this"
+  private final Map<Long, PendingRetry> pending = new LinkedHashMap<Long, PendingRetry>();
+  private RandomAccessFile raf;
+  private MappedByteBuffer buffer;
+  private long lastId;
+  private long failedWrites;
+  private boolean closed;
+
+  /**
+   * A retry that was scheduled and whose execution has not completed.
+   */
+  public static final class PendingRetry {
+    final long executionId;
+    final String payload;
+    final int attempts;
+    final long delayNanos;
+    final long nextRetryTime;
+
+    PendingRetry(long executionId, String payload, int attempts, long delayNanos, long nextRetryTime) {
+      this.executionId = executionId;
+      this.payload = payload;
+      this.attempts = attempts;
+      this.delayNanos = delayNanos;
+      this.nextRetryTime = nextRetryTime;
+    }
+
+    /**
+     * Returns the number of attempts that the execution had performed when the retry was scheduled.
+     */
+    public int getAttempts() {
+      return attempts;
+    }
+
+    /**
+     * Returns the id that identifies the execution within the log.
+     */
+    public long getExecutionId() {
+      return executionId;
+    }
+
+    /**
+     * Returns the time, in milliseconds since the epoch, that the retry was scheduled for.
+     */
+    public long getNextRetryTime() {
+      return nextRetryTime;
+    }
+
+    /**
+     * Returns the payload that identifies the work being performed by the execution.
+     */
+    public String getPayload() {
+      return payload;
+    }
+  }
+
+  private RetryLog(File file, int capacity) throws IOException {
+    this.file = file;
+    this.compactionFile = new File(file.getPath() + ".compact");
+
+    // Recover from a crash during compaction
+    if (!file.exists() && compactionFile.exists() && !compactionFile.renameTo(file))
+      throw new IOException("Failed to recover " + compactionFile);
+
+    raf = new RandomAccessFile(file, "rw");
+    buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, raf.length()));
+    read();
+    compact(capacity);
+  }
+
+  /**
+   * Opens the log at the {@code file}, creating it if it does not exist.
+   *
+   * @throws NullPointerException if {@code file} is null
+   * @throws IOException if the log cannot be opened
+   */
+  public static RetryLog open(File file) throws IOException {
+    return open(file, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Opens the log at the {@code file}, creating it with the initial {@code capacity} in bytes if it does not exist.
+   *
+   * @throws NullPointerException if {@code file} is null
+   * @throws IllegalArgumentException if {@code capacity} < 1024
+   * @throws IOException if the log cannot be opened
+   */
+  public static RetryLog open(File file, int capacity) throws IOException {
+    Assert.notNull(file, "file");
+    Assert.isTrue(capacity >= 1024, "capacity must be greater than or equal to 1024");
+    return new RetryLog(file, capacity);
+  }
+
+  /**
+   * Closes the log, after which executions are no longer logged.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      buffer.force();
+      raf.close();
+    }
+  }
+
+  /**
+   * Forces logged records to be written to the storage device.
+   */
+  public synchronized void flush() {
+    if (!closed)
+      buffer.force();
+  }
+
+  /**
+   * Returns the number of records that were not written because the log was full and could not be compacted.
+   */
+  public synchronized long getFailedWrites() {
+    return failedWrites;
+  }
+
+  /**
+   * Returns the retries that are pending, in the order their executions were first logged.
+   */
+  public synchronized List<PendingRetry> getPendingRetries() {
+    return Collections.unmodifiableList(new ArrayList<PendingRetry>(pending.values()));
+  }
+
+  /**
+   * Replays the pending retries via the {@code failsafe}, using the {@code recoverer} to obtain a callable for each
+   * retry's payload. Each retry is performed at its scheduled time, or immediately if the time has passed, and the
+   * replayed execution continues from the logged attempt count and retry delay, so that backoffs continue from where
+   * they left off, keeping its execution id so that it remains pending until it completes. Returns the futures of the
+   * replayed executions.
+   *
+   * @throws NullPointerException if {@code failsafe} or {@code recoverer} are null
+   * @throws FailsafeException if the {@code recoverer} fails, in which case the retries that were already replayed
+   *           continue to be performed
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<FailsafeFuture<T>> replay(AsyncFailsafe<?> failsafe,
+      CheckedFunction<String, ? extends Callable<T>> recoverer) {
+    Assert.notNull(failsafe, "failsafe");
+    Assert.notNull(recoverer, "recoverer");
+    List<FailsafeFuture<T>> futures = new ArrayList<FailsafeFuture<T>>();
+    for (PendingRetry retry : getPendingRetries()) {
+      Callable<T> callable;
+      try {
+        callable = recoverer.apply(retry.payload);
+      } catch (Exception e) {
+        throw e instanceof FailsafeException ? (FailsafeException) e : new FailsafeException(e);
+      }
+
+      AsyncFailsafe<Object> replayed = new AsyncFailsafe<Object>((FailsafeConfig<Object, ?>) failsafe,
+          failsafe.scheduler);
+      replayed.retryLog = this;
+      replayed.retryLogPayload = retry.payload;
+      futures.add(replayed.replay(Assert.notNull(callable, "callable"), retry));
+    }
+
+    return futures;
+  }
+
+  /**
+   * Records that a retry of the execution with the {@code executionId} has been scheduled with the {@code delayNanos}
+   * for the {@code nextRetryTime}, returning the execution's id within the log, which is assigned if the
+   * {@code executionId} is 0.
+   */
+  synchronized long retryScheduled(long executionId, String payload, int attempts, long delayNanos,
+      long nextRetryTime) {
+    if (closed)
+      return executionId;
+    if (executionId == 0)
+      executionId = ++lastId;
+
+    pending.put(executionId, new PendingRetry(executionId, payload, attempts, delayNanos, nextRetryTime));
+    byte[] bytes = payload.getBytes(UTF_8);
+    if (ensureCapacity(RETRY_HEADER_SIZE + bytes.length)) {
+      int position = buffer.position();
+      // Mutate via Buffer so that builds on newer JDKs link against the Java 8 methods
+      ((Buffer) buffer).position(position + 1);
+      buffer.putLong(executionId)
+          .putInt(attempts)
+          .putLong(delayNanos)
+          .putLong(nextRetryTime)
+          .putInt(bytes.length)
+          .put(bytes);
+
+      // Write the record type last so that partially written records are ignored
+      buffer.put(position, RETRY);
+    }
+    return executionId;
+  }
+
+  /**
+   * Records that the execution with the {@code executionId} has completed.
+   */
+  synchronized void executionCompleted(long executionId) {
+    if (closed || pending.remove(executionId) == null)
+      return;
+
+    if (ensureCapacity(COMPLETE_SIZE)) {
+      int position = buffer.position();
+      ((Buffer) buffer).position(position + 1);
+      buffer.putLong(executionId);
+      buffer.put(position, COMPLETE);
+    }
+  }
+
+  /**
+   * Ensures that the log has room for a record of the {@code recordSize}, compacting the log if necessary. Returns
+   * whether the record can be written, else counts a failed write if the log could not be compacted, in which case the
+   * pending retries are written by the next compaction that succeeds.
+   */
+  private boolean ensureCapacity(int recordSize) {
+    if (buffer.remaining() >= recordSize)
+      return true;
+
+    try {
+      compact(Math.max(buffer.capacity(), 2 * (liveSize() + recordSize)));
+      return true;
+    } catch (IOException e) {
+      failedWrites++;
+      return false;
+    }
+  }
+
+  private int liveSize() {
+    int size = 0;
+    for (PendingRetry retry : pending.values())
+      size += RETRY_HEADER_SIZE + retry.payload.getBytes(UTF_8).length;
+    return size;
+  }
+
+  /**
+   * Reads the records in the log, leaving the buffer positioned after the last complete record.
+   */
+  private void read() {
+    int position = 0;
+    while (position < buffer.capacity()) {
+      byte type = buffer.get(position);
+      if (type == RETRY && position + RETRY_HEADER_SIZE <= buffer.capacity()) {
+        long id = buffer.getLong(position + 1);
+        int attempts = buffer.getInt(position + 9);
+        long delayNanos = buffer.getLong(position + 13);
+        long nextRetryTime = buffer.getLong(position + 21);
+        int length = buffer.getInt(position + 29);
+        if (length < 0 || position + RETRY_HEADER_SIZE + length > buffer.capacity())
+          break;
+        byte[] bytes = new byte[length];
+        ((Buffer) buffer).position(position + RETRY_HEADER_SIZE);
+        buffer.get(bytes);
+        pending.put(id, new PendingRetry(id, new String(bytes, UTF_8), attempts, delayNanos, nextRetryTime));
+        lastId = Math.max(lastId, id);
+        position += RETRY_HEADER_SIZE + length;
+      } else if (type == COMPLETE && position + COMPLETE_SIZE <= buffer.capacity()) {
+        pending.remove(buffer.getLong(position + 1));
+        position += COMPLETE_SIZE;
+      } else
+        break;
+    }
+
+    ((Buffer) buffer).position(position);
+  }
+
+  /**
+   * Rewrites the pending retries to a new file of at least the {@code capacity}, which replaces the log.
+   */
+  private void compact(int capacity) throws IOException {
+    compactionFile.delete();
+    RandomAccessFile compacted = new RandomAccessFile(compactionFile, "rw");
+    MappedByteBuffer compactedBuffer;
+    try {
+      compactedBuffer = compacted.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+          Math.max(capacity, liveSize() + 1));
+      for (PendingRetry retry : pending.values()) {
+        byte[] bytes = retry.payload.getBytes(UTF_8);
+        compactedBuffer.put(RETRY)
+            .putLong(retry.executionId)
+            .putInt(retry.attempts)
+            .putLong(retry.delayNanos)
+            .putLong(retry.nextRetryTime)
+            .putInt(bytes.length)
+            .put(bytes);
+      }
+      compactedBuffer.force();
+    } catch (IOException e) {
+      compacted.close();
+      throw e;
+    }
+
+    raf.close();
+    if (!file.delete() || !compactionFile.renameTo(file)) {
+      compacted.close();
+      throw new IOException("Failed to replace " + file + " with " + compactionFile);
+    }
+
+    raf = compacted;
+    buffer = compactedBuffer;
+  }
+}
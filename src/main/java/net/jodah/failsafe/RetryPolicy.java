@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import net.jodah.failsafe.function.BiFunction;
 import net.jodah.failsafe.function.BiPredicate;
 import net.jodah.failsafe.function.Predicate;
 import net.jodah.failsafe.internal.util.Assert;
@@ -24,15 +25,19 @@ import net.jodah.failsafe.util.Duration;
  * @author Jonathan Halterman
  */
 public class RetryPolicy {
-	static final RetryPolicy NEVER = new RetryPolicy.Builder().build();
+	/** The default retry policy, which performs no retries */
+	static final RetryPolicy NEVER = new RetryPolicy.Builder().withMaxRetries(0).build();
 
 	private Duration delay;
 	private double delayFactor;
+	private DelayFunction<Object, Throwable> delayFunction;
+	private BiFunction<Object, Throwable, Duration> delayOnFunction;
 	private Duration jitter;
 	private double jitterFactor;
 	private Duration maxDelay;
 	private Duration maxDuration;
 	private int maxRetries;
+	private RetryBudget budget;
 	/**
 	 * Indicates whether failures are checked by a configured retry condition
 	 */
@@ -43,9 +48,12 @@ public class RetryPolicy {
 	private RetryPolicy(Builder builder) {
 		this.delay = builder.delay;
 		this.delayFactor = builder.delayFactor;
+		this.delayFunction = builder.delayFunction;
+		this.delayOnFunction = builder.delayOnFunction;
 		this.maxDelay = builder.maxDelay;
 		this.maxDuration = builder.maxDuration;
 		this.maxRetries = builder.maxRetries;
+		this.budget = builder.budget;
 		this.jitter = builder.jitter;
 		this.jitterFactor = builder.jitterFactor;
 		this.failuresChecked = builder.failuresChecked;
@@ -61,6 +69,14 @@ public class RetryPolicy {
 		return delayFactor;
 	}
 
+	public DelayFunction<Object, Throwable> getDelayFunction() {
+		return delayFunction;
+	}
+
+	public BiFunction<Object, Throwable, Duration> getDelayOnFunction() {
+		return delayOnFunction;
+	}
+
 	public Duration getJitter() {
 		return jitter;
 	}
@@ -81,6 +97,10 @@ public class RetryPolicy {
 		return maxRetries;
 	}
 
+	public RetryBudget getBudget() {
+		return budget;
+	}
+
 	public boolean isFailuresChecked() {
 		return failuresChecked;
 	}
@@ -148,11 +168,14 @@ public class RetryPolicy {
 	public static class Builder {
 		private Duration delay;
 		private double delayFactor;
+		private DelayFunction<Object, Throwable> delayFunction;
+		private BiFunction<Object, Throwable, Duration> delayOnFunction;
 		private Duration jitter;
 		private double jitterFactor;
 		private Duration maxDelay;
 		private Duration maxDuration;
 		private int maxRetries;
+		private RetryBudget budget;
 		/**
 		 * Indicates whether failures are checked by a configured retry
 		 * condition
@@ -174,9 +197,12 @@ public class RetryPolicy {
 		public Builder(RetryPolicy other) {
 			this.delay = other.delay;
 			this.delayFactor = other.delayFactor;
+			this.delayFunction = other.delayFunction;
+			this.delayOnFunction = other.delayOnFunction;
 			this.maxDelay = other.maxDelay;
 			this.maxDuration = other.maxDuration;
 			this.maxRetries = other.maxRetries;
+			this.budget = other.budget;
 			this.jitter = other.jitter;
 			this.jitterFactor = other.jitterFactor;
 			this.failuresChecked = other.failuresChecked;
@@ -271,6 +297,16 @@ public class RetryPolicy {
 			return this;
 		}
 
+		/**
+		 * Returns the retry budget, else {@code null} if none has been
+		 * configured.
+		 * 
+		 * @see #withBudget(RetryBudget)
+		 */
+		public RetryBudget getBudget() {
+			return budget;
+		}
+
 		/**
 		 * Returns the delay between retries. Defaults to {@link Duration#NONE}.
 		 * 
@@ -291,6 +327,27 @@ public class RetryPolicy {
 			return delayFactor;
 		}
 
+		/**
+		 * Returns the function that computes delays between retries, else
+		 * {@code null} if none has been configured.
+		 * 
+		 * @see #withDelay(DelayFunction)
+		 */
+		public DelayFunction<Object, Throwable> getDelayFunction() {
+			return delayFunction;
+		}
+
+		/**
+		 * Returns the function that computes delays which override the
+		 * computed wait time, else {@code null} if none has been configured.
+		 * 
+		 * @see #withDelayOn(BiFunction)
+		 * @see #withDelayOn(BiFunction, Class)
+		 */
+		public BiFunction<Object, Throwable, Duration> getDelayOnFunction() {
+			return delayOnFunction;
+		}
+
 		/**
 		 * Returns the jitter, else {@code null} if none has been configured.
 		 * 
@@ -470,6 +527,22 @@ public class RetryPolicy {
 			return this;
 		}
 
+		/**
+		 * Sets the {@code budget} that retries are drawn from. A budget can be
+		 * shared by many executions and policies to bound the total number of
+		 * retries they perform, in addition to the per execution
+		 * {@link #withMaxRetries(int) maxRetries}. When the budget is
+		 * exhausted, failed executions are completed as if their retries were
+		 * exceeded.
+		 * 
+		 * @throws NullPointerException
+		 *             if {@code budget} is null
+		 */
+		public Builder withBudget(RetryBudget budget) {
+			this.budget = Assert.notNull(budget, "budget");
+			return this;
+		}
+
 		/**
 		 * Sets the {@code delay} between retries.
 		 * 
@@ -492,6 +565,117 @@ public class RetryPolicy {
 			return this;
 		}
 
+		/**
+		 * Sets the {@code delayFunction} that computes the delay before each
+		 * retry from the last result, failure and {@link ExecutionContext}.
+		 * The function is called with any failure, so its failure type should
+		 * be {@code Throwable} unless every failure is known to be of its
+		 * type, else {@link #withDelay(DelayFunction, Class)} should be used.
+		 * When the function returns {@code null}, the delay is computed from
+		 * the {@link #withDelay(long, TimeUnit) fixed} or
+		 * {@link #withBackoff(long, long, TimeUnit) backoff} delay
+		 * configuration instead. When the function throws an exception, the
+		 * execution is completed with the exception as its failure. Any
+		 * configured jitter and {@link #withMaxDuration(long, TimeUnit)
+		 * maxDuration} are applied to the computed delay.
+		 * 
+		 * @throws NullPointerException
+		 *             if {@code delayFunction} is null
+		 * @see DelayFunctions
+		 */
+		@SuppressWarnings("unchecked")
+		public <R, F extends Throwable> Builder withDelay(DelayFunction<R, F> delayFunction) {
+			Assert.notNull(delayFunction, "delayFunction");
+			this.delayFunction = (DelayFunction<Object, Throwable>) delayFunction;
+			return this;
+		}
+
+		/**
+		 * Sets the {@code delayFunction} that computes the delay before each
+		 * retry when the last failure is an instance of the
+		 * {@code failureType}. For other outcomes, and when the function
+		 * returns {@code null}, the delay is computed from the
+		 * {@link #withDelay(long, TimeUnit) fixed} or
+		 * {@link #withBackoff(long, long, TimeUnit) backoff} delay
+		 * configuration instead. When the function throws an exception, the
+		 * execution is completed with the exception as its failure. Any
+		 * configured jitter and {@link #withMaxDuration(long, TimeUnit)
+		 * maxDuration} are applied to the computed delay.
+		 * 
+		 * @throws NullPointerException
+		 *             if {@code delayFunction} or {@code failureType} are null
+		 * @see DelayFunctions
+		 */
+		@SuppressWarnings("unchecked")
+		public <R, F extends Throwable> Builder withDelay(final DelayFunction<R, F> delayFunction,
+				final Class<F> failureType) {
+			Assert.notNull(delayFunction, "delayFunction");
+			Assert.notNull(failureType, "failureType");
+			this.delayFunction = new DelayFunction<Object, Throwable>() {
+				@Override
+				public Duration computeDelay(Object result, Throwable failure, ExecutionContext context) {
+					return failureType.isInstance(failure)
+							? ((DelayFunction<Object, F>) delayFunction).computeDelay(result, (F) failure, context)
+							: null;
+				}
+			};
+			return this;
+		}
+
+		/**
+		 * Sets the {@code delayFunction} that computes a delay from the
+		 * execution result and failure, such as a delay directed by a server
+		 * via a {@code Retry-After} header or a throttling exception. When the
+		 * function returns a non-null delay, it overrides the computed wait
+		 * time for the next retry, including any jitter. The returned delay is
+		 * still limited by the {@link #withBackoff(long, long, TimeUnit)
+		 * maxDelay} and {@link #withMaxDuration(long, TimeUnit) maxDuration}.
+		 * The function is called with any failure, so its failure type should
+		 * be {@code Throwable}, else
+		 * {@link #withDelayOn(BiFunction, Class)} should be used. When the
+		 * function throws an exception, the execution is completed with the
+		 * exception as its failure.
+		 * 
+		 * @throws NullPointerException
+		 *             if {@code delayFunction} is null
+		 */
+		@SuppressWarnings("unchecked")
+		public <R> Builder withDelayOn(BiFunction<R, ? extends Throwable, Duration> delayFunction) {
+			Assert.notNull(delayFunction, "delayFunction");
+			this.delayOnFunction = (BiFunction<Object, Throwable, Duration>) delayFunction;
+			return this;
+		}
+
+		/**
+		 * Sets the {@code delayFunction} that computes a delay from the
+		 * execution result and failure when the failure is an instance of the
+		 * {@code failureType}, such as a throttling exception that carries a
+		 * back-off hint. When the function returns a non-null delay, it
+		 * overrides the computed wait time for the next retry, including any
+		 * jitter. The returned delay is still limited by the
+		 * {@link #withBackoff(long, long, TimeUnit) maxDelay} and
+		 * {@link #withMaxDuration(long, TimeUnit) maxDuration}. When the
+		 * function throws an exception, the execution is completed with the
+		 * exception as its failure.
+		 * 
+		 * @throws NullPointerException
+		 *             if {@code delayFunction} or {@code failureType} are null
+		 */
+		@SuppressWarnings("unchecked")
+		public <R, F extends Throwable> Builder withDelayOn(final BiFunction<R, F, Duration> delayFunction,
+				final Class<F> failureType) {
+			Assert.notNull(delayFunction, "delayFunction");
+			Assert.notNull(failureType, "failureType");
+			this.delayOnFunction = new BiFunction<Object, Throwable, Duration>() {
+				@Override
+				public Duration apply(Object result, Throwable failure) {
+					return failureType.isInstance(failure)
+							? ((BiFunction<Object, F, Duration>) delayFunction).apply(result, (F) failure) : null;
+				}
+			};
+			return this;
+		}
+
 		/**
 		 * Sets the {@code jitterFactor} to randomly vary retry delays by. For
 		 * each retry delay, a random portion of the delay multiplied by the
@@ -0,0 +1,84 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * Holds the current version of a {@link RetryPolicy}, allowing the policy to be replaced at runtime across every
+ * configuration that was configured {@link FailsafeConfig#with(RetryPolicyHolder) with} the holder, such as to change
+ * delays and max retries during an incident.
+ * <p>
+ * A new policy is published with a single volatile write and is picked up by the next attempt of each execution. Every
+ * decision made for an attempt uses the policy that was current when the attempt started, so a change is never partially
+ * applied to an attempt. Each published policy is assigned a new version, which can be used to
+ * {@link #compareAndSet(long, RetryPolicy) update} the policy without losing a concurrent update.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ */
+public final class RetryPolicyHolder {
+  private final AtomicReference<Version> current;
+
+  private static final class Version {
+    final RetryPolicy policy;
+    final long version;
+
+    Version(RetryPolicy policy, long version) {
+      this.policy = policy;
+      this.version = version;
+    }
+  }
+
+  /**
+   * Creates a holder for the {@code retryPolicy} at version 1.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public RetryPolicyHolder(RetryPolicy retryPolicy) {
+    current = new AtomicReference<Version>(new Version(Assert.notNull(retryPolicy, "retryPolicy"), 1));
+  }
+
+  /**
+   * Replaces the policy with the {@code retryPolicy} if the current version is the {@code expectedVersion}, returning
+   * whether the policy was replaced.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public boolean compareAndSet(long expectedVersion, RetryPolicy retryPolicy) {
+    Assert.notNull(retryPolicy, "retryPolicy");
+    Version version = current.get();
+    return version.version == expectedVersion
+        && current.compareAndSet(version, new Version(retryPolicy, expectedVersion + 1));
+  }
+
+  /**
+   * Returns the current policy.
+   */
+  public RetryPolicy get() {
+    return current.get().policy;
+  }
+
+  /**
+   * Returns the version of the current policy.
+   */
+  public long getVersion() {
+    return current.get().version;
+  }
+
+  /**
+   * Replaces the policy with the {@code retryPolicy}, returning the new version.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public long set(RetryPolicy retryPolicy) {
+    Assert.notNull(retryPolicy, "retryPolicy");
+    while (true) {
+      Version version = current.get();
+      Version next = new Version(retryPolicy, version.version + 1);
+      if (current.compareAndSet(version, next))
+        return next.version;
+    }
+  }
+}
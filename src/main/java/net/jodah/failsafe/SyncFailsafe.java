@@ -1,9 +1,19 @@
 package net.jodah.failsafe;
 
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
 
 import net.jodah.failsafe.Functions.ContextualCallableWrapper;
+import net.jodah.failsafe.function.BatchCallable;
+import net.jodah.failsafe.function.CheckedFunction;
 import net.jodah.failsafe.function.CheckedRunnable;
 import net.jodah.failsafe.function.ContextualCallable;
 import net.jodah.failsafe.function.ContextualRunnable;
@@ -20,14 +30,33 @@ import net.jodah.failsafe.util.concurrent.Schedulers;
  * @param <R> listener result type
  */
 public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
+  private Coalescer coalescer;
+  private Object coalescingKey;
+
+  SyncFailsafe(Bulkhead bulkhead) {
+    with(bulkhead);
+  }
+
   SyncFailsafe(CircuitBreaker circuitBreaker) {
-    this.circuitBreaker = circuitBreaker;
+    with(circuitBreaker);
+  }
+
+  SyncFailsafe(RateLimiter rateLimiter) {
+    with(rateLimiter);
   }
 
   SyncFailsafe(RetryPolicy retryPolicy) {
     this.retryPolicy = retryPolicy;
   }
 
+  SyncFailsafe(RetryPolicyHolder retryPolicyHolder) {
+    this.retryPolicyHolder = retryPolicyHolder;
+  }
+
+  SyncFailsafe(Timeout timeout) {
+    with(timeout);
+  }
+
   /**
    * Executes the {@code callable} until a successful result is returned or the configured {@link RetryPolicy} is
    * exceeded.
@@ -38,7 +67,7 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
    * @throws CircuitBreakerOpenException if a configured circuit is open.
    */
   public <T> T get(Callable<T> callable) {
-    return call(Assert.notNull(callable, "callable"));
+    return execute(Assert.notNull(callable, "callable"));
   }
 
   /**
@@ -51,7 +80,127 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
    * @throws CircuitBreakerOpenException if a configured circuit is open.
    */
   public <T> T get(ContextualCallable<T> callable) {
-    return call(Functions.callableOf(callable));
+    return execute(Functions.callableOf(callable));
+  }
+
+  /**
+   * Executes the {@code callable} for the batch of {@code items}, retrying only the items whose results or failures are
+   * retryable according to the configured {@link RetryPolicy}, until all items have completed or the retry policy is
+   * exceeded. Returns the results by item. When some items fail, each failed item's result is provided by the
+   * configured fallback, else a {@link BatchException} is thrown containing the results and failures by item.
+   * <p>
+   * Each attempt is performed via the configured policies like an execution of {@link #get(Callable)}, so a
+   * {@link Bulkhead}, {@link RateLimiter}, {@link Timeout} or {@link FaultInjection} applies to each batch attempt, and a
+   * configured {@link Cache} caches the results of batches in which every item succeeded. Each attempt is recorded once
+   * with the configured {@link CircuitBreaker}, with the outcome of the first retryable item, else of the first item
+   * that failed, else as a success. When an attempt is rejected, such as when the circuit is open, the remaining items
+   * fail with the rejection.
+   * 
+   * @throws NullPointerException if {@code items} or {@code callable} are null
+   * @throws BatchException if any items failed and no fallback is configured
+   * @throws FailsafeException if interrupted while waiting to perform a retry
+   */
+  @SuppressWarnings("unchecked")
+  public <I, T> Map<I, T> getAll(Collection<? extends I> items, final BatchCallable<I, T> callable) {
+    Assert.notNull(items, "items");
+    Assert.notNull(callable, "callable");
+    Execution execution = new Execution((FailsafeConfig<Object, ?>) this);
+    Object cached = execution.resultBeforeExecution();
+    if (cached != PolicyExecutor.NO_RESULT)
+      return (Map<I, T>) cached;
+
+    Map<I, T> results = new LinkedHashMap<I, T>();
+    Map<I, Throwable> failures = new LinkedHashMap<I, Throwable>();
+    List<I> pending = new ArrayList<I>(items);
+
+    while (!pending.isEmpty()) {
+      RuntimeException rejection;
+      try {
+        rejection = execution.admit();
+      } catch (InterruptedException e) {
+        throw new FailsafeException(e);
+      }
+      if (rejection != null) {
+        for (I item : pending)
+          failures.put(item, rejection);
+        break;
+      }
+
+      Map<I, T> attemptResults = null;
+      final Map<I, Throwable> attemptFailures = new HashMap<I, Throwable>();
+      final List<I> attemptItems = Collections.unmodifiableList(pending);
+      Throwable batchFailure = null;
+      try {
+        execution.before();
+        attemptResults = (Map<I, T>) execution.perform(new Callable<Map<I, T>>() {
+          @Override
+          public Map<I, T> call() throws Exception {
+            return callable.call(attemptItems, attemptFailures);
+          }
+        }, 0);
+      } catch (Throwable t) {
+        batchFailure = t;
+      }
+
+      // Classify each item's outcome, recording the attempt with the outcome of a retryable item if there is one
+      List<I> retryable = new ArrayList<I>();
+      Map<I, T> retryableResults = new HashMap<I, T>();
+      Map<I, Throwable> retryableFailures = new HashMap<I, Throwable>();
+      Object recordedResult = null;
+      Throwable recordedFailure = null;
+      RetryPolicy retryPolicy = execution.retryPolicy;
+      for (I item : pending) {
+        Throwable failure = batchFailure != null ? batchFailure : attemptFailures.get(item);
+        T result = failure == null && attemptResults != null ? attemptResults.get(item) : null;
+        if (!retryPolicy.canAbortFor(result, failure) && retryPolicy.canRetryFor(result, failure)) {
+          if (retryable.isEmpty()) {
+            recordedResult = result;
+            recordedFailure = failure;
+          }
+          retryable.add(item);
+          retryableResults.put(item, result);
+          retryableFailures.put(item, failure);
+        } else if (failure == null) {
+          results.put(item, result);
+        } else {
+          failures.put(item, failure);
+          if (recordedFailure == null && retryable.isEmpty())
+            recordedFailure = failure;
+        }
+      }
+
+      if (execution.complete(recordedResult, recordedFailure, true) || retryable.isEmpty()) {
+        for (I item : retryable) {
+          if (retryableFailures.get(item) == null)
+            results.put(item, retryableResults.get(item));
+          else
+            failures.put(item, retryableFailures.get(item));
+        }
+        break;
+      }
+
+      try {
+        clock.sleep(execution.getWaitTime().toNanos());
+      } catch (InterruptedException e) {
+        throw new FailsafeException(e);
+      }
+
+      handleRetry((R) recordedResult, recordedFailure, execution);
+      pending = retryable;
+    }
+
+    if (failures.isEmpty()) {
+      execution.succeeded(results);
+      return results;
+    }
+    Object replacement = execution.resultOnFailure(failures.values().iterator().next());
+    if (replacement != PolicyExecutor.NO_RESULT)
+      return (Map<I, T>) replacement;
+    if (fallback == null)
+      throw new BatchException(results, failures);
+    for (Map.Entry<I, Throwable> entry : failures.entrySet())
+      results.put(entry.getKey(), this.<T>fallbackFor(null, entry.getValue()));
+    return results;
   }
 
   /**
@@ -63,7 +212,7 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
    * @throws CircuitBreakerOpenException if a configured circuit is open.
    */
   public void run(CheckedRunnable runnable) {
-    call(Functions.callableOf(runnable));
+    execute(Functions.callableOf(runnable));
   }
 
   /**
@@ -75,7 +224,52 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
    * @throws CircuitBreakerOpenException if a configured circuit is open.
    */
   public void run(ContextualRunnable runnable) {
-    call(Functions.callableOf(runnable));
+    execute(Functions.callableOf(runnable));
+  }
+
+  /**
+   * Returns a channel that reads from a source opened by the {@code opener} at position {@code 0}, and when reading
+   * fails, reopens the source via the {@code opener} at the position of the next byte to be delivered, according to the
+   * configured {@link RetryPolicy}.
+   * 
+   * @throws NullPointerException if {@code opener} is null
+   */
+  @SuppressWarnings("unchecked")
+  public ResumableChannel channel(CheckedFunction<Long, ? extends ReadableByteChannel> opener) {
+    return new ResumableChannel((FailsafeConfig<Object, ?>) this, Assert.notNull(opener, "opener"));
+  }
+
+  /**
+   * Coalesces executions with the {@code key} via the {@code coalescer}, so that concurrent executions with the same
+   * coalescer and an equal key share a single in-flight execution, including its retries and fallback, and all receive
+   * the same result or failure. Keys are scoped to the {@code coalescer}, which should be shared by the executions of
+   * one operation, such as with a key of {@code userId} for a coalescer that is used to load users.
+   * <p>
+   * Only the configuration of the execution that is in-flight applies, so executions that share a coalescer should
+   * share the same configuration. An execution that is interrupted while waiting for an in-flight execution fails with
+   * a {@link FailsafeException} without affecting the in-flight execution.
+   * 
+   * @throws NullPointerException if {@code coalescer} or {@code key} are null
+   * @throws IllegalStateException if coalescing is already configured
+   */
+  public SyncFailsafe<R> coalescing(Coalescer coalescer, Object key) {
+    Assert.state(this.coalescer == null, "Coalescing has already been configured");
+    this.coalescer = Assert.notNull(coalescer, "coalescer");
+    coalescingKey = Assert.notNull(key, "key");
+    return this;
+  }
+
+  /**
+   * Returns an ExecutorService that performs each submitted task as an asynchronous execution via the {@code executor},
+   * with failures handled according to this configuration. Retries are performed via the {@code executor}, and tasks
+   * that are submitted return {@link FailsafeFuture FailsafeFutures}. Tasks that are rejected by a configured policy
+   * are rejected with a {@link java.util.concurrent.RejectedExecutionException RejectedExecutionException}. The
+   * returned executor does not support delayed or periodic tasks.
+   * 
+   * @throws NullPointerException if {@code executor} is null
+   */
+  public FailsafeExecutorService decorate(ScheduledExecutorService executor) {
+    return new FailsafeExecutorService(with(executor), executor);
   }
 
   /**
@@ -104,6 +298,8 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
    * @throws FailsafeException if the {@code callable} fails with a Throwable and the retry policy is exceeded or if
    *           interrupted while waiting to perform a retry
    * @throws CircuitBreakerOpenException if a configured circuit breaker is open
+   * @throws BulkheadFullException if a configured bulkhead is full
+   * @throws RateLimitExceededException if a configured rate limiter is exceeded
    */
   @SuppressWarnings("unchecked")
   private <T> T call(Callable<T> callable) {
@@ -113,35 +309,49 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
     if (callable instanceof ContextualCallableWrapper)
       ((ContextualCallableWrapper<T>) callable).inject(execution);
 
-    T result = null;
-    Throwable failure;
+    Object cached = execution.resultBeforeExecution();
+    if (cached != PolicyExecutor.NO_RESULT)
+      return (T) cached;
 
     while (true) {
-      if (circuitBreaker != null && !circuitBreaker.allowsExecution()) {
-        CircuitBreakerOpenException e = new CircuitBreakerOpenException();
-        if (fallback != null)
-          return fallbackFor((R) result, e);
-        throw e;
+      RuntimeException rejection;
+      try {
+        rejection = execution.admit();
+      } catch (InterruptedException e) {
+        throw new FailsafeException(e);
       }
+      if (rejection != null)
+        return failed(execution, null, rejection, rejection);
 
+      T result;
+      Throwable failure;
       try {
         execution.before();
+        result = (T) execution.perform(callable, 0);
         failure = null;
-        result = callable.call();
       } catch (Throwable t) {
+        result = null;
         failure = t;
       }
 
       // Attempt to complete execution
-      if (execution.complete(result, failure, true)) {
-        if (execution.success || failure == null)
+      boolean completed;
+      try {
+        completed = execution.complete(result, failure, true);
+      } catch (RuntimeException e) {
+        return failed(execution, null, e, e);
+      }
+
+      if (completed) {
+        if (execution.success) {
+          execution.succeeded(result);
           return result;
-        if (fallback != null)
-          return fallbackFor((R) result, failure);
-        throw failure instanceof FailsafeException ? (FailsafeException) failure : new FailsafeException(failure);
+        }
+        return failed(execution, (R) result, failure, failure == null ? null
+            : failure instanceof FailsafeException ? (FailsafeException) failure : new FailsafeException(failure));
       } else {
         try {
-          Thread.sleep(execution.getWaitTime().toMillis());
+          clock.sleep(execution.getWaitTime().toNanos());
         } catch (InterruptedException e) {
           throw new FailsafeException(e);
         }
@@ -151,8 +361,42 @@ public class SyncFailsafe<R> extends FailsafeConfig<R, SyncFailsafe<R>> {
     }
   }
 
+  /**
+   * Calls the {@code callable}, or waits for an in-flight execution with the same coalescing key to complete.
+   */
+  private <T> T execute(final Callable<T> callable) {
+    if (coalescer == null)
+      return call(callable);
+
+    return coalescer.execute(coalescingKey, new Callable<T>() {
+      @Override
+      public T call() throws Exception {
+        return SyncFailsafe.this.call(callable);
+      }
+    });
+  }
+
+  /**
+   * Returns a result provided by the pipeline in place of the failure, such as a stale cached result, else the
+   * {@code result} if there is no {@code exception}, else a fallback result, else throws the {@code exception}.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T failed(Execution execution, R result, Throwable failure, RuntimeException exception) {
+    Object replacement = execution.resultOnFailure(failure);
+    if (replacement != PolicyExecutor.NO_RESULT)
+      return (T) replacement;
+
+    if (exception == null)
+      return (T) result;
+    if (fallback != null)
+      return fallbackFor(result, failure);
+    throw exception;
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T fallbackFor(R result, Throwable failure) {
+    if (Observers.OBSERVER != null)
+      Observers.fallbackInvoked(result, failure);
     try {
       return (T) fallback.apply(result, failure);
     } catch (Exception e) {
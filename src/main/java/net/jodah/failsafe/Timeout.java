@@ -0,0 +1,132 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+import net.jodah.failsafe.util.concurrent.Scheduler;
+
+/**
+ * A policy that fails execution attempts that exceed a timeout with a {@link TimeoutExceededException}, which may then
+ * be retried according to the {@link RetryPolicy}.
+ * <p>
+ * For asynchronous executions, the timeout is scheduled on the execution's {@link Scheduler}. When it expires, the
+ * attempt is cancelled and the retry decision proceeds immediately, ignoring any later outcome of the timed out
+ * attempt. For synchronous executions, a watchdog thread interrupts the executing thread when the timeout expires, and
+ * the attempt fails once the interrupted call returns.
+ * <p>
+ * Unlike {@link CircuitBreaker#withTimeout(long, TimeUnit)}, which classifies an execution as failed after it returns,
+ * a Timeout frees up threads that are stuck in hung attempts, provided the attempts respond to interruption.
+ *
+ * @author Jonathan Halterman
+ */
+public class Timeout {
+  private final Duration timeout;
+  private boolean interrupt = true;
+
+  /**
+   * Creates a Timeout that fails execution attempts exceeding the {@code timeout}, interrupting them by default.
+   *
+   * @throws NullPointerException if {@code timeUnit} is null
+   * @throws IllegalArgumentException if {@code timeout} <= 0
+   */
+  public Timeout(long timeout, TimeUnit timeUnit) {
+    Assert.notNull(timeUnit, "timeUnit");
+    Assert.isTrue(timeout > 0, "timeout must be greater than 0");
+    this.timeout = new Duration(timeout, timeUnit);
+  }
+
+  /**
+   * Returns the timeout for each execution attempt.
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Returns whether execution attempts are interrupted when they time out. Defaults to {@code true}.
+   *
+   * @see #withInterrupt(boolean)
+   */
+  public boolean canInterrupt() {
+    return interrupt;
+  }
+
+  /**
+   * Sets whether execution attempts should be interrupted when they time out. When {@code false}, timed out
+   * asynchronous attempts are abandoned rather than interrupted, and timed out synchronous attempts are failed after
+   * they return.
+   */
+  public Timeout withInterrupt(boolean interrupt) {
+    this.interrupt = interrupt;
+    return this;
+  }
+
+  /**
+   * Starts watching an attempt performed by the current thread, interrupting the thread if the attempt times out.
+   */
+  Watch watch() {
+    Watch watch = new Watch(Thread.currentThread());
+    watch.future = Watchdog.EXECUTOR.schedule(watch, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    return watch;
+  }
+
+  /**
+   * Watches a synchronous attempt for a timeout.
+   */
+  final class Watch implements Runnable {
+    private final Thread thread;
+    private Future<?> future;
+    private boolean done;
+    private boolean timedOut;
+    /** Whether the interrupt for the timeout set the thread's interrupt status, which was not already set */
+    private boolean interruptDelivered;
+
+    Watch(Thread thread) {
+      this.thread = thread;
+    }
+
+    @Override
+    public synchronized void run() {
+      if (!done) {
+        timedOut = true;
+        if (interrupt) {
+          interruptDelivered = !thread.isInterrupted();
+          thread.interrupt();
+        }
+      }
+    }
+
+    /**
+     * Stops watching the attempt, returning whether it timed out. Clears the interrupt caused by a timeout, leaving an
+     * interrupt that the thread already had when the attempt timed out.
+     */
+    synchronized boolean complete() {
+      done = true;
+      if (timedOut) {
+        if (interruptDelivered)
+          Thread.interrupted();
+      } else
+        future.cancel(false);
+      return timedOut;
+    }
+  }
+
+  /**
+   * Holds the watchdog executor, which is lazily created on first use of a synchronous Timeout.
+   */
+  private static final class Watchdog {
+    static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "failsafe-timeout-watchdog");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+}
@@ -0,0 +1,26 @@
+package net.jodah.failsafe;
+
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * Thrown when an execution attempt exceeds a configured {@link Timeout}.
+ * 
+ * @author Jonathan Halterman
+ */
+public class TimeoutExceededException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  private final Duration timeout;
+
+  public TimeoutExceededException(Duration timeout) {
+    super("Execution attempt exceeded the timeout of " + timeout.toMillis() + " ms");
+    this.timeout = timeout;
+  }
+
+  /**
+   * Returns the timeout that was exceeded.
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+}
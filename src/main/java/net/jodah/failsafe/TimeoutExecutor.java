@@ -0,0 +1,42 @@
+package net.jodah.failsafe;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Applies a {@link Timeout} to execution attempts. Synchronous attempts are watched while the rest of the pipeline is
+ * performed, so that time spent by policies that are configured after the timeout counts towards it, while
+ * asynchronous attempts are failed via the scheduler.
+ *
+ * @author Jonathan Halterman
+ */
+final class TimeoutExecutor extends PolicyExecutor {
+  private final Timeout timeout;
+
+  TimeoutExecutor(Timeout timeout) {
+    this.timeout = timeout;
+  }
+
+  @Override
+  Object perform(Execution execution, Callable<?> callable, int stage) throws Throwable {
+    Timeout.Watch watch = timeout.watch();
+    Object result = null;
+    Throwable failure = null;
+    try {
+      result = execution.perform(callable, stage + 1);
+    } catch (Throwable t) {
+      failure = t;
+    }
+
+    // Fail attempts that timed out
+    if (watch.complete())
+      throw new TimeoutExceededException(timeout.getTimeout());
+    if (failure != null)
+      throw failure;
+    return result;
+  }
+
+  @Override
+  void attemptStarted(AsyncExecution execution, int run) {
+    execution.scheduleTimeout(timeout, run);
+  }
+}
@@ -0,0 +1,58 @@
+package net.jodah.failsafe.event;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreaker.State;
+import net.jodah.failsafe.ExecutionContext;
+
+/**
+ * Observes internal Failsafe activity for instrumentation purposes, such as recording profiling events.
+ * <p>
+ * Observers are discovered via {@link java.util.ServiceLoader} when Failsafe is first used, by listing implementation
+ * class names in a {@code META-INF/services/net.jodah.failsafe.event.FailsafeObserver} resource. When no observer is
+ * present, Failsafe performs no observation work. Observer methods are called synchronously on execution threads and
+ * should return quickly. Exceptions thrown by observers are ignored.
+ *
+ * @author Jonathan Halterman
+ */
+public abstract class FailsafeObserver {
+  /**
+   * Called before an execution attempt is performed. The returned object, if any, is passed to
+   * {@link #attemptEnded(ExecutionContext, Object, Object, Throwable)} when the attempt ends.
+   */
+  public Object attemptStarted(ExecutionContext context) {
+    return null;
+  }
+
+  /**
+   * Called after an execution attempt is performed and recorded.
+   *
+   * @param attempt the object returned by {@link #attemptStarted(ExecutionContext)}, else {@code null} if the start of
+   *          the attempt was not observed
+   */
+  public void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+  }
+
+  /**
+   * Called when an execution is scheduled to be retried after waiting {@code waitNanos}.
+   */
+  public void retryScheduled(ExecutionContext context, long waitNanos) {
+  }
+
+  /**
+   * Called when the {@code circuitBreaker} transitions from the {@code fromState} to the {@code toState}.
+   */
+  public void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+  }
+
+  /**
+   * Called when an execution is rejected by the {@code circuitBreaker}.
+   */
+  public void circuitRejected(CircuitBreaker circuitBreaker) {
+  }
+
+  /**
+   * Called when a fallback is invoked for the {@code result} or {@code failure}.
+   */
+  public void fallbackInvoked(Object result, Throwable failure) {
+  }
+}
@@ -0,0 +1,17 @@
+package net.jodah.failsafe.function;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A callable that performs a batch of items, returning the results of items that succeeded and recording the failures
+ * of items that failed in the {@code failures} map. Items that are neither returned nor recorded as failed are treated
+ * as having a {@code null} result.
+ * 
+ * @author Jonathan Halterman
+ * @param <I> item type
+ * @param <T> result type
+ */
+public interface BatchCallable<I, T> {
+  Map<I, T> call(Collection<I> items, Map<I, Throwable> failures) throws Exception;
+}
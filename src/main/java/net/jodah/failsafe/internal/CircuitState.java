@@ -21,9 +21,9 @@ public abstract class CircuitState {
   public void recordSuccess() {
   }
 
-  public void setFailureThreshold(Ratio threshold) {
-  }
-
-  public void setSuccessThreshold(Ratio threshold) {
+  /**
+   * Applies the circuit's thresholds, either of which may be {@code null} if not configured.
+   */
+  public void setThresholds(Ratio failureThreshold, Ratio successThreshold) {
   }
 }
\ No newline at end of file
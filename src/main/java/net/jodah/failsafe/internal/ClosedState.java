@@ -7,11 +7,12 @@ import net.jodah.failsafe.util.Ratio;
 
 public class ClosedState extends CircuitState {
   private final CircuitBreaker circuit;
+  private Ratio failureThreshold;
   private CircularBitSet bitSet;
 
   public ClosedState(CircuitBreaker circuit) {
     this.circuit = circuit;
-    setFailureThreshold(circuit.getFailureThreshold() != null ? circuit.getFailureThreshold() : ONE_OF_ONE);
+    setThresholds(circuit.getFailureThreshold(), circuit.getSuccessThreshold());
   }
 
   @Override
@@ -37,8 +38,9 @@ public class ClosedState extends CircuitState {
   }
 
   @Override
-  public void setFailureThreshold(Ratio threshold) {
-    bitSet = new CircularBitSet(threshold.denominator, bitSet);
+  public synchronized void setThresholds(Ratio failureThreshold, Ratio successThreshold) {
+    this.failureThreshold = failureThreshold;
+    bitSet = new CircularBitSet(failureThreshold != null ? failureThreshold.denominator : 1, bitSet);
   }
 
   /**
@@ -52,7 +54,7 @@ public class ClosedState extends CircuitState {
    * closed if a single execution succeeds.
    */
   synchronized void checkThreshold() {
-    Ratio failureRatio = circuit.getFailureThreshold();
+    Ratio failureRatio = failureThreshold;
 
     // Handle failure threshold ratio
     if (failureRatio != null && bitSet.occupiedBits() >= failureRatio.denominator
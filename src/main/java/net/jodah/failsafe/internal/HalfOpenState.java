@@ -7,17 +7,20 @@ import net.jodah.failsafe.util.Ratio;
 
 public class HalfOpenState extends CircuitState {
   private final CircuitBreaker circuit;
+  private Ratio failureThreshold;
+  private Ratio successThreshold;
   private CircularBitSet bitSet;
+  /** The max allowed concurrent executions */
+  private volatile int maxConcurrentExecutions;
 
   public HalfOpenState(CircuitBreaker circuit) {
     this.circuit = circuit;
-    setSuccessThreshold(circuit.getSuccessThreshold() != null ? circuit.getSuccessThreshold()
-        : circuit.getFailureThreshold() != null ? circuit.getFailureThreshold() : ONE_OF_ONE);
+    setThresholds(circuit.getFailureThreshold(), circuit.getSuccessThreshold());
   }
 
   @Override
   public boolean allowsExecution(CircuitBreakerStats stats) {
-    return stats.getCurrentExecutions() < maxConcurrentExecutions();
+    return stats.getCurrentExecutions() < maxConcurrentExecutions;
   }
 
   @Override
@@ -38,14 +41,13 @@ public class HalfOpenState extends CircuitState {
   }
 
   @Override
-  public void setFailureThreshold(Ratio threshold) {
-    if (circuit.getSuccessThreshold() == null)
-      bitSet = new CircularBitSet(threshold.denominator, bitSet);
-  }
-
-  @Override
-  public void setSuccessThreshold(Ratio threshold) {
+  public synchronized void setThresholds(Ratio failureThreshold, Ratio successThreshold) {
+    this.failureThreshold = failureThreshold;
+    this.successThreshold = successThreshold;
+    Ratio threshold = successThreshold != null ? successThreshold
+        : failureThreshold != null ? failureThreshold : ONE_OF_ONE;
     bitSet = new CircularBitSet(threshold.denominator, bitSet);
+    maxConcurrentExecutions = threshold.denominator;
   }
 
   /**
@@ -61,8 +63,8 @@ public class HalfOpenState extends CircuitState {
    * Else when no thresholds are configured, the circuit opens or closes on a single failure or success.
    */
   synchronized void checkThreshold() {
-    Ratio successRatio = circuit.getSuccessThreshold();
-    Ratio failureRatio = circuit.getFailureThreshold();
+    Ratio successRatio = successThreshold;
+    Ratio failureRatio = failureThreshold;
 
     if (successRatio != null) {
       if (bitSet.occupiedBits() == successRatio.denominator
@@ -85,16 +87,4 @@ public class HalfOpenState extends CircuitState {
         circuit.open();
     }
   }
-
-  /**
-   * Returns the max allowed concurrent executions.
-   */
-  int maxConcurrentExecutions() {
-    if (circuit.getSuccessThreshold() != null)
-      return circuit.getSuccessThreshold().denominator;
-    else if (circuit.getFailureThreshold() != null)
-      return circuit.getFailureThreshold().denominator;
-    else
-      return 1;
-  }
 }
\ No newline at end of file
@@ -5,15 +5,16 @@ import net.jodah.failsafe.CircuitBreaker.State;
 
 public class OpenState extends CircuitState {
   private final CircuitBreaker circuit;
-  private final long startTime = System.nanoTime();
+  private final long startTime;
 
   public OpenState(CircuitBreaker circuit) {
     this.circuit = circuit;
+    this.startTime = circuit.getClock().nanoTime();
   }
 
   @Override
   public boolean allowsExecution(CircuitBreakerStats stats) {
-    if (System.nanoTime() - startTime >= circuit.getDelay().toNanos()) {
+    if (circuit.getClock().nanoTime() - startTime >= circuit.getDelay().toNanos()) {
       circuit.halfOpen();
       return true;
     }
@@ -0,0 +1,28 @@
+package net.jodah.failsafe.internal.util;
+
+import java.util.Random;
+
+/**
+ * Random number utilities backed by a {@link Random} per thread, which avoids contending on a single shared instance
+ * such as the one behind {@link Math#random()}.
+ *
+ * @author Jonathan Halterman
+ */
+public final class Randoms {
+  private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+    @Override
+    protected Random initialValue() {
+      return new Random();
+    }
+  };
+
+  private Randoms() {
+  }
+
+  /**
+   * Returns a pseudorandom double between {@code 0.0} inclusive and {@code 1.0} exclusive.
+   */
+  public static double nextDouble() {
+    return RANDOM.get().nextDouble();
+  }
+}
@@ -0,0 +1,297 @@
+package net.jodah.failsafe.simulation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.AsyncExecution;
+import net.jodah.failsafe.AsyncFailsafe;
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+import net.jodah.failsafe.function.AsyncCallable;
+import net.jodah.failsafe.function.CheckedBiConsumer;
+import net.jodah.failsafe.function.CheckedConsumer;
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+import net.jodah.failsafe.util.concurrent.VirtualTimeScheduler;
+
+/**
+ * Replays a recorded {@link Trace} against candidate retry policies and circuit breakers in virtual time, reporting the
+ * load, rejections, success rate and outage detection time that each configuration would have produced.
+ * <p>
+ * Each execution that was started in the trace is started at the same point in virtual time, and each attempt, whether
+ * it was traced or is a retry generated by the candidate configuration, takes on the latency and outcome of the last
+ * traced attempt that started at or before it. Traced failures are recreated via their class's no-argument
+ * constructor when possible, else as a {@link SimulatedFailure}. Successful attempts complete with a {@code null}
+ * result, since results are traced by class only.
+ * <p>
+ * A candidate circuit breaker is closed and configured with the simulation's virtual clock before each simulation,
+ * so a circuit breaker should not be shared with live executions while it is simulated.
+ *
+ * @author Jonathan Halterman
+ */
+public final class PolicySimulator {
+  private final Trace trace;
+  private Duration horizon = new Duration(1, TimeUnit.HOURS);
+  private int outageThreshold = 5;
+
+  /**
+   * A failure that was traced but whose class could not be instantiated.
+   */
+  public static class SimulatedFailure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    SimulatedFailure(String failureClass) {
+      super(failureClass);
+    }
+
+    /**
+     * Returns the name of the failure class that was traced.
+     */
+    public String getFailureClass() {
+      return getMessage();
+    }
+  }
+
+  private PolicySimulator(Trace trace) {
+    this.trace = trace;
+  }
+
+  /**
+   * Returns a simulator for the {@code trace}.
+   *
+   * @throws NullPointerException if {@code trace} is null
+   */
+  public static PolicySimulator of(Trace trace) {
+    return new PolicySimulator(Assert.notNull(trace, "trace"));
+  }
+
+  /**
+   * Returns the amount of virtual time that executions are simulated for after the end of the trace.
+   */
+  public Duration getHorizon() {
+    return horizon;
+  }
+
+  /**
+   * Returns the number of consecutive failed attempts in the trace that are considered an outage.
+   */
+  public int getOutageThreshold() {
+    return outageThreshold;
+  }
+
+  /**
+   * Sets the amount of virtual time to continue simulating executions for after the end of the trace, after which
+   * executions that are still being retried are reported as incomplete. Defaults to 1 hour.
+   *
+   * @throws NullPointerException if {@code unit} is null
+   * @throws IllegalArgumentException if {@code horizon} < 0
+   */
+  public PolicySimulator withHorizon(long horizon, TimeUnit unit) {
+    Assert.notNull(unit, "unit");
+    Assert.isTrue(horizon >= 0, "horizon must be greater than or equal to 0");
+    this.horizon = new Duration(horizon, unit);
+    return this;
+  }
+
+  /**
+   * Sets the number of consecutive failed attempts in the trace that are considered an outage for measuring the time
+   * that a circuit breaker takes to detect outages. Defaults to 5.
+   *
+   * @throws IllegalArgumentException if {@code outageThreshold} < 1
+   */
+  public PolicySimulator withOutageThreshold(int outageThreshold) {
+    Assert.isTrue(outageThreshold >= 1, "outageThreshold must be greater than or equal to 1");
+    this.outageThreshold = outageThreshold;
+    return this;
+  }
+
+  /**
+   * Simulates the {@code retryPolicy} against the trace.
+   *
+   * @throws NullPointerException if {@code retryPolicy} is null
+   */
+  public SimulationReport simulate(RetryPolicy retryPolicy) {
+    return new Simulation(Assert.notNull(retryPolicy, "retryPolicy"), null).run();
+  }
+
+  /**
+   * Simulates the {@code retryPolicy} and {@code circuitBreaker} against the trace.
+   *
+   * @throws NullPointerException if {@code retryPolicy} or {@code circuitBreaker} are null
+   */
+  public SimulationReport simulate(RetryPolicy retryPolicy, CircuitBreaker circuitBreaker) {
+    Assert.notNull(retryPolicy, "retryPolicy");
+    return new Simulation(retryPolicy, Assert.notNull(circuitBreaker, "circuitBreaker")).run();
+  }
+
+  /**
+   * A single simulation run. Runs on a single thread since all tasks are performed by the virtual time scheduler.
+   */
+  private class Simulation {
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private final CircuitBreaker circuitBreaker;
+    private final AsyncFailsafe<Object> failsafe;
+    private final Throwable[] failures = new Throwable[trace.classNames.length];
+    private long[] openTimes = new long[16];
+    private int opens;
+    private boolean open;
+    private int attempts;
+    private int retries;
+    private int successes;
+    private int failedCalls;
+    private int rejections;
+
+    Simulation(RetryPolicy retryPolicy, CircuitBreaker circuitBreaker) {
+      this.circuitBreaker = circuitBreaker;
+      if (circuitBreaker != null) {
+        circuitBreaker.withClock(scheduler);
+        circuitBreaker.close();
+      }
+
+      failsafe = (circuitBreaker == null ? Failsafe.<Object>with(retryPolicy)
+          : Failsafe.<Object>with(retryPolicy).with(circuitBreaker)).with(scheduler);
+      failsafe.onSuccess(new CheckedConsumer<Object>() {
+        @Override
+        public void accept(Object result) {
+          successes++;
+        }
+      });
+      failsafe.onFailure(new CheckedBiConsumer<Object, Throwable>() {
+        @Override
+        public void accept(Object result, Throwable failure) {
+          failedCalls++;
+          if (failure instanceof CircuitBreakerOpenException)
+            rejections++;
+        }
+      });
+    }
+
+    SimulationReport run() {
+      int calls = 0;
+      for (int i = 0; i < trace.times.length; i++) {
+        if (trace.firstAttempts[i]) {
+          calls++;
+          scheduler.schedule(new Callable<Object>() {
+            @Override
+            public Object call() {
+              startCall();
+              return null;
+            }
+          }, trace.times[i], TimeUnit.NANOSECONDS);
+        }
+      }
+
+      scheduler.advance(trace.getDuration().toNanos() + horizon.toNanos(), TimeUnit.NANOSECONDS);
+      return report(calls);
+    }
+
+    private void startCall() {
+      try {
+        failsafe.getAsync(new AsyncCallable<Object>() {
+          @Override
+          public Object call(final AsyncExecution execution) {
+            if (!execution.isComplete())
+              attempt(execution);
+            return null;
+          }
+        });
+      } catch (CircuitBreakerOpenException e) {
+        failedCalls++;
+        rejections++;
+      }
+    }
+
+    private void attempt(final AsyncExecution execution) {
+      attempts++;
+      if (execution.getExecutions() > 0)
+        retries++;
+      open = false;
+
+      final int event = trace.indexAt(scheduler.nanoTime());
+      scheduler.schedule(new Callable<Object>() {
+        @Override
+        public Object call() {
+          execution.retryFor(null, failure(trace.failureClasses[event]));
+          if (circuitBreaker != null) {
+            boolean nowOpen = circuitBreaker.isOpen();
+            if (nowOpen && !open)
+              recordOpen(scheduler.nanoTime());
+            open = nowOpen;
+          }
+          return null;
+        }
+      }, trace.latencies[event], TimeUnit.NANOSECONDS);
+    }
+
+    private Throwable failure(int classId) {
+      if (classId == 0)
+        return null;
+      if (failures[classId] == null) {
+        String className = trace.classNames[classId];
+        Throwable failure = newFailure(className);
+        failures[classId] = failure == null ? new SimulatedFailure(className) : failure;
+      }
+      return failures[classId];
+    }
+
+    /**
+     * Returns a new instance of the failure class via its no-arg constructor, else {@code null} if the class cannot be
+     * found or instantiated, or its constructor fails.
+     */
+    private Throwable newFailure(String className) {
+      try {
+        return Class.forName(className).asSubclass(Throwable.class).getDeclaredConstructor().newInstance();
+      } catch (ClassNotFoundException ignore) {
+      } catch (ClassCastException ignore) {
+      } catch (NoSuchMethodException ignore) {
+      } catch (InstantiationException ignore) {
+      } catch (IllegalAccessException ignore) {
+      } catch (InvocationTargetException ignore) {
+      } catch (LinkageError ignore) {
+      } catch (SecurityException ignore) {
+      }
+      return null;
+    }
+
+    private void recordOpen(long time) {
+      if (opens == openTimes.length)
+        openTimes = Arrays.copyOf(openTimes, opens * 2);
+      openTimes[opens++] = time;
+    }
+
+    private SimulationReport report(int calls) {
+      int outages = 0;
+      int detectedOutages = 0;
+      long totalDetectionNanos = 0;
+      int runLength = 0;
+      long runStart = 0;
+      for (int i = 0; i <= trace.times.length; i++) {
+        if (i < trace.times.length && trace.failureClasses[i] != 0) {
+          if (runLength++ == 0)
+            runStart = trace.times[i];
+          continue;
+        }
+
+        if (runLength >= outageThreshold) {
+          outages++;
+          long runEnd = trace.times[i - 1] + trace.latencies[i - 1];
+          int index = Arrays.binarySearch(openTimes, 0, opens, runStart);
+          if (index < 0)
+            index = -index - 1;
+          if (index < opens && openTimes[index] <= runEnd) {
+            detectedOutages++;
+            totalDetectionNanos += openTimes[index] - runStart;
+          }
+        }
+        runLength = 0;
+      }
+
+      return new SimulationReport(calls, attempts, retries, successes, failedCalls, rejections, outages,
+          detectedOutages, totalDetectionNanos, scheduler.nanoTime());
+    }
+  }
+}
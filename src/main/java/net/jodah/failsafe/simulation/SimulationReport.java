@@ -0,0 +1,136 @@
+package net.jodah.failsafe.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * The outcome of simulating a retry policy and circuit breaker against a {@link Trace}.
+ *
+ * @author Jonathan Halterman
+ * @see PolicySimulator
+ */
+public final class SimulationReport {
+  final int calls;
+  final int attempts;
+  final int retries;
+  final int successes;
+  final int failures;
+  final int rejections;
+  final int outages;
+  final int detectedOutages;
+  final long totalDetectionNanos;
+  final long simulatedNanos;
+
+  SimulationReport(int calls, int attempts, int retries, int successes, int failures, int rejections, int outages,
+      int detectedOutages, long totalDetectionNanos, long simulatedNanos) {
+    this.calls = calls;
+    this.attempts = attempts;
+    this.retries = retries;
+    this.successes = successes;
+    this.failures = failures;
+    this.rejections = rejections;
+    this.outages = outages;
+    this.detectedOutages = detectedOutages;
+    this.totalDetectionNanos = totalDetectionNanos;
+    this.simulatedNanos = simulatedNanos;
+  }
+
+  /**
+   * Returns the number of attempts that were performed, including retries.
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Returns the number of calls that were simulated, which is the number of executions started in the trace.
+   */
+  public int getCalls() {
+    return calls;
+  }
+
+  /**
+   * Returns the number of outages that a circuit breaker opened for while they were in progress.
+   */
+  public int getDetectedOutages() {
+    return detectedOutages;
+  }
+
+  /**
+   * Returns the additional load generated by retries, as the ratio of retries to first attempts.
+   */
+  public double getExtraLoad() {
+    int firstAttempts = attempts - retries;
+    return firstAttempts == 0 ? 0 : (double) retries / firstAttempts;
+  }
+
+  /**
+   * Returns the number of calls that failed, including calls that were rejected by a circuit breaker.
+   */
+  public int getFailedCalls() {
+    return failures;
+  }
+
+  /**
+   * Returns the number of calls that did not complete before the end of the simulation.
+   */
+  public int getIncompleteCalls() {
+    return calls - successes - failures;
+  }
+
+  /**
+   * Returns the mean time between the start of an outage and the circuit breaker opening, for detected outages, else
+   * {@code null} if no outages were detected.
+   */
+  public Duration getMeanTimeToDetect() {
+    return detectedOutages == 0 ? null
+        : new Duration(totalDetectionNanos / detectedOutages, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the number of outages in the trace, which are runs of consecutive failed attempts at least as long as the
+   * simulator's outage threshold.
+   */
+  public int getOutages() {
+    return outages;
+  }
+
+  /**
+   * Returns the number of calls that failed because a circuit breaker rejected them.
+   */
+  public int getRejectedCalls() {
+    return rejections;
+  }
+
+  /**
+   * Returns the number of retries that were performed.
+   */
+  public int getRetries() {
+    return retries;
+  }
+
+  /**
+   * Returns the amount of virtual time that was simulated.
+   */
+  public Duration getSimulatedTime() {
+    return new Duration(simulatedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the ratio of calls that succeeded.
+   */
+  public double getSuccessRate() {
+    return calls == 0 ? 0 : (double) successes / calls;
+  }
+
+  @Override
+  public String toString() {
+    Duration meanTimeToDetect = getMeanTimeToDetect();
+    return String.format(
+        "SimulationReport[calls=%d, successRate=%.4f, attempts=%d, extraLoad=%.4f, rejectedCalls=%d, "
+            + "incompleteCalls=%d, detectedOutages=%d/%d, meanTimeToDetect=%s]",
+        calls, getSuccessRate(), attempts, getExtraLoad(), rejections, getIncompleteCalls(), detectedOutages, outages,
+        meanTimeToDetect == null ? "n/a" : meanTimeToDetect.toMillis() + "ms");
+  }
+}
@@ -0,0 +1,226 @@
+package net.jodah.failsafe.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Duration;
+
+/**
+ * A trace of execution attempt outcomes that was recorded by a {@link TraceRecorder}, ordered by the attempts' start
+ * times, for replaying via a {@link PolicySimulator}.
+ *
+ * @author Jonathan Halterman
+ */
+public final class Trace {
+  final long[] times;
+  final long[] latencies;
+  final int[] resultClasses;
+  final int[] failureClasses;
+  final boolean[] firstAttempts;
+  final String[] classNames;
+
+  private Trace(long[] times, long[] latencies, int[] resultClasses, int[] failureClasses, boolean[] firstAttempts,
+      String[] classNames) {
+    this.times = times;
+    this.latencies = latencies;
+    this.resultClasses = resultClasses;
+    this.failureClasses = failureClasses;
+    this.firstAttempts = firstAttempts;
+    this.classNames = classNames;
+  }
+
+  /**
+   * Reads a trace from the {@code file}.
+   *
+   * @throws NullPointerException if {@code file} is null
+   * @throws IOException if the file cannot be read or is not a trace
+   */
+  public static Trace read(File file) throws IOException {
+    InputStream in = new FileInputStream(Assert.notNull(file, "file"));
+    try {
+      return read(in);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads a trace from the {@code in} stream, which is not closed.
+   *
+   * @throws NullPointerException if {@code in} is null
+   * @throws IOException if the stream cannot be read or does not contain a trace
+   */
+  public static Trace read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(Assert.notNull(in, "in")));
+    if (data.readInt() != TraceRecorder.MAGIC)
+      throw new IOException("Not a trace");
+    int version = data.readUnsignedByte();
+    if (version != TraceRecorder.VERSION)
+      throw new IOException("Unsupported trace version " + version);
+
+    List<String> classNames = new ArrayList<String>();
+    classNames.add(null);
+    int size = 0;
+    long[] times = new long[1024];
+    long[] latencies = new long[1024];
+    int[] resultClasses = new int[1024];
+    int[] failureClasses = new int[1024];
+    boolean[] firstAttempts = new boolean[1024];
+    long time = 0;
+
+    for (int tag; (tag = data.read()) != -1;) {
+      if (tag == TraceRecorder.CLASS_TAG) {
+        int id = (int) readVarLong(data);
+        if (id != classNames.size())
+          throw new IOException("Invalid class id " + id);
+        classNames.add(data.readUTF());
+      } else if (tag == TraceRecorder.FIRST_ATTEMPT_TAG || tag == TraceRecorder.RETRY_ATTEMPT_TAG) {
+        if (size == times.length) {
+          int capacity = size * 2;
+          times = Arrays.copyOf(times, capacity);
+          latencies = Arrays.copyOf(latencies, capacity);
+          resultClasses = Arrays.copyOf(resultClasses, capacity);
+          failureClasses = Arrays.copyOf(failureClasses, capacity);
+          firstAttempts = Arrays.copyOf(firstAttempts, capacity);
+        }
+
+        long delta = readVarLong(data);
+        time += (delta >>> 1) ^ -(delta & 1);
+        times[size] = time;
+        latencies[size] = readVarLong(data);
+        resultClasses[size] = classId(readVarLong(data), classNames);
+        failureClasses[size] = classId(readVarLong(data), classNames);
+        firstAttempts[size] = tag == TraceRecorder.FIRST_ATTEMPT_TAG;
+        size++;
+      } else
+        throw new IOException("Invalid trace record " + tag);
+    }
+
+    Trace trace = new Trace(Arrays.copyOf(times, size), Arrays.copyOf(latencies, size),
+        Arrays.copyOf(resultClasses, size), Arrays.copyOf(failureClasses, size), Arrays.copyOf(firstAttempts, size),
+        classNames.toArray(new String[classNames.size()]));
+    return trace.sorted();
+  }
+
+  /**
+   * Returns the number of executions that were started in the trace.
+   */
+  public int getCalls() {
+    int calls = 0;
+    for (boolean firstAttempt : firstAttempts)
+      if (firstAttempt)
+        calls++;
+    return calls;
+  }
+
+  /**
+   * Returns the time between the start of the first attempt and the end of the last attempt in the trace.
+   */
+  public Duration getDuration() {
+    long end = 0;
+    for (int i = 0; i < times.length; i++)
+      end = Math.max(end, times[i] + latencies[i]);
+    return new Duration(times.length == 0 ? 0 : end - times[0], TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the ratio of attempts in the trace that failed with an exception.
+   */
+  public double getFailureRate() {
+    int failures = 0;
+    for (int failureClass : failureClasses)
+      if (failureClass != 0)
+        failures++;
+    return times.length == 0 ? 0 : (double) failures / times.length;
+  }
+
+  /**
+   * Returns the number of attempts in the trace.
+   */
+  public int size() {
+    return times.length;
+  }
+
+  @Override
+  public String toString() {
+    return "Trace[attempts=" + size() + ", calls=" + getCalls() + ", duration=" + getDuration().toMillis() + "ms]";
+  }
+
+  /**
+   * Returns the index of the last attempt that started at or before the {@code time}, else {@code 0}.
+   */
+  int indexAt(long time) {
+    int index = Arrays.binarySearch(times, time);
+    if (index < 0)
+      index = -index - 2;
+    else
+      while (index + 1 < times.length && times[index + 1] == time)
+        index++;
+    return Math.max(0, index);
+  }
+
+  /**
+   * Returns a trace with attempts ordered by start time, with times relative to the first attempt.
+   */
+  private Trace sorted() {
+    boolean sorted = true;
+    for (int i = 1; i < times.length && sorted; i++)
+      sorted = times[i - 1] <= times[i];
+
+    Integer[] order = new Integer[times.length];
+    for (int i = 0; i < order.length; i++)
+      order[i] = i;
+    if (!sorted) {
+      Arrays.sort(order, new Comparator<Integer>() {
+        @Override
+        public int compare(Integer a, Integer b) {
+          return times[a] < times[b] ? -1 : times[a] > times[b] ? 1 : 0;
+        }
+      });
+    }
+
+    long origin = times.length == 0 ? 0 : times[order[0]];
+    long[] sortedTimes = new long[times.length];
+    long[] sortedLatencies = new long[times.length];
+    int[] sortedResults = new int[times.length];
+    int[] sortedFailures = new int[times.length];
+    boolean[] sortedFirstAttempts = new boolean[times.length];
+    for (int i = 0; i < order.length; i++) {
+      int j = order[i];
+      sortedTimes[i] = times[j] - origin;
+      sortedLatencies[i] = latencies[j];
+      sortedResults[i] = resultClasses[j];
+      sortedFailures[i] = failureClasses[j];
+      sortedFirstAttempts[i] = firstAttempts[j];
+    }
+
+    return new Trace(sortedTimes, sortedLatencies, sortedResults, sortedFailures, sortedFirstAttempts, classNames);
+  }
+
+  private static int classId(long id, List<String> classNames) throws IOException {
+    if (id < 0 || id >= classNames.size())
+      throw new IOException("Undefined class id " + id);
+    return (int) id;
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        return value;
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -0,0 +1,171 @@
+package net.jodah.failsafe.simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.jodah.failsafe.ExecutionContext;
+import net.jodah.failsafe.FailsafeConfig;
+import net.jodah.failsafe.event.ContextualResultListener;
+import net.jodah.failsafe.function.CheckedBiConsumer;
+import net.jodah.failsafe.internal.util.Assert;
+
+/**
+ * Records the outcomes of execution attempts to a compact binary {@link Trace}, via listeners that are registered with
+ * {@link #recordTo(FailsafeConfig)}. Each attempt is recorded with its start time, latency, result class and failure
+ * class, and whether it was the first attempt of an execution. Executions that are rejected by a circuit breaker,
+ * bulkhead or rate limiter are not recorded since they do not reach the protected resource.
+ * <p>
+ * Times are recorded as variable length deltas and classes as indexes into a table of class names that is written
+ * inline, so a typical attempt takes a few bytes. Writes are buffered, and the trace is complete once the recorder is
+ * {@link #close() closed}.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jonathan Halterman
+ * @see Trace#read(File)
+ */
+public class TraceRecorder implements Closeable {
+  static final int MAGIC = 0x46535452;
+  static final int VERSION = 1;
+  static final int CLASS_TAG = 1;
+  static final int FIRST_ATTEMPT_TAG = 2;
+  static final int RETRY_ATTEMPT_TAG = 3;
+
+  private final long originNanos = System.nanoTime();
+
+  // Guarded by "this"
+  private final DataOutputStream out;
+  private final Map<String, Integer> classIds = new HashMap<String, Integer>();
+  private long lastTime;
+  private int events;
+  private boolean closed;
+
+  /**
+   * Creates a recorder that writes the trace to the {@code out} stream.
+   *
+   * @throws NullPointerException if {@code out} is null
+   * @throws IOException if the trace header cannot be written
+   */
+  public TraceRecorder(OutputStream out) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(Assert.notNull(out, "out")));
+    this.out.writeInt(MAGIC);
+    this.out.writeByte(VERSION);
+  }
+
+  /**
+   * Creates a recorder that writes the trace to the {@code file}, replacing any existing file.
+   *
+   * @throws NullPointerException if {@code file} is null
+   * @throws IOException if the file cannot be written
+   */
+  public static TraceRecorder open(File file) throws IOException {
+    return new TraceRecorder(new FileOutputStream(Assert.notNull(file, "file")));
+  }
+
+  /**
+   * Flushes and closes the trace. Attempts that complete after the recorder is closed are not recorded.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      out.close();
+    }
+  }
+
+  /**
+   * Flushes the attempts that have been recorded to the underlying stream.
+   */
+  public synchronized void flush() throws IOException {
+    if (!closed)
+      out.flush();
+  }
+
+  /**
+   * Returns the number of attempts that have been recorded.
+   */
+  public synchronized int getEventCount() {
+    return events;
+  }
+
+  /**
+   * Registers listeners with the {@code config} that record the outcome of each execution attempt, returning the
+   * {@code config}.
+   *
+   * @throws NullPointerException if {@code config} is null
+   */
+  public <R, F> F recordTo(FailsafeConfig<R, F> config) {
+    Assert.notNull(config, "config");
+    config.onFailedAttempt(new ContextualResultListener<R, Throwable>() {
+      @Override
+      public void onResult(R result, Throwable failure, ExecutionContext context) throws Exception {
+        record(result, failure, context);
+      }
+    });
+    return config.onSuccess(new CheckedBiConsumer<R, ExecutionContext>() {
+      @Override
+      public void accept(R result, ExecutionContext context) throws Exception {
+        record(result, null, context);
+      }
+    });
+  }
+
+  /**
+   * Records an attempt that ended now with the {@code result} and {@code failure}.
+   */
+  void record(Object result, Throwable failure, ExecutionContext context) throws IOException {
+    long latencyNanos = Math.max(0, context.getAttemptElapsedTime().toNanos());
+    record(System.nanoTime() - originNanos - latencyNanos, latencyNanos, context.getExecutions() <= 1,
+        result == null ? null : result.getClass().getName(), failure == null ? null : failure.getClass().getName());
+  }
+
+  synchronized void record(long timeNanos, long latencyNanos, boolean firstAttempt, String resultClass,
+      String failureClass) throws IOException {
+    if (closed)
+      return;
+
+    int resultId = classId(resultClass);
+    int failureId = classId(failureClass);
+    out.writeByte(firstAttempt ? FIRST_ATTEMPT_TAG : RETRY_ATTEMPT_TAG);
+    long delta = timeNanos - lastTime;
+    writeVarLong(out, (delta << 1) ^ (delta >> 63));
+    writeVarLong(out, latencyNanos);
+    writeVarLong(out, resultId);
+    writeVarLong(out, failureId);
+    lastTime = timeNanos;
+    events++;
+  }
+
+  /**
+   * Returns the id of the {@code className}, writing a class definition if the class has not been seen, else
+   * {@code 0} if the {@code className} is null.
+   */
+  private int classId(String className) throws IOException {
+    if (className == null)
+      return 0;
+    Integer id = classIds.get(className);
+    if (id == null) {
+      id = classIds.size() + 1;
+      classIds.put(className, id);
+      out.writeByte(CLASS_TAG);
+      writeVarLong(out, id);
+      out.writeUTF(className);
+    }
+    return id;
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+}
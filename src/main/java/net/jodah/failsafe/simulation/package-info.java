@@ -0,0 +1,4 @@
+/**
+ * Recording of execution outcomes and offline simulation of retry policies and circuit breakers against them.
+ */
+package net.jodah.failsafe.simulation;
@@ -0,0 +1,45 @@
+package net.jodah.failsafe.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A source of time for measuring elapsed time and waiting between execution attempts. Defaults to {@link #SYSTEM}, and
+ * can be replaced with a virtual clock such as {@link net.jodah.failsafe.util.concurrent.VirtualTimeScheduler} so that
+ * delays elapse without waiting.
+ * 
+ * @author Jonathan Halterman
+ */
+public interface Clock {
+  /**
+   * A clock that uses {@link System#nanoTime()} and {@link Thread#sleep(long)}.
+   */
+  Clock SYSTEM = new Clock() {
+    @Override
+    public long nanoTime() {
+      return System.nanoTime();
+    }
+
+    @Override
+    public void sleep(long nanos) throws InterruptedException {
+      long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      Thread.sleep(millis, (int) (nanos - TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Override
+    public String toString() {
+      return "Clock.SYSTEM";
+    }
+  };
+
+  /**
+   * Returns the current time in nanoseconds, which is only meaningful relative to other times from the same clock.
+   */
+  long nanoTime();
+
+  /**
+   * Waits for {@code nanos} to elapse on the clock.
+   * 
+   * @throws InterruptedException if interrupted while waiting
+   */
+  void sleep(long nanos) throws InterruptedException;
+}
@@ -0,0 +1,222 @@
+package net.jodah.failsafe.util.concurrent;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.jodah.failsafe.internal.util.Assert;
+import net.jodah.failsafe.util.Clock;
+
+/**
+ * A Scheduler and Clock whose time only advances when told to, for deterministic simulations and tests. Scheduled
+ * tasks are run on the thread that advances the time, in the order of their scheduled times, with the clock set to
+ * each task's scheduled time as it runs. {@link #sleep(long) Sleeping} advances the time, so synchronous executions
+ * that use this as their {@link Clock} do not wait between retries.
+ * <p>
+ * Configure asynchronous executions with {@code Failsafe.with(retryPolicy).with(scheduler)}, synchronous executions
+ * with {@code Failsafe.with(retryPolicy).withClock(scheduler)}, and circuit breakers with
+ * {@code circuitBreaker.withClock(scheduler)}.
+ * <p>
+ * This class is thread safe.
+ * 
+ * @author Jonathan Halterman
+ */
+public class VirtualTimeScheduler implements Scheduler, Clock {
+  // Guarded by "this"
+  private final PriorityQueue<VirtualTask<?>> tasks = new PriorityQueue<VirtualTask<?>>();
+  private long sequence;
+  private volatile long nanoTime;
+
+  /**
+   * Advances the time by the {@code duration}, running the tasks that are scheduled up to the new time.
+   * 
+   * @throws NullPointerException if {@code unit} is null
+   * @throws IllegalArgumentException if {@code duration} < 0
+   */
+  public void advance(long duration, TimeUnit unit) {
+    Assert.notNull(unit, "unit");
+    Assert.isTrue(duration >= 0, "duration must be greater than or equal to 0");
+    long target = nanoTime + unit.toNanos(duration);
+    while (runNext(target))
+      ;
+    synchronized (this) {
+      if (nanoTime < target)
+        nanoTime = target;
+    }
+  }
+
+  /**
+   * Returns the number of tasks that are scheduled and not cancelled.
+   */
+  public synchronized int getPendingTasks() {
+    int pending = 0;
+    for (VirtualTask<?> task : tasks)
+      if (!task.isCancelled())
+        pending++;
+    return pending;
+  }
+
+  /**
+   * Returns the current virtual time in nanoseconds, which starts at {@code 0}.
+   */
+  @Override
+  public long nanoTime() {
+    return nanoTime;
+  }
+
+  /**
+   * Runs scheduled tasks, advancing the time to each task's scheduled time, until no tasks remain. Tasks that are
+   * scheduled while running are also run, so this does not return while executions are retried indefinitely.
+   */
+  public void runUntilIdle() {
+    while (runNext(Long.MAX_VALUE))
+      ;
+  }
+
+  @Override
+  public synchronized ScheduledFuture<?> schedule(Callable<?> callable, long delay, TimeUnit unit) {
+    Assert.notNull(callable, "callable");
+    Assert.notNull(unit, "unit");
+    VirtualTask<?> task = new VirtualTask<Object>(callable, nanoTime + Math.max(0, unit.toNanos(delay)), sequence++);
+    tasks.add(task);
+    return task;
+  }
+
+  /**
+   * Advances the time by {@code nanos}, running the tasks that are scheduled up to the new time.
+   */
+  @Override
+  public void sleep(long nanos) {
+    advance(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Runs the next task that is scheduled at or before the {@code target} time, returning whether a task was run.
+   */
+  private boolean runNext(long target) {
+    VirtualTask<?> task;
+    synchronized (this) {
+      do {
+        task = tasks.peek();
+        if (task == null || task.time > target)
+          return false;
+        tasks.poll();
+      } while (task.isCancelled());
+      if (task.time > nanoTime)
+        nanoTime = task.time;
+    }
+
+    task.run();
+    return true;
+  }
+
+  private class VirtualTask<T> implements ScheduledFuture<T> {
+    private final Callable<T> callable;
+    private final long time;
+    private final long order;
+
+    // Guarded by "this"
+    private boolean done;
+    private boolean cancelled;
+    private T result;
+    private Throwable failure;
+
+    @SuppressWarnings("unchecked")
+    VirtualTask(Callable<?> callable, long time, long order) {
+      this.callable = (Callable<T>) callable;
+      this.time = time;
+      this.order = order;
+    }
+
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+      if (done)
+        return false;
+      done = cancelled = true;
+      notifyAll();
+      return true;
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other instanceof VirtualTask) {
+        VirtualTask<?> task = (VirtualTask<?>) other;
+        return time != task.time ? (time < task.time ? -1 : 1) : order < task.order ? -1 : order > task.order ? 1 : 0;
+      }
+
+      long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+      return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+      synchronized (this) {
+        while (!done)
+          wait();
+      }
+      return report();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      long remainingNanos = unit.toNanos(timeout);
+      long deadline = System.nanoTime() + remainingNanos;
+      synchronized (this) {
+        while (!done) {
+          if (remainingNanos <= 0)
+            throw new TimeoutException();
+          TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+          remainingNanos = deadline - System.nanoTime();
+        }
+      }
+      return report();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(time - nanoTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+      return done;
+    }
+
+    void run() {
+      T taskResult = null;
+      Throwable taskFailure = null;
+      try {
+        taskResult = callable.call();
+      } catch (Throwable t) {
+        taskFailure = t;
+      }
+
+      synchronized (this) {
+        if (!done) {
+          done = true;
+          result = taskResult;
+          failure = taskFailure;
+          notifyAll();
+        }
+      }
+    }
+
+    private synchronized T report() throws ExecutionException {
+      if (cancelled)
+        throw new CancellationException();
+      if (failure != null)
+        throw new ExecutionException(failure);
+      return result;
+    }
+  }
+}
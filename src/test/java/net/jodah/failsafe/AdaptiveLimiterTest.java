@@ -0,0 +1,138 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class AdaptiveLimiterTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(5);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldIncreaseAimdLimitWhenUtilized() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.aimd(4, 1, 5);
+    assertTrue(limiter.tryAcquirePermit());
+    assertTrue(limiter.tryAcquirePermit());
+    limiter.releasePermit(1000, false);
+    assertEquals(limiter.getLimit(), 5);
+    assertEquals(limiter.getAvailablePermits(), 4);
+
+    // Not increased beyond the max
+    limiter.tryAcquirePermit();
+    limiter.tryAcquirePermit();
+    limiter.tryAcquirePermit();
+    limiter.releasePermit(1000, false);
+    assertEquals(limiter.getLimit(), 5);
+  }
+
+  public void shouldNotIncreaseAimdLimitWhenUnderutilized() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.aimd(4, 1, 10);
+    assertTrue(limiter.tryAcquirePermit());
+    limiter.releasePermit(1000, false);
+    assertEquals(limiter.getLimit(), 4);
+    assertEquals(limiter.getAvailablePermits(), 4);
+  }
+
+  public void shouldDecreaseAimdLimitOnFailure() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.aimd(10, 2, 10).withBackoffRatio(.5);
+    for (int i = 0; i < 10; i++)
+      assertTrue(limiter.tryAcquirePermit());
+
+    // Permits that are still held are not made available until they're released
+    limiter.releasePermit(1000, true);
+    assertEquals(limiter.getLimit(), 5);
+    assertEquals(limiter.getAvailablePermits(), -4);
+    assertFalse(limiter.tryAcquirePermit());
+
+    for (int i = 0; i < 9; i++)
+      limiter.releasePermit(1000, true);
+    assertEquals(limiter.getLimit(), 2);
+    assertEquals(limiter.getAvailablePermits(), 2);
+  }
+
+  public void shouldDecreaseGradientLimitWhenLatencyRises() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.gradient(20, 1, 100);
+    recordWindows(limiter, 5, TimeUnit.MILLISECONDS.toNanos(1));
+    int steadyLimit = limiter.getLimit();
+    assertTrue(steadyLimit > 20);
+
+    recordWindows(limiter, 5, TimeUnit.MILLISECONDS.toNanos(10));
+    int congestedLimit = limiter.getLimit();
+    assertTrue(congestedLimit < steadyLimit);
+
+    // Recovers when latency returns to the long-term minimum
+    recordWindows(limiter, 5, TimeUnit.MILLISECONDS.toNanos(1));
+    assertTrue(limiter.getLimit() > congestedLimit);
+    assertEquals(limiter.getAvailablePermits(), limiter.getLimit());
+  }
+
+  public void shouldTolerateLatencyWithinRttTolerance() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.gradient(20, 1, 20).withRttTolerance(2);
+    recordWindows(limiter, 1, TimeUnit.MILLISECONDS.toNanos(10));
+    recordWindows(limiter, 5, TimeUnit.MILLISECONDS.toNanos(15));
+    assertEquals(limiter.getLimit(), 20);
+  }
+
+  public void shouldRejectSyncExecutionsThatExceedLimit() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.aimd(2, 1, 2).withBackoffRatio(.5);
+    try {
+      Failsafe.with(limiter).run(() -> {
+        throw new ConnectException();
+      });
+      fail();
+    } catch (FailsafeException expected) {
+    }
+
+    assertEquals(limiter.getLimit(), 1);
+    limiter.tryAcquirePermit();
+    try {
+      Failsafe.with(limiter).run(() -> fail());
+      fail();
+    } catch (BulkheadFullException expected) {
+    }
+  }
+
+  public void shouldLimitConcurrentAsyncExecutions() throws Throwable {
+    AdaptiveLimiter limiter = AdaptiveLimiter.aimd(2, 1, 2).withMaxWaitTime(5, TimeUnit.SECONDS);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<FailsafeFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final int result = i;
+      futures.add(Failsafe.with(limiter).with(executor).get(() -> {
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        Thread.sleep(20);
+        concurrent.decrementAndGet();
+        return result;
+      }));
+    }
+
+    for (int i = 0; i < futures.size(); i++)
+      assertEquals(futures.get(i).get(5, TimeUnit.SECONDS).intValue(), i);
+    assertTrue(maxConcurrent.get() <= 2);
+    assertEquals(limiter.getAvailablePermits(), limiter.getLimit());
+  }
+
+  private static void recordWindows(AdaptiveLimiter limiter, int windows, long rttNanos) {
+    for (int i = 0; i < windows * AdaptiveLimiter.RTT_WINDOW; i++) {
+      limiter.tryAcquirePermit();
+      limiter.releasePermit(rttNanos, false);
+    }
+  }
+}
@@ -235,6 +235,19 @@ public class AsyncFailsafeTest extends AbstractFailsafeTest {
 		}));
 	}
 
+	public void shouldFailFutureWhenDelayFunctionFails() throws Throwable {
+		IllegalArgumentException failure = new IllegalArgumentException();
+		RetryPolicy retryPolicy = new RetryPolicy.Builder().withDelay((r, f, ctx) -> {
+			throw failure;
+		}).build();
+
+		FailsafeFuture<?> future = Failsafe.with(retryPolicy).with(executor).run(() -> {
+			throw new IllegalStateException();
+		});
+
+		assertThrows(() -> future.get(), ExecutionException.class, IllegalArgumentException.class);
+	}
+
 	public void shouldCancelFuture() throws Throwable {
 		FailsafeFuture<?> future = Failsafe.with(retryAlways).with(executor)
 				.run(() -> ignoreExceptions(() -> Thread.sleep(10000)));
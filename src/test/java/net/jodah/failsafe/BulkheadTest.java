@@ -0,0 +1,144 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class BulkheadTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(5);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldAcquireAndReleasePermits() {
+    Bulkhead bulkhead = new Bulkhead(2);
+    assertTrue(bulkhead.tryAcquirePermit());
+    assertTrue(bulkhead.tryAcquirePermit());
+    assertFalse(bulkhead.tryAcquirePermit());
+    bulkhead.releasePermit();
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+    assertTrue(bulkhead.tryAcquirePermit());
+  }
+
+  public void shouldHandReleasedPermitsToWaiters() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1).withMaxWaitTime(5, TimeUnit.SECONDS);
+    assertTrue(bulkhead.tryAcquirePermit());
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    new Thread(() -> {
+      try {
+        if (bulkhead.acquirePermit())
+          acquired.countDown();
+      } catch (InterruptedException ignore) {
+      }
+    }).start();
+
+    while (bulkhead.getWaitingExecutions() == 0)
+      Thread.sleep(5);
+    bulkhead.releasePermit();
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    assertEquals(bulkhead.getAvailablePermits(), 0);
+    assertEquals(bulkhead.getWaitingExecutions(), 0);
+  }
+
+  public void shouldRejectWhenWaitTimeIsExceeded() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1).withMaxWaitTime(20, TimeUnit.MILLISECONDS);
+    assertTrue(bulkhead.tryAcquirePermit());
+    assertFalse(bulkhead.acquirePermit());
+    assertEquals(bulkhead.getWaitingExecutions(), 0);
+  }
+
+  public void shouldRejectWhenTooManyExecutionsAreWaiting() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1).withMaxWaitTime(1, TimeUnit.SECONDS).withMaxWaitingExecutions(0);
+    assertTrue(bulkhead.tryAcquirePermit());
+    assertFalse(bulkhead.acquirePermit());
+  }
+
+  public void shouldRejectSyncExecutionsWhenFull() {
+    Bulkhead bulkhead = new Bulkhead(1);
+    bulkhead.tryAcquirePermit();
+
+    try {
+      Failsafe.with(bulkhead).run(() -> fail());
+      fail();
+    } catch (BulkheadFullException expected) {
+    }
+
+    assertEquals(Failsafe.with(bulkhead).withFallback("fallback").get(() -> "result"), "fallback");
+    bulkhead.releasePermit();
+    assertEquals(Failsafe.with(bulkhead).get(() -> "result"), "result");
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+  }
+
+  public void shouldLimitConcurrentSyncExecutions() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(2).withMaxWaitTime(5, TimeUnit.SECONDS);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Thread thread = new Thread(() -> Failsafe.with(bulkhead).run(() -> {
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        Thread.sleep(20);
+        concurrent.decrementAndGet();
+      }));
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (Thread thread : threads)
+      thread.join();
+    assertEquals(maxConcurrent.get(), 2);
+    assertEquals(bulkhead.getAvailablePermits(), 2);
+  }
+
+  public void shouldQueueAsyncExecutionsWithoutBlocking() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1).withMaxWaitTime(5, TimeUnit.SECONDS);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<FailsafeFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final int result = i;
+      futures.add(Failsafe.with(bulkhead).with(executor).get(() -> {
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        Thread.sleep(20);
+        concurrent.decrementAndGet();
+        return result;
+      }));
+    }
+
+    for (int i = 0; i < futures.size(); i++)
+      assertEquals(futures.get(i).get(5, TimeUnit.SECONDS).intValue(), i);
+    assertEquals(maxConcurrent.get(), 1);
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+  }
+
+  public void shouldRejectAsyncExecutionsWhenFull() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1).withMaxWaitTime(20, TimeUnit.MILLISECONDS);
+    bulkhead.tryAcquirePermit();
+
+    try {
+      Failsafe.with(bulkhead).with(executor).run(() -> fail()).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof BulkheadFullException);
+    }
+
+    assertEquals(bulkhead.getWaitingExecutions(), 0);
+  }
+}
@@ -0,0 +1,206 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.util.concurrent.VirtualTimeScheduler;
+
+@Test
+public class CacheTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldExpireEntriesAfterTtl() {
+    Cache cache = new Cache(10, 20, TimeUnit.MILLISECONDS);
+    cache.put("key", "value", 0);
+    assertEquals(cache.getFresh("key", 0).value, "value");
+
+    long now = TimeUnit.MILLISECONDS.toNanos(30);
+    assertNull(cache.getFresh("key", now));
+    assertEquals(cache.getStale("key", now).value, "value");
+  }
+
+  public void shouldDropEntriesAfterMaxStaleness() {
+    Cache cache = new Cache(10, 10, TimeUnit.MILLISECONDS).withMaxStaleness(10, TimeUnit.MILLISECONDS);
+    cache.put("key", "value", 0);
+    assertNull(cache.getStale("key", TimeUnit.MILLISECONDS.toNanos(30)));
+    assertEquals(cache.size(), 0);
+  }
+
+  public void shouldCacheNullResults() {
+    Cache cache = new Cache(10, 1, TimeUnit.MINUTES);
+    cache.put("key", null, 0);
+    assertNotNull(cache.getFresh("key", 0));
+    assertNull(cache.getFresh("key", 0).value);
+  }
+
+  public void shouldEvictProbationaryEntriesBeforeProtectedEntries() {
+    Cache cache = new Cache(5, 1, TimeUnit.MINUTES);
+    for (int i = 0; i < 3; i++) {
+      cache.put(i, i, 0);
+      cache.getFresh(i, 0);
+    }
+
+    // Entries that are never read again are evicted first
+    for (int i = 3; i < 10; i++)
+      cache.put(i, i, 0);
+    assertEquals(cache.size(), 5);
+    for (int i = 0; i < 3; i++)
+      assertNotNull(cache.getStale(i, 0));
+    assertNull(cache.getStale(3, 0));
+    assertNotNull(cache.getStale(9, 0));
+  }
+
+  public void shouldInvalidateEntries() {
+    Cache cache = new Cache(10, 1, TimeUnit.MINUTES);
+    cache.put("a", 1, 0);
+    cache.put("b", 2, 0);
+    cache.getFresh("b", 0);
+    cache.invalidate("b");
+    assertNull(cache.getStale("b", 0));
+    cache.invalidateAll();
+    assertEquals(cache.size(), 0);
+  }
+
+  public void shouldServeSyncHitsWithoutExecuting() {
+    Cache cache = new Cache(10, 1, TimeUnit.MINUTES);
+    AtomicInteger executions = new AtomicInteger();
+    for (int i = 0; i < 3; i++)
+      assertEquals(Failsafe.with(RetryPolicy.NEVER).withCache(cache, "key").get(() -> executions.incrementAndGet()),
+          Integer.valueOf(1));
+    assertEquals(executions.get(), 1);
+  }
+
+  public void shouldServeStaleSyncResultsWhenRetriesExceeded() {
+    Cache cache = new Cache(10, 10, TimeUnit.MILLISECONDS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    assertEquals(Failsafe.with(retryPolicy).withCache(cache, "key").withClock(clock).get(() -> "cached"), "cached");
+    clock.advance(20, TimeUnit.MILLISECONDS);
+
+    AtomicInteger attempts = new AtomicInteger();
+    assertEquals(Failsafe.with(retryPolicy)
+        .withCache(cache, "key")
+        .withClock(clock)
+        .withFallback("fallback")
+        .get(() -> {
+          attempts.incrementAndGet();
+          throw new ConnectException();
+        }), "cached");
+    assertEquals(attempts.get(), 3);
+
+    // Without a stale result the failure is handled as usual
+    assertEquals(Failsafe.with(retryPolicy)
+        .withCache(cache, "other")
+        .withClock(clock)
+        .withFallback("fallback")
+        .get(() -> {
+          throw new ConnectException();
+        }), "fallback");
+  }
+
+  public void shouldNotServeStaleSyncResultsForNonRetryableFailures() {
+    Cache cache = new Cache(10, 10, TimeUnit.MILLISECONDS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryOn(ConnectException.class)
+        .abortOn(IllegalArgumentException.class)
+        .withMaxRetries(2)
+        .build();
+    assertEquals(Failsafe.with(retryPolicy).withCache(cache, "key").withClock(clock).get(() -> "cached"), "cached");
+    clock.advance(20, TimeUnit.MILLISECONDS);
+
+    // Aborted
+    assertEquals(Failsafe.with(retryPolicy)
+        .withCache(cache, "key")
+        .withClock(clock)
+        .withFallback("fallback")
+        .get(() -> {
+          throw new IllegalArgumentException();
+        }), "fallback");
+
+    // Not retryable
+    assertEquals(Failsafe.with(retryPolicy)
+        .withCache(cache, "key")
+        .withClock(clock)
+        .withFallback("fallback")
+        .get(() -> {
+          throw new IllegalStateException();
+        }), "fallback");
+  }
+
+  public void shouldServeStaleSyncResultsWhenCircuitIsOpen() {
+    Cache cache = new Cache(10, 10, TimeUnit.MILLISECONDS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    CircuitBreaker breaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    assertEquals(Failsafe.with(breaker).withCache(cache, "key").withClock(clock).get(() -> "cached"), "cached");
+    clock.advance(20, TimeUnit.MILLISECONDS);
+
+    breaker.open();
+    assertEquals(Failsafe.with(breaker).withCache(cache, "key").withClock(clock).get(() -> "executed"), "cached");
+    assertEquals(
+        Failsafe.with(breaker).withCache(cache, "key").withClock(clock).withFallback("fallback").get(() -> "executed"),
+        "cached");
+    try {
+      Failsafe.with(breaker).withCache(cache, "other").withClock(clock).get(() -> "executed");
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+    }
+  }
+
+  public void shouldMeasureTtlWithConfiguredClock() {
+    Cache cache = new Cache(10, 1, TimeUnit.HOURS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    AtomicInteger executions = new AtomicInteger();
+    assertEquals(Failsafe.with(RetryPolicy.NEVER).withCache(cache, "key").withClock(clock).get(
+        () -> executions.incrementAndGet()), Integer.valueOf(1));
+
+    clock.advance(2, TimeUnit.HOURS);
+    assertEquals(Failsafe.with(RetryPolicy.NEVER).withCache(cache, "key").withClock(clock).get(
+        () -> executions.incrementAndGet()), Integer.valueOf(2));
+  }
+
+  public void shouldServeAsyncHitsAndStaleResults() throws Throwable {
+    Cache cache = new Cache(10, 200, TimeUnit.MILLISECONDS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    AtomicInteger executions = new AtomicInteger();
+    for (int i = 0; i < 2; i++)
+      assertEquals(Failsafe.with(RetryPolicy.NEVER)
+          .withCache(cache, "key")
+          .withClock(clock)
+          .with(executor)
+          .get(() -> executions.incrementAndGet())
+          .get(5, TimeUnit.SECONDS), Integer.valueOf(1));
+    assertEquals(executions.get(), 1);
+
+    clock.advance(250, TimeUnit.MILLISECONDS);
+    assertEquals(Failsafe.with(RetryPolicy.NEVER).withCache(cache, "key").withClock(clock).with(executor).get(() -> {
+      throw new ConnectException();
+    }).get(5, TimeUnit.SECONDS), Integer.valueOf(1));
+
+    try {
+      Failsafe.with(RetryPolicy.NEVER).withCache(cache, "other").withClock(clock).with(executor).get(() -> {
+        throw new ConnectException();
+      }).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException);
+    }
+  }
+}
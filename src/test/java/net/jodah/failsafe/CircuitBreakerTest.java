@@ -1,6 +1,7 @@
 package net.jodah.failsafe;
 
 import static net.jodah.failsafe.Asserts.assertThrows;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -87,4 +88,20 @@ public class CircuitBreakerTest {
     assertThrows(() -> new CircuitBreaker().withSuccessThreshold(2, 0), IllegalArgumentException.class);
     assertThrows(() -> new CircuitBreaker().withSuccessThreshold(2, 1), IllegalArgumentException.class);
   }
+
+  public void shouldReconfigureWithoutResettingState() {
+    CircuitBreaker breaker = new CircuitBreaker().withFailureThreshold(3);
+    long version = breaker.getVersion();
+    breaker.recordFailure(new ConnectException());
+
+    breaker.reconfigure(new CircuitBreaker().withFailureThreshold(2).withDelay(1, TimeUnit.MINUTES));
+    assertTrue(breaker.getVersion() > version);
+    assertEquals(breaker.getFailureThreshold().denominator, 2);
+    assertEquals(breaker.getDelay().toNanos(), TimeUnit.MINUTES.toNanos(1));
+
+    // The failure recorded before reconfiguring counts against the new threshold
+    assertTrue(breaker.isClosed());
+    breaker.recordFailure(new ConnectException());
+    assertTrue(breaker.isOpen());
+  }
 }
@@ -0,0 +1,77 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+@Test
+public class DelayFunctionsTest {
+  private static final Exception e = new Exception();
+
+  public void shouldComputeExponentialDelays() {
+    Execution exec = execFor(DelayFunctions.exponential(1, 20, TimeUnit.NANOSECONDS, 3));
+    assertWaitTimes(exec, 1, 3, 9, 20, 20);
+  }
+
+  public void shouldComputeFibonacciDelays() {
+    Execution exec = execFor(DelayFunctions.fibonacci(1, 10, TimeUnit.NANOSECONDS));
+    assertWaitTimes(exec, 1, 1, 2, 3, 5, 8, 10, 10);
+  }
+
+  public void shouldComputeFullJitterDelays() {
+    Execution exec = execFor(DelayFunctions.fullJitter(10, 100, TimeUnit.NANOSECONDS));
+    long[] ceilings = { 10, 20, 40, 80, 100, 100 };
+    for (long ceiling : ceilings) {
+      exec.recordFailure(e);
+      assertBetween(exec.getWaitTime().toNanos(), 0, ceiling);
+    }
+  }
+
+  public void shouldComputeEqualJitterDelays() {
+    Execution exec = execFor(DelayFunctions.equalJitter(10, 100, TimeUnit.NANOSECONDS));
+    long[] ceilings = { 10, 20, 40, 80, 100, 100 };
+    for (long ceiling : ceilings) {
+      exec.recordFailure(e);
+      assertBetween(exec.getWaitTime().toNanos(), ceiling / 2, ceiling);
+    }
+  }
+
+  public void shouldComputeDecorrelatedJitterDelays() {
+    Execution exec = execFor(DelayFunctions.decorrelatedJitter(10, 100, TimeUnit.NANOSECONDS));
+    long previous = 10;
+    for (int i = 0; i < 20; i++) {
+      exec.recordFailure(e);
+      long waitNanos = exec.getWaitTime().toNanos();
+      assertBetween(waitNanos, 10, Math.min(100, previous * 3));
+      previous = Math.max(10, waitNanos);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowOnInvalidDelay() {
+    DelayFunctions.fullJitter(10, 10, TimeUnit.NANOSECONDS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowOnInvalidDelayFactor() {
+    DelayFunctions.exponential(1, 10, TimeUnit.NANOSECONDS, 1);
+  }
+
+  private static Execution execFor(DelayFunction<Object, Throwable> delayFunction) {
+    return new Execution(new RetryPolicy.Builder().withDelay(delayFunction).build());
+  }
+
+  private static void assertWaitTimes(Execution exec, long... waitNanos) {
+    for (long expected : waitNanos) {
+      exec.recordFailure(e);
+      assertEquals(exec.getWaitTime().toNanos(), expected);
+    }
+  }
+
+  private static void assertBetween(long value, long min, long max) {
+    assertTrue(value >= min && value <= max, value + " is not between " + min + " and " + max);
+  }
+}
@@ -7,6 +7,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.net.ConnectException;
 import java.util.List;
@@ -14,6 +15,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.testng.annotations.Test;
 
+import net.jodah.failsafe.function.BiFunction;
+import net.jodah.failsafe.function.Predicate;
+import net.jodah.failsafe.util.Duration;
+
 /**
  * @author Jonathan Halterman
  */
@@ -108,6 +113,25 @@ public class ExecutionTest {
 		assertEquals(exec.getLastFailure(), e);
 	}
 
+	public void shouldStopRetryingWhenBudgetIsExhausted() {
+		// Given a budget shared by 2 executions that allows 2 retries
+		RetryBudget budget = new RetryBudget(0, 2);
+		RetryPolicy retryPolicy = new RetryPolicy.Builder().withBudget(budget).build();
+		Execution exec1 = new Execution(retryPolicy);
+		Execution exec2 = new Execution(retryPolicy);
+
+		// When / Then
+		assertTrue(exec1.canRetryOn(e));
+		assertTrue(exec2.canRetryOn(e));
+		assertFalse(exec1.canRetryOn(e));
+		assertFalse(exec2.canRetryOn(e));
+
+		// Then
+		assertTrue(exec1.isComplete());
+		assertEquals(exec1.getExecutions(), 2);
+		assertEquals(budget.getAvailableRetries(), 0);
+	}
+
 	public void testComplete() {
 		// Given
 		Execution exec = new Execution(new RetryPolicy.Builder().build());
@@ -186,6 +210,135 @@ public class ExecutionTest {
 		assertEquals(exec.getWaitTime().toNanos(), 10);
 	}
 
+	public void shouldAdjustWaitTimeForDelayFunction() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(new DelayFunction<Object, Throwable>() {
+			@Override
+			public Duration computeDelay(Object result, Throwable failure, ExecutionContext context) {
+				return new Duration(context.getExecutions() * 10, TimeUnit.NANOSECONDS);
+			}
+		}).build());
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 10);
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 20);
+	}
+
+	public void shouldUseDelayWhenDelayFunctionReturnsNull() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(5, TimeUnit.NANOSECONDS)
+				.withDelay(new DelayFunction<Object, ConnectException>() {
+					@Override
+					public Duration computeDelay(Object result, ConnectException failure, ExecutionContext context) {
+						return context.getExecutions() == 1 ? null : new Duration(7, TimeUnit.NANOSECONDS);
+					}
+				}).build());
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 5);
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 7);
+	}
+
+	public void shouldOnlyUseDelayFunctionForFailureType() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(5, TimeUnit.NANOSECONDS)
+				.withDelay(new DelayFunction<Object, ConnectException>() {
+					@Override
+					public Duration computeDelay(Object result, ConnectException failure, ExecutionContext context) {
+						return new Duration(7, TimeUnit.NANOSECONDS);
+					}
+				}, ConnectException.class).build());
+		exec.recordFailure(new IllegalStateException());
+		assertEquals(exec.getWaitTime().toNanos(), 5);
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 7);
+	}
+
+	public void shouldCompleteWhenDelayFunctionFails() {
+		final IllegalArgumentException failure = new IllegalArgumentException();
+		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(new DelayFunction<Object, Throwable>() {
+			@Override
+			public Duration computeDelay(Object result, Throwable f, ExecutionContext context) {
+				throw failure;
+			}
+		}).build());
+		try {
+			exec.recordFailure(e);
+			fail();
+		} catch (IllegalArgumentException expected) {
+			assertTrue(expected == failure);
+		}
+		assertTrue(exec.isComplete());
+		assertTrue(exec.getLastFailure() == failure);
+	}
+
+	public void shouldOverrideWaitTimeWithDelayOn() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withBackoff(1, 100, TimeUnit.NANOSECONDS)
+				.withJitter(.5).withDelayOn(new BiFunction<Integer, Throwable, Duration>() {
+					@Override
+					public Duration apply(Integer result, Throwable failure) {
+						return result == null ? null : new Duration(result, TimeUnit.NANOSECONDS);
+					}
+				}).retryIf(new Predicate<Integer>() {
+					@Override
+					public boolean test(Integer result) {
+						return result != null;
+					}
+				}).build());
+		exec.canRetryFor(50);
+		assertEquals(exec.getWaitTime().toNanos(), 50);
+
+		// Limited by the max delay
+		exec.canRetryFor(500);
+		assertEquals(exec.getWaitTime().toNanos(), 100);
+
+		// Falls back to the backoff delay
+		exec.canRetryFor(null, e);
+		assertTrue(exec.getWaitTime().toNanos() <= 12);
+	}
+
+	public void shouldCompleteWhenDelayOnFunctionFails() {
+		final IllegalArgumentException failure = new IllegalArgumentException();
+		Execution exec = new Execution(new RetryPolicy.Builder()
+				.withDelayOn(new BiFunction<Object, Throwable, Duration>() {
+					@Override
+					public Duration apply(Object result, Throwable f) {
+						throw failure;
+					}
+				}).build());
+		try {
+			exec.recordFailure(e);
+			fail();
+		} catch (IllegalArgumentException expected) {
+			assertTrue(expected == failure);
+		}
+		assertTrue(exec.isComplete());
+		assertTrue(exec.getLastFailure() == failure);
+	}
+
+	public void shouldOverrideWaitTimeWithDelayOnFailureType() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(10, TimeUnit.NANOSECONDS)
+				.withDelayOn(new BiFunction<Object, IllegalStateException, Duration>() {
+					@Override
+					public Duration apply(Object result, IllegalStateException failure) {
+						return new Duration(Long.parseLong(failure.getMessage()), TimeUnit.NANOSECONDS);
+					}
+				}, IllegalStateException.class).build());
+		exec.recordFailure(new IllegalStateException("30"));
+		assertEquals(exec.getWaitTime().toNanos(), 30);
+		exec.recordFailure(e);
+		assertEquals(exec.getWaitTime().toNanos(), 10);
+	}
+
+	public void shouldLimitDelayOnByMaxDuration() {
+		Execution exec = new Execution(new RetryPolicy.Builder().withMaxDuration(1, TimeUnit.SECONDS)
+				.withDelayOn(new BiFunction<Object, Throwable, Duration>() {
+					@Override
+					public Duration apply(Object result, Throwable failure) {
+						return new Duration(1, TimeUnit.HOURS);
+					}
+				}).build());
+		assertTrue(exec.canRetryOn(e));
+		assertTrue(exec.getWaitTime().toNanos() <= TimeUnit.SECONDS.toNanos(1));
+	}
+
 	public void shouldAdjustWaitTimeForMaxDuration() throws Throwable {
 		Execution exec = new Execution(new RetryPolicy.Builder().withDelay(49, TimeUnit.MILLISECONDS)
 				.withMaxDuration(50, TimeUnit.MILLISECONDS).build());
@@ -224,6 +377,20 @@ public class ExecutionTest {
 		assertEquals(exec.getWaitTime().toMillis(), 0);
 	}
 
+	public void shouldStartAttemptsViaCircuitBreaker() {
+		CircuitBreaker breaker = new CircuitBreaker();
+		breaker.halfOpen();
+		Execution exec1 = new Execution(RetryPolicy.NEVER, breaker);
+		Execution exec2 = new Execution(RetryPolicy.NEVER, breaker);
+
+		// Half-open circuits allow one concurrent attempt
+		assertNull(exec1.startAttempt());
+		assertTrue(exec2.startAttempt() instanceof CircuitBreakerOpenException);
+		exec1.complete();
+		assertTrue(breaker.isClosed());
+		assertNull(exec2.startAttempt());
+	}
+
 	@Test(expectedExceptions = IllegalStateException.class)
 	public void shouldThrowOnMultipleCompletes() {
 		Execution exec = new Execution(new RetryPolicy.Builder().build());
@@ -0,0 +1,173 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class FailsafeExecutorServiceTest {
+  private Set<Thread> poolThreads = ConcurrentHashMap.newKeySet();
+  private ScheduledThreadPoolExecutor executor;
+  private RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(3)
+      .withDelay(10, TimeUnit.MILLISECONDS)
+      .build();
+
+  @BeforeMethod
+  protected void beforeMethod() {
+    executor = new ScheduledThreadPoolExecutor(2, runnable -> {
+      Thread thread = new Thread(runnable);
+      poolThreads.add(thread);
+      return thread;
+    });
+  }
+
+  @AfterMethod
+  protected void afterMethod() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Returns a callable that fails with a ConnectException {@code failures} times and then returns {@code result},
+   * recording the threads that it's called on.
+   */
+  <T> Callable<T> failing(int failures, T result, Set<Thread> threads) {
+    AtomicInteger calls = new AtomicInteger();
+    return () -> {
+      threads.add(Thread.currentThread());
+      if (calls.incrementAndGet() <= failures)
+        throw new ConnectException();
+      return result;
+    };
+  }
+
+  public void shouldRetrySubmittedTasksOnDecoratedExecutor() throws Throwable {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    FailsafeFuture<String> future = failsafeExecutor.submit(failing(2, "done", threads));
+
+    assertEquals(future.get(5, TimeUnit.SECONDS), "done");
+    assertTrue(poolThreads.containsAll(threads));
+  }
+
+  public void shouldFailSubmittedTasksWhenRetriesExceeded() throws Throwable {
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    try {
+      failsafeExecutor.submit(failing(10, "done", ConcurrentHashMap.newKeySet())).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException);
+    }
+  }
+
+  public void shouldRetryExecutedRunnables() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    Future<?> future = failsafeExecutor.submit(() -> {
+      if (calls.incrementAndGet() < 3)
+        throw new IllegalStateException();
+    });
+
+    assertEquals(future.get(5, TimeUnit.SECONDS), null);
+    assertEquals(calls.get(), 3);
+  }
+
+  public void shouldInvokeAll() throws Throwable {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    List<Future<Integer>> futures = failsafeExecutor.invokeAll(
+        Arrays.asList(failing(1, 1, threads), failing(2, 2, threads), failing(10, 3, threads)));
+
+    assertEquals(futures.get(0).get(), Integer.valueOf(1));
+    assertEquals(futures.get(1).get(), Integer.valueOf(2));
+    try {
+      futures.get(2).get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException);
+    }
+  }
+
+  public void shouldInvokeAnyWithFirstSuccessfulResult() throws Throwable {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    int result = failsafeExecutor.invokeAny(Arrays.asList(failing(10, 1, threads), failing(1, 2, threads)), 5,
+        TimeUnit.SECONDS);
+
+    assertEquals(result, 2);
+  }
+
+  public void shouldFailInvokeAnyWhenAllTasksFail() throws Throwable {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    try {
+      failsafeExecutor.invokeAny(Arrays.asList(failing(10, 1, threads), failing(10, 2, threads)));
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException);
+    }
+  }
+
+  public void shouldRejectWhenCircuitIsOpen() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    circuitBreaker.open();
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(circuitBreaker).decorate(executor);
+
+    try {
+      failsafeExecutor.execute(() -> {
+      });
+      fail();
+    } catch (RejectedExecutionException e) {
+      assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+    }
+
+    try {
+      failsafeExecutor.submit(() -> "done");
+      fail();
+    } catch (RejectedExecutionException e) {
+      assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+    }
+
+    try {
+      failsafeExecutor.invokeAny(Arrays.asList(() -> "done"));
+      fail();
+    } catch (RejectedExecutionException e) {
+      assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+    } catch (Exception e) {
+      fail("Unexpected failure", e);
+    }
+  }
+
+  public void shouldShutdownDecoratedExecutor() throws Throwable {
+    FailsafeExecutorService failsafeExecutor = Failsafe.with(retryPolicy).decorate(executor);
+
+    failsafeExecutor.shutdown();
+
+    assertTrue(executor.isShutdown());
+    assertTrue(failsafeExecutor.isShutdown());
+    assertTrue(failsafeExecutor.awaitTermination(5, TimeUnit.SECONDS));
+    assertTrue(failsafeExecutor.isTerminated());
+  }
+}
@@ -0,0 +1,141 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.FaultInjection.Latency;
+import net.jodah.failsafe.util.concurrent.VirtualTimeScheduler;
+
+@Test
+public class FaultInjectionTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldFailAttemptsWithoutCallingDependency() {
+    AtomicInteger calls = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+
+    try {
+      Failsafe.with(retryPolicy).with(new FaultInjection().withFailure(1)).run(() -> calls.incrementAndGet());
+      fail();
+    } catch (FailsafeException e) {
+      assertTrue(e.getCause() instanceof FaultInjectedException);
+    }
+
+    assertEquals(calls.get(), 0);
+  }
+
+  public void shouldRetryInjectedFailures() {
+    AtomicInteger calls = new AtomicInteger();
+    IllegalStateException failure = new IllegalStateException();
+    FaultInjection faults = new FaultInjection().withFailure(0.5, failure);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(-1).build();
+
+    for (int i = 0; i < 100; i++)
+      assertEquals(Failsafe.with(retryPolicy).with(faults).get(() -> calls.incrementAndGet()), Integer.valueOf(i + 1));
+  }
+
+  public void shouldNotInjectFaultsWhenDisabled() {
+    FaultInjection faults = new FaultInjection().withFailure(1).withCorruption(1, result -> "corrupt");
+    faults.disable();
+    assertEquals(Failsafe.with(RetryPolicy.NEVER).with(faults).get(() -> "ok"), "ok");
+
+    faults.enable();
+    assertTrue(faults.isEnabled());
+    try {
+      Failsafe.with(RetryPolicy.NEVER).with(faults).get(() -> "ok");
+      fail();
+    } catch (FailsafeException expected) {
+    }
+  }
+
+  public void shouldCorruptResults() {
+    FaultInjection faults = new FaultInjection().withCorruption(1, (String result) -> result.toUpperCase());
+    assertEquals(Failsafe.with(RetryPolicy.NEVER).with(faults).get(() -> "ok"), "OK");
+  }
+
+  public void shouldFailAttemptsDuringOutages() {
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    FaultInjection faults = new FaultInjection().withClock(clock).withOutage(10, 10, TimeUnit.MILLISECONDS);
+    SyncFailsafe<Object> failsafe = Failsafe.with(RetryPolicy.NEVER).with(faults);
+
+    assertEquals(failsafe.get(() -> "ok"), "ok");
+    clock.advance(10, TimeUnit.MILLISECONDS);
+    try {
+      failsafe.get(() -> "ok");
+      fail();
+    } catch (FailsafeException e) {
+      assertTrue(e.getCause() instanceof FaultInjectedException);
+    }
+    clock.advance(10, TimeUnit.MILLISECONDS);
+    assertEquals(failsafe.get(() -> "ok"), "ok");
+  }
+
+  public void shouldInjectLatencyViaClock() {
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    FaultInjection faults = new FaultInjection().withLatency(Latency.fixed(100, TimeUnit.MILLISECONDS));
+
+    Failsafe.with(RetryPolicy.NEVER).withClock(clock).with(faults).run(() -> {
+    });
+
+    assertEquals(clock.nanoTime(), TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  public void shouldTimeOutAsyncAttemptsWithInjectedLatency() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    FaultInjection faults = new FaultInjection().withLatency(Latency.fixed(1, TimeUnit.SECONDS));
+    FailsafeFuture<Integer> future = Failsafe.with(RetryPolicy.NEVER)
+        .with(executor)
+        .with(new Timeout(20, TimeUnit.MILLISECONDS))
+        .with(faults)
+        .get(() -> calls.incrementAndGet());
+
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutExceededException);
+    }
+
+    // The delayed run is skipped since its attempt timed out
+    Thread.sleep(1100);
+    assertEquals(calls.get(), 0);
+  }
+
+  public void shouldInjectAsyncFaults() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    FaultInjection faults = new FaultInjection().withFailure(0.5)
+        .withLatency(Latency.uniform(1, 5, TimeUnit.MILLISECONDS))
+        .withCorruption(1, (Integer result) -> -result);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(-1).build();
+
+    int result = Failsafe.with(retryPolicy).with(executor).with(faults).get(() -> calls.incrementAndGet()).get();
+    assertEquals(result, -1);
+    assertEquals(calls.get(), 1);
+  }
+
+  public void shouldProduceLatenciesFromDistributions() {
+    long ms = TimeUnit.MILLISECONDS.toNanos(1);
+    assertEquals(Latency.fixed(5, TimeUnit.MILLISECONDS).nanosFor(0.7), 5 * ms);
+    assertEquals(Latency.uniform(10, 20, TimeUnit.MILLISECONDS).nanosFor(0), 10 * ms);
+    assertEquals(Latency.uniform(10, 20, TimeUnit.MILLISECONDS).nanosFor(0.5), 15 * ms);
+    assertEquals(Latency.exponential(10, TimeUnit.MILLISECONDS).nanosFor(0), 0);
+    assertEquals(Latency.exponential(10, TimeUnit.MILLISECONDS).nanosFor(1 - 1 / Math.E), 10 * ms, 1);
+    assertEquals(Latency.pareto(10, 1, TimeUnit.MILLISECONDS).nanosFor(0), 10 * ms);
+    assertEquals(Latency.pareto(10, 1, TimeUnit.MILLISECONDS).nanosFor(0.9), 100 * ms, 1);
+  }
+}
@@ -0,0 +1,113 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.DeadLetter.Reason;
+
+@Test
+public class FileDeadLetterSinkTest {
+  private File directory;
+
+  @BeforeMethod
+  protected void beforeMethod() throws Exception {
+    directory = File.createTempFile("deadletters", "");
+    directory.delete();
+    directory.deleteOnExit();
+  }
+
+  public void shouldWriteExecutionsThatExceedRetries() throws Throwable {
+    FileDeadLetterSink sink = FileDeadLetterSink.open(directory);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    try {
+      Failsafe.with(retryPolicy).withDeadLetterSink(sink, "order-1").run(() -> {
+        throw new ConnectException("refused");
+      });
+      fail();
+    } catch (FailsafeException expected) {
+    }
+    sink.close();
+
+    List<DeadLetter> deadLetters = new ArrayList<>();
+    assertEquals(FileDeadLetterSink.replay(directory, deadLetters::add), 1);
+    DeadLetter deadLetter = deadLetters.get(0);
+    assertEquals(deadLetter.getPayload(), "order-1");
+    assertEquals(deadLetter.getReason(), Reason.RETRIES_EXCEEDED);
+    assertEquals(deadLetter.getAttempts(), 3);
+    assertEquals(deadLetter.getFailure(), "java.net.ConnectException: refused");
+    assertNull(deadLetter.getResult());
+  }
+
+  public void shouldSendAbortedExecutionsToSink() {
+    List<DeadLetter> deadLetters = new ArrayList<>();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryIf(result -> result == null)
+        .abortIf(result -> "poison".equals(result))
+        .build();
+
+    Failsafe.with(retryPolicy).withDeadLetterSink(deadLetters::add, "order-1").get(() -> "poison");
+
+    assertEquals(deadLetters.size(), 1);
+    assertEquals(deadLetters.get(0).getReason(), Reason.ABORTED);
+    assertEquals(deadLetters.get(0).getResult(), "poison");
+    assertNull(deadLetters.get(0).getFailure());
+  }
+
+  public void shouldRollSegmentsAndReplayInOrder() throws Throwable {
+    FileDeadLetterSink sink = FileDeadLetterSink.open(directory, 1024);
+    for (int i = 0; i < 100; i++)
+      sink.accept(new DeadLetter("order-" + i, Reason.RETRIES_EXCEEDED, 3, i, null, "java.net.ConnectException"));
+    sink.flush();
+    assertTrue(directory.list().length > 1);
+    sink.close();
+
+    // A reopened sink writes to a new segment
+    sink = FileDeadLetterSink.open(directory, 1024);
+    sink.accept(new DeadLetter("order-100", Reason.ABORTED, 1, 100, "poison", null));
+    sink.close();
+
+    List<DeadLetter> deadLetters = new ArrayList<>();
+    assertEquals(FileDeadLetterSink.replay(directory, deadLetters::add), 101);
+    for (int i = 0; i < 101; i++) {
+      assertEquals(deadLetters.get(i).getPayload(), "order-" + i);
+      assertEquals(deadLetters.get(i).getTime(), i);
+    }
+    assertEquals(deadLetters.get(100).getReason(), Reason.ABORTED);
+    assertEquals(deadLetters.get(100).getResult(), "poison");
+  }
+
+  public void shouldCountFailedWritesAndKeepWriting() throws Throwable {
+    FileDeadLetterSink sink = FileDeadLetterSink.open(directory);
+    assertTrue(directory.delete());
+    sink.accept(new DeadLetter("order-1", Reason.ABORTED, 1, 0, null, null));
+    sink.accept(new DeadLetter("order-2", Reason.ABORTED, 1, 1, null, null));
+    sink.flush();
+    assertEquals(sink.getFailedWrites(), 2);
+
+    // Later dead letters are written once segments can be created
+    assertTrue(directory.mkdir());
+    sink.accept(new DeadLetter("order-3", Reason.ABORTED, 1, 2, null, null));
+    sink.close();
+    assertEquals(sink.getFailedWrites(), 2);
+
+    List<DeadLetter> deadLetters = new ArrayList<>();
+    assertEquals(FileDeadLetterSink.replay(directory, deadLetters::add), 1);
+    assertEquals(deadLetters.get(0).getPayload(), "order-3");
+  }
+
+  public void shouldIgnoreDeadLettersAfterClose() throws Throwable {
+    FileDeadLetterSink sink = FileDeadLetterSink.open(directory);
+    sink.close();
+    sink.accept(new DeadLetter("order-1", Reason.ABORTED, 1, 0, null, null));
+    assertEquals(FileDeadLetterSink.replay(directory, deadLetter -> fail()), 0);
+  }
+}
@@ -0,0 +1,157 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class HedgePolicyTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(5);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldUseDelayUntilEnoughLatenciesAreRecorded() {
+    HedgePolicy hedgePolicy = new HedgePolicy(50, TimeUnit.NANOSECONDS).withPercentile(.9);
+    for (int i = 1; i < HedgePolicy.MIN_LATENCY_SAMPLES; i++)
+      hedgePolicy.recordLatency(i);
+    assertEquals(hedgePolicy.getHedgeDelayNanos(), 50);
+  }
+
+  public void shouldComputePercentileOfRecentLatencies() {
+    HedgePolicy hedgePolicy = new HedgePolicy(50, TimeUnit.NANOSECONDS).withPercentile(.9);
+    for (int i = 1; i <= 100; i++)
+      hedgePolicy.recordLatency(i);
+    assertEquals(hedgePolicy.getHedgeDelayNanos(), 90);
+
+    // Older latencies are replaced
+    for (int i = 1; i <= 100; i++)
+      hedgePolicy.recordLatency(1000 + i);
+    assertEquals(hedgePolicy.getHedgeDelayNanos(), 1090);
+  }
+
+  public void shouldLimitConcurrentHedges() {
+    HedgePolicy hedgePolicy = new HedgePolicy(1, TimeUnit.SECONDS).withMaxConcurrentHedges(2);
+    assertTrue(hedgePolicy.tryAcquireHedge());
+    assertTrue(hedgePolicy.tryAcquireHedge());
+    assertFalse(hedgePolicy.tryAcquireHedge());
+    hedgePolicy.releaseHedges(1);
+    assertTrue(hedgePolicy.tryAcquireHedge());
+    assertEquals(hedgePolicy.getConcurrentHedges(), 2);
+  }
+
+  public void shouldCompleteWithFirstSuccessfulRun() throws Throwable {
+    // Given - the first run hangs until interrupted
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch interrupted = new CountDownLatch(1);
+    HedgePolicy hedgePolicy = new HedgePolicy(50, TimeUnit.MILLISECONDS);
+
+    // When
+    FailsafeFuture<String> future = Failsafe.with(RetryPolicy.NEVER).with(executor).with(hedgePolicy).get(() -> {
+      if (runs.incrementAndGet() == 1) {
+        try {
+          Thread.sleep(10000);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+          throw e;
+        }
+      }
+      return "hedged";
+    });
+
+    // Then
+    assertEquals(future.get(5, TimeUnit.SECONDS), "hedged");
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(runs.get(), 2);
+    assertEquals(hedgePolicy.getConcurrentHedges(), 0);
+  }
+
+  public void shouldNotHedgeFastAttempts() throws Throwable {
+    AtomicInteger runs = new AtomicInteger();
+    FailsafeFuture<Integer> future = Failsafe.with(RetryPolicy.NEVER)
+        .with(executor)
+        .with(new HedgePolicy(200, TimeUnit.MILLISECONDS))
+        .get(() -> runs.incrementAndGet());
+
+    assertEquals(future.get().intValue(), 1);
+    Thread.sleep(300);
+    assertEquals(runs.get(), 1);
+  }
+
+  public void shouldRetryWhenAllRunsFail() throws Throwable {
+    // Given - each run of the first attempt fails slowly
+    AtomicInteger runs = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(1).build();
+
+    // When
+    CompletableFuture<Integer> future = Failsafe.with(retryPolicy)
+        .with(executor)
+        .with(new HedgePolicy(20, TimeUnit.MILLISECONDS).withMaxHedges(2))
+        .future(() -> {
+          int run = runs.incrementAndGet();
+          CompletableFuture<Integer> result = new CompletableFuture<>();
+          if (run <= 3)
+            executor.schedule(() -> result.completeExceptionally(new ConnectException()), 100, TimeUnit.MILLISECONDS);
+          else
+            result.complete(run);
+          return result;
+        });
+
+    // Then - 3 runs of the first attempt fail before a retry succeeds
+    assertEquals(future.get(5, TimeUnit.SECONDS).intValue(), 4);
+  }
+
+  public void shouldCancelFuturesOfLosingRuns() throws Throwable {
+    CompletableFuture<Integer> slowRun = new CompletableFuture<>();
+    AtomicInteger runs = new AtomicInteger();
+
+    CompletableFuture<Integer> future = Failsafe.with(RetryPolicy.NEVER)
+        .with(executor)
+        .with(new HedgePolicy(20, TimeUnit.MILLISECONDS))
+        .future(() -> runs.incrementAndGet() == 1 ? slowRun : CompletableFuture.completedFuture(2));
+
+    assertEquals(future.get(5, TimeUnit.SECONDS).intValue(), 2);
+    assertTrue(slowRun.isCancelled());
+  }
+
+  public void shouldNotHedgeWhenCircuitIsOpen() throws Throwable {
+    AtomicInteger runs = new AtomicInteger();
+    CircuitBreaker breaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    FailsafeFuture<Integer> future = Failsafe.with(breaker)
+        .with(executor)
+        .with(new HedgePolicy(20, TimeUnit.MILLISECONDS))
+        .get(() -> {
+          breaker.open();
+          Thread.sleep(100);
+          return runs.incrementAndGet();
+        });
+
+    assertEquals(future.get(5, TimeUnit.SECONDS).intValue(), 1);
+    assertEquals(runs.get(), 1);
+  }
+
+  public void shouldRejectExecutionsCompletedViaAsyncExecution() {
+    try {
+      Failsafe.with(RetryPolicy.NEVER)
+          .with(executor)
+          .with(new HedgePolicy(10, TimeUnit.MILLISECONDS))
+          .getAsync(execution -> execution.complete("done"));
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+}
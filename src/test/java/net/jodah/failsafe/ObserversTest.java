@@ -0,0 +1,101 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.CircuitBreaker.State;
+import net.jodah.failsafe.Observers.CompositeObserver;
+import net.jodah.failsafe.event.FailsafeObserver;
+
+@Test
+public class ObserversTest {
+  static class FailingObserver extends FailsafeObserver {
+    @Override
+    public Object attemptStarted(ExecutionContext context) {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public void retryScheduled(ExecutionContext context, long waitNanos) {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public void circuitRejected(CircuitBreaker circuitBreaker) {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public void fallbackInvoked(Object result, Throwable failure) {
+      throw new IllegalStateException();
+    }
+  }
+
+  static class CountingObserver extends FailsafeObserver {
+    AtomicInteger calls = new AtomicInteger();
+    Object endedAttempt;
+
+    @Override
+    public Object attemptStarted(ExecutionContext context) {
+      calls.incrementAndGet();
+      return "attempt";
+    }
+
+    @Override
+    public void attemptEnded(ExecutionContext context, Object attempt, Object result, Throwable failure) {
+      calls.incrementAndGet();
+      endedAttempt = attempt;
+    }
+
+    @Override
+    public void retryScheduled(ExecutionContext context, long waitNanos) {
+      calls.incrementAndGet();
+    }
+
+    @Override
+    public void circuitTransitioned(CircuitBreaker circuitBreaker, State fromState, State toState) {
+      calls.incrementAndGet();
+    }
+
+    @Override
+    public void circuitRejected(CircuitBreaker circuitBreaker) {
+      calls.incrementAndGet();
+    }
+
+    @Override
+    public void fallbackInvoked(Object result, Throwable failure) {
+      calls.incrementAndGet();
+    }
+  }
+
+  public void shouldCallRemainingObserversWhenAnObserverThrows() {
+    CountingObserver counting = new CountingObserver();
+    FailsafeObserver composite = new CompositeObserver(Arrays.asList(new FailingObserver(), counting));
+    ExecutionContext context = new Execution(RetryPolicy.NEVER);
+    CircuitBreaker breaker = new CircuitBreaker();
+
+    Object attempt = composite.attemptStarted(context);
+    composite.attemptEnded(context, attempt, null, null);
+    composite.retryScheduled(context, 0);
+    composite.circuitTransitioned(breaker, State.CLOSED, State.OPEN);
+    composite.circuitRejected(breaker);
+    composite.fallbackInvoked(null, null);
+
+    assertEquals(counting.calls.get(), 6);
+    assertEquals(counting.endedAttempt, "attempt");
+  }
+}
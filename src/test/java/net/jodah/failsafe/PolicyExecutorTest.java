@@ -0,0 +1,223 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class PolicyExecutorTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  static class RecordingExecutor extends PolicyExecutor {
+    final String name;
+    final List<String> events;
+
+    RecordingExecutor(String name, List<String> events) {
+      this.name = name;
+      this.events = events;
+    }
+
+    @Override
+    protected void beforeAttempt(ExecutionContext context) {
+      events.add(name + " before " + context.getExecutions());
+    }
+
+    @Override
+    protected void afterAttempt(ExecutionContext context, Object result, Throwable failure) {
+      events.add(name + " after " + context.getExecutions() + " " + (failure == null ? result : "failure"));
+    }
+  }
+
+  static class RejectingExecutor extends PolicyExecutor {
+    final AtomicInteger permits;
+
+    RejectingExecutor(int permits) {
+      this.permits = new AtomicInteger(permits);
+    }
+
+    @Override
+    protected RuntimeException rejectionFor(ExecutionContext context) {
+      return permits.getAndDecrement() > 0 ? null : new IllegalStateException("no permits");
+    }
+  }
+
+  static class PermitExecutor extends PolicyExecutor {
+    final AtomicInteger acquired = new AtomicInteger();
+    final AtomicInteger released = new AtomicInteger();
+
+    @Override
+    protected RuntimeException rejectionFor(ExecutionContext context) {
+      acquired.incrementAndGet();
+      return null;
+    }
+
+    @Override
+    protected void releaseAttempt(ExecutionContext context) {
+      released.incrementAndGet();
+    }
+  }
+
+  public void shouldApplyExecutorsInOrder() {
+    List<String> events = Collections.synchronizedList(new ArrayList<>());
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(1).build();
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = Failsafe.with(retryPolicy)
+        .with(new RecordingExecutor("a", events))
+        .with(new RecordingExecutor("b", events))
+        .get(() -> {
+          if (attempts.incrementAndGet() == 1)
+            throw new ConnectException();
+          return "done";
+        });
+
+    assertEquals(result, "done");
+    assertEquals(events, Arrays.asList("a before 0", "b before 0", "a after 1 failure", "b after 1 failure",
+        "a before 1", "b before 1", "a after 2 done", "b after 2 done"));
+  }
+
+  public void shouldRejectSyncAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(5).build();
+
+    try {
+      Failsafe.with(retryPolicy).with(new RejectingExecutor(2)).run(() -> {
+        attempts.incrementAndGet();
+        throw new ConnectException();
+      });
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals(e.getMessage(), "no permits");
+    }
+
+    assertEquals(attempts.get(), 2);
+  }
+
+  public void shouldRejectAsyncAttempts() throws Throwable {
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(5).withDelay(1, TimeUnit.MILLISECONDS).build();
+
+    FailsafeFuture<Void> future = Failsafe.with(retryPolicy).with(executor).with(new RejectingExecutor(2)).run(() -> {
+      attempts.incrementAndGet();
+      throw new ConnectException();
+    });
+
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    assertEquals(attempts.get(), 2);
+  }
+
+  public void shouldRejectAsyncExecutionsUpFront() {
+    try {
+      Failsafe.with(RetryPolicy.NEVER).with(executor).with(new RejectingExecutor(0)).run(() -> {
+      });
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  public void shouldCompilePipelineOnce() {
+    SyncFailsafe<Object> failsafe = Failsafe.with(new CircuitBreaker());
+    PolicyExecutor[] pipeline = failsafe.pipeline();
+    assertEquals(pipeline.length, 1);
+    assertTrue(pipeline[0] instanceof CircuitBreakerExecutor);
+    assertSame(failsafe.pipeline(), pipeline);
+
+    // Reconfiguring recompiles the pipeline
+    PolicyExecutor policyExecutor = new PolicyExecutor() {
+    };
+    failsafe.with(policyExecutor);
+    assertNotSame(failsafe.pipeline(), pipeline);
+    assertEquals(failsafe.pipeline().length, 2);
+    assertSame(failsafe.pipeline()[1], policyExecutor);
+  }
+
+  public void shouldCompileBuiltInPoliciesInConfigurationOrder() {
+    SyncFailsafe<Object> failsafe = Failsafe.with(new Bulkhead(2))
+        .with(new Timeout(1, TimeUnit.SECONDS))
+        .with(new CircuitBreaker())
+        .with(RateLimiter.smooth(10, 1, TimeUnit.SECONDS));
+
+    PolicyExecutor[] pipeline = failsafe.pipeline();
+    assertEquals(pipeline.length, 4);
+    assertTrue(pipeline[0] instanceof BulkheadExecutor);
+    assertTrue(pipeline[1] instanceof TimeoutExecutor);
+    assertTrue(pipeline[2] instanceof CircuitBreakerExecutor);
+    assertTrue(pipeline[3] instanceof RateLimiterExecutor);
+  }
+
+  public void shouldReleaseAttemptsRejectedDownstream() {
+    PermitExecutor permits = new PermitExecutor();
+
+    try {
+      Failsafe.with(RetryPolicy.NEVER).with(permits).with(new RejectingExecutor(0)).run(() -> {
+      });
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+
+    assertEquals(permits.acquired.get(), 1);
+    assertEquals(permits.released.get(), 1);
+  }
+
+  public void shouldReleaseBulkheadPermitsWhenRejectedDownstream() {
+    Bulkhead bulkhead = new Bulkhead(1);
+    CircuitBreaker circuitBreaker = new CircuitBreaker().withDelay(1, TimeUnit.MINUTES);
+    circuitBreaker.open();
+
+    try {
+      Failsafe.with(bulkhead).with(circuitBreaker).run(() -> {
+      });
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+    }
+
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+  }
+
+  public void shouldReleaseAsyncAttemptsRejectedDownstream() throws Throwable {
+    PermitExecutor permits = new PermitExecutor();
+    Bulkhead bulkhead = new Bulkhead(1);
+    assertTrue(bulkhead.tryAcquirePermit());
+
+    FailsafeFuture<Void> future = Failsafe.with(RetryPolicy.NEVER).with(executor).with(permits).with(bulkhead).run(
+        () -> {
+        });
+
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof BulkheadFullException);
+    }
+
+    assertEquals(permits.acquired.get(), 1);
+    assertEquals(permits.released.get(), 1);
+  }
+}
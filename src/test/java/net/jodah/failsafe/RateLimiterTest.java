@@ -0,0 +1,139 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.util.concurrent.VirtualTimeScheduler;
+
+@Test
+public class RateLimiterTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldSpacePermitsWhenSmooth() {
+    RateLimiter rateLimiter = RateLimiter.smooth(10, 1, TimeUnit.SECONDS);
+    assertTrue(rateLimiter.tryAcquirePermit());
+    assertFalse(rateLimiter.tryAcquirePermit());
+
+    // The next permit is reserved 100 millis out
+    long waitNanos = rateLimiter.reservePermit(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(50) && waitNanos <= TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  public void shouldAllowBurstsWhenBursty() {
+    RateLimiter rateLimiter = RateLimiter.bursty(5, 1, TimeUnit.SECONDS);
+    for (int i = 0; i < 5; i++)
+      assertTrue(rateLimiter.tryAcquirePermit());
+    assertFalse(rateLimiter.tryAcquirePermit());
+  }
+
+  public void shouldRejectReservationsExceedingMaxWait() {
+    RateLimiter rateLimiter = RateLimiter.smooth(1, 1, TimeUnit.SECONDS);
+    assertEquals(rateLimiter.reservePermit(0), 0);
+    assertEquals(rateLimiter.reservePermit(TimeUnit.MILLISECONDS.toNanos(100)), -1);
+
+    // Rejected reservations do not consume permits
+    assertTrue(rateLimiter.reservePermit(TimeUnit.SECONDS.toNanos(1)) <= TimeUnit.SECONDS.toNanos(1));
+  }
+
+  public void shouldLimitSyncRetries() {
+    RateLimiter rateLimiter = RateLimiter.smooth(100, 1, TimeUnit.SECONDS).withMaxWaitTime(1, TimeUnit.SECONDS);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(4).build();
+    AtomicInteger attempts = new AtomicInteger();
+
+    long startTime = System.nanoTime();
+    Failsafe.with(retryPolicy).with(rateLimiter).withFallback(false).get(() -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException();
+    });
+
+    // 5 attempts at 10 millis apart
+    assertEquals(attempts.get(), 5);
+    assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(40));
+  }
+
+  public void shouldMeasurePermitsWithClock() {
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    clock.advance(1, TimeUnit.HOURS);
+    RateLimiter rateLimiter = RateLimiter.smooth(10, 1, TimeUnit.SECONDS).withClock(clock);
+    assertTrue(rateLimiter.tryAcquirePermit());
+    assertFalse(rateLimiter.tryAcquirePermit());
+    assertEquals(rateLimiter.reservePermit(TimeUnit.SECONDS.toNanos(1)), TimeUnit.MILLISECONDS.toNanos(100));
+
+    clock.advance(200, TimeUnit.MILLISECONDS);
+    assertTrue(rateLimiter.tryAcquirePermit());
+  }
+
+  public void shouldWaitForSyncPermitsWithClock() {
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    RateLimiter rateLimiter = RateLimiter.smooth(10, 1, TimeUnit.SECONDS)
+        .withMaxWaitTime(1, TimeUnit.SECONDS)
+        .withClock(clock);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(4).build();
+    AtomicInteger attempts = new AtomicInteger();
+
+    Failsafe.with(retryPolicy).with(rateLimiter).withClock(clock).withFallback(false).get(() -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException();
+    });
+
+    // 5 attempts at 100 millis apart
+    assertEquals(attempts.get(), 5);
+    assertEquals(clock.nanoTime(), TimeUnit.MILLISECONDS.toNanos(400));
+  }
+
+  public void shouldRejectSyncExecutionsWhenExceeded() {
+    RateLimiter rateLimiter = RateLimiter.smooth(1, 1, TimeUnit.MINUTES);
+    assertEquals(Failsafe.with(rateLimiter).get(() -> "result"), "result");
+
+    try {
+      Failsafe.with(rateLimiter).run(() -> fail());
+      fail();
+    } catch (RateLimitExceededException expected) {
+    }
+  }
+
+  public void shouldDelayAsyncExecutions() throws Throwable {
+    RateLimiter rateLimiter = RateLimiter.smooth(50, 1, TimeUnit.SECONDS).withMaxWaitTime(1, TimeUnit.SECONDS);
+    List<FailsafeFuture<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++)
+      futures.add(Failsafe.with(rateLimiter).with(executor).get(() -> System.nanoTime()));
+
+    List<Long> times = new ArrayList<>();
+    for (FailsafeFuture<Long> future : futures)
+      times.add(future.get(5, TimeUnit.SECONDS));
+    times.sort(null);
+
+    // 4 executions at 20 millis apart
+    assertTrue(times.get(3) - times.get(0) >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  public void shouldRejectAsyncExecutionsWhenExceeded() throws Throwable {
+    RateLimiter rateLimiter = RateLimiter.smooth(1, 1, TimeUnit.MINUTES);
+    rateLimiter.tryAcquirePermit();
+
+    try {
+      Failsafe.with(rateLimiter).with(executor).run(() -> fail()).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof RateLimitExceededException);
+    }
+  }
+}
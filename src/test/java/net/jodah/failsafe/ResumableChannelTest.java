@@ -0,0 +1,198 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+@Test
+public class ResumableChannelTest {
+  private static final byte[] DATA = new byte[1000];
+
+  static {
+    for (int i = 0; i < DATA.length; i++)
+      DATA[i] = (byte) i;
+  }
+
+  /**
+   * Reads {@link #DATA} from the {@code position}, failing after {@code failAfter} bytes have been read.
+   */
+  static class FlakyChannel implements ReadableByteChannel {
+    int position;
+    int remainingBeforeFailure;
+    boolean open = true;
+
+    FlakyChannel(long position, int failAfter) {
+      this.position = (int) position;
+      this.remainingBeforeFailure = failAfter;
+    }
+
+    @Override
+    public int read(ByteBuffer buffer) throws IOException {
+      if (position == DATA.length)
+        return -1;
+      if (remainingBeforeFailure == 0)
+        throw new SocketException("Connection reset");
+      int length = Math.min(Math.min(buffer.remaining(), remainingBeforeFailure), DATA.length - position);
+      buffer.put(DATA, position, length);
+      position += length;
+      remainingBeforeFailure -= length;
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
+
+  public void shouldResumeFromPositionAfterFailures() throws Throwable {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    List<Long> openedAt = new CopyOnWriteArrayList<>();
+    List<FlakyChannel> channels = new CopyOnWriteArrayList<>();
+    ResumableChannel channel = Failsafe.with(retryPolicy).channel(position -> {
+      openedAt.add(position);
+      FlakyChannel source = new FlakyChannel(position, 300);
+      channels.add(source);
+      return source;
+    });
+
+    // Each source fails after 300 bytes, which is retried since bytes were read in between
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = channel.asInputStream()) {
+      byte[] buffer = new byte[128];
+      for (int read; (read = in.read(buffer)) != -1;)
+        out.write(buffer, 0, read);
+    }
+
+    assertEquals(out.toByteArray(), DATA);
+    assertEquals(openedAt.toString(), "[0, 300, 600, 900]");
+    assertEquals(channel.getPosition(), DATA.length);
+    for (FlakyChannel source : channels)
+      assertFalse(source.isOpen());
+  }
+
+  public void shouldFailWhenRetriesAreExceededWithoutProgress() throws Throwable {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).withDelay(1, TimeUnit.MILLISECONDS).build();
+    List<Long> openedAt = new CopyOnWriteArrayList<>();
+    ResumableChannel channel = Failsafe.with(retryPolicy).channel(position -> {
+      openedAt.add(position);
+      return new FlakyChannel(position, position == 0 ? 100 : 0);
+    });
+
+    ByteBuffer buffer = ByteBuffer.allocate(1000);
+    assertEquals(channel.read(buffer), 100);
+    try {
+      channel.read(buffer);
+      fail();
+    } catch (SocketException expected) {
+    }
+
+    // The failure of the first source and the failures of 2 retries
+    assertEquals(openedAt.toString(), "[0, 100, 100]");
+    assertEquals(channel.getPosition(), 100);
+  }
+
+  public void shouldRetryFailuresToOpenSource() throws Throwable {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(3).build();
+    List<Long> openedAt = new CopyOnWriteArrayList<>();
+    ResumableChannel channel = Failsafe.with(retryPolicy).channel(position -> {
+      openedAt.add(position);
+      if (openedAt.size() < 3)
+        throw new IOException();
+      return new FlakyChannel(position, DATA.length);
+    });
+
+    assertEquals(channel.read(ByteBuffer.allocate(10)), 10);
+    assertEquals(openedAt.size(), 3);
+  }
+
+  public void shouldNotReopenWhenCircuitIsOpen() throws Throwable {
+    CircuitBreaker breaker = new CircuitBreaker().withFailureThreshold(1).withDelay(1, TimeUnit.MINUTES);
+    ResumableChannel channel = Failsafe.with(new RetryPolicy.Builder().withMaxRetries(5).build())
+        .with(breaker)
+        .channel(position -> new FlakyChannel(position, 0));
+
+    try {
+      channel.read(ByteBuffer.allocate(10));
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+    }
+    assertTrue(breaker.isOpen());
+  }
+
+  public void shouldNotOpenWhenBulkheadIsFull() throws Throwable {
+    Bulkhead bulkhead = new Bulkhead(1);
+    List<Long> openedAt = new CopyOnWriteArrayList<>();
+    ResumableChannel channel = Failsafe.with(new RetryPolicy.Builder().withMaxRetries(5).build())
+        .with(bulkhead)
+        .channel(position -> {
+          openedAt.add(position);
+          return new FlakyChannel(DATA.length, 0);
+        });
+    assertTrue(bulkhead.tryAcquirePermit());
+
+    try {
+      channel.read(ByteBuffer.allocate(10));
+      fail();
+    } catch (BulkheadFullException expected) {
+    }
+    assertTrue(openedAt.isEmpty());
+
+    // The permit is released when the attempt completes
+    bulkhead.releasePermit();
+    assertEquals(channel.read(ByteBuffer.allocate(10)), -1);
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+  }
+
+  public void shouldWakeReadWaitingToReopenWhenClosed() throws Throwable {
+    CountDownLatch failed = new CountDownLatch(1);
+    ResumableChannel channel = Failsafe.with(new RetryPolicy.Builder().withDelay(1, TimeUnit.MINUTES).build())
+        .onFailedAttempt(e -> failed.countDown())
+        .channel(position -> new FlakyChannel(position, 0));
+    CompletableFuture<Throwable> readFailure = CompletableFuture.supplyAsync(() -> {
+      try {
+        channel.read(ByteBuffer.allocate(10));
+        return null;
+      } catch (Throwable t) {
+        return t;
+      }
+    });
+
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+    channel.close();
+    assertTrue(readFailure.get(5, TimeUnit.SECONDS) instanceof AsynchronousCloseException);
+  }
+
+  public void shouldThrowWhenClosed() throws Throwable {
+    ResumableChannel channel = Failsafe.with(RetryPolicy.NEVER).channel(position -> new FlakyChannel(position, 10));
+    channel.close();
+    assertFalse(channel.isOpen());
+    try {
+      channel.read(ByteBuffer.allocate(10));
+      fail();
+    } catch (ClosedChannelException expected) {
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+@Test
+public class RetryBudgetTest {
+  public void shouldStartFull() {
+    RetryBudget budget = new RetryBudget(.1, 5);
+    assertEquals(budget.getAvailableRetries(), 5);
+    for (int i = 0; i < 5; i++)
+      assertTrue(budget.tryAcquireRetry());
+    assertFalse(budget.tryAcquireRetry());
+  }
+
+  public void shouldCreditRatioOfExecutions() {
+    RetryBudget budget = new RetryBudget(.25, 5);
+    while (budget.tryAcquireRetry())
+      ;
+
+    // 4 executions should credit 1 retry
+    for (int i = 0; i < 3; i++)
+      budget.recordExecution();
+    assertFalse(budget.tryAcquireRetry());
+    budget.recordExecution();
+    assertTrue(budget.tryAcquireRetry());
+    assertFalse(budget.tryAcquireRetry());
+  }
+
+  public void shouldNotExceedMaxRetries() {
+    RetryBudget budget = new RetryBudget(1, 3);
+    for (int i = 0; i < 10; i++)
+      budget.recordExecution();
+    assertEquals(budget.getAvailableRetries(), 3);
+  }
+
+  public void shouldNotOverdrawWhenContended() throws Throwable {
+    RetryBudget budget = new RetryBudget(0, 1000);
+    AtomicInteger acquired = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(4);
+    for (int i = 0; i < 4; i++)
+      new Thread(() -> {
+        for (int j = 0; j < 500; j++)
+          if (budget.tryAcquireRetry())
+            acquired.incrementAndGet();
+        latch.countDown();
+      }).start();
+
+    latch.await();
+    assertEquals(acquired.get(), 1000);
+    assertEquals(budget.getAvailableRetries(), 0);
+  }
+
+  public void shouldRequireValidArguments() {
+    Asserts.assertThrows(() -> new RetryBudget(-1), IllegalArgumentException.class);
+    Asserts.assertThrows(() -> new RetryBudget(.1, -1), IllegalArgumentException.class);
+  }
+}
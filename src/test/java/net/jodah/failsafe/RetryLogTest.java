@@ -0,0 +1,174 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.RetryLog.PendingRetry;
+
+@Test
+public class RetryLogTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+  private File file;
+
+  @BeforeMethod
+  protected void beforeMethod() throws Exception {
+    file = File.createTempFile("retries", ".log");
+    file.delete();
+    file.deleteOnExit();
+  }
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldRemoveCompletedExecutions() throws Throwable {
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withDelay(10, TimeUnit.MILLISECONDS).build();
+    RetryLog log = RetryLog.open(file);
+
+    String result = Failsafe.with(retryPolicy).with(executor).withRetryLog(log, "message-1").get(() -> {
+      if (attempts.incrementAndGet() < 3)
+        throw new ConnectException();
+      return "done";
+    }).get();
+
+    assertEquals(result, "done");
+    assertTrue(log.getPendingRetries().isEmpty());
+    log.close();
+    log = RetryLog.open(file);
+    assertTrue(log.getPendingRetries().isEmpty());
+    log.close();
+  }
+
+  public void shouldReplayPendingRetriesAfterReopening() throws Throwable {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withDelay(1, TimeUnit.MINUTES).build();
+    RetryLog log = RetryLog.open(file);
+    long before = System.currentTimeMillis();
+    Failsafe.with(retryPolicy).with(executor).withRetryLog(log, "message-1").run(() -> {
+      throw new ConnectException();
+    });
+    while (log.getPendingRetries().isEmpty())
+      Thread.sleep(5);
+
+    // Simulate a restart while the retry is pending
+    log.close();
+    log = RetryLog.open(file);
+    List<PendingRetry> pending = log.getPendingRetries();
+    assertEquals(pending.size(), 1);
+    assertEquals(pending.get(0).getPayload(), "message-1");
+    assertEquals(pending.get(0).getAttempts(), 1);
+    assertTrue(pending.get(0).getNextRetryTime() >= before + 60000);
+
+    // Replay without waiting for the logged delay
+    AsyncFailsafe<?> failsafe = Failsafe.with(retryPolicy).with(executor);
+    List<FailsafeFuture<String>> futures = log.replay(failsafe, payload -> () -> payload + " done");
+    assertEquals(futures.size(), 1);
+    assertEquals(futures.get(0).get(60, TimeUnit.SECONDS), "message-1 done");
+    assertTrue(log.getPendingRetries().isEmpty());
+    log.close();
+  }
+
+  public void shouldContinueAttemptCountWhenReplaying() throws Throwable {
+    RetryLog log = RetryLog.open(file);
+    log.retryScheduled(0, "message-1", 2, 0, 0);
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(3).build();
+
+    List<FailsafeFuture<Object>> futures = log.replay(Failsafe.with(retryPolicy).with(executor), payload -> () -> {
+      attempts.incrementAndGet();
+      throw new ConnectException();
+    });
+
+    try {
+      futures.get(0).get();
+    } catch (Exception expected) {
+    }
+
+    // 2 logged attempts plus 2 replayed attempts exceed 3 retries
+    assertEquals(attempts.get(), 2);
+    assertTrue(log.getPendingRetries().isEmpty());
+    log.close();
+  }
+
+  public void shouldContinueBackoffWhenReplaying() throws Throwable {
+    RetryLog log = RetryLog.open(file);
+    log.retryScheduled(0, "message-1", 2, TimeUnit.SECONDS.toNanos(1), 0);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withBackoff(10, 10000, TimeUnit.MILLISECONDS).build();
+
+    List<FailsafeFuture<Object>> futures = log.replay(Failsafe.with(retryPolicy).with(executor), payload -> () -> {
+      throw new ConnectException();
+    });
+
+    // The replayed attempt backs off from the logged delay
+    while (log.getPendingRetries().get(0).getAttempts() == 2)
+      Thread.sleep(5);
+    assertEquals(log.getPendingRetries().get(0).delayNanos, TimeUnit.SECONDS.toNanos(2));
+    futures.get(0).cancel(true);
+    log.close();
+  }
+
+  public void shouldKeepRetryingWhenCompactionFails() throws Throwable {
+    RetryLog log = RetryLog.open(file, 1024);
+    File compactionFile = new File(file.getPath() + ".compact");
+    File blocker = new File(compactionFile, "blocker");
+    assertTrue(compactionFile.mkdir() && blocker.createNewFile());
+
+    try {
+      for (int i = 0; i < 100; i++)
+        log.retryScheduled(0, "message-" + i, 1, 0, 1000);
+      assertTrue(log.getFailedWrites() > 0);
+      assertEquals(log.getPendingRetries().size(), 100);
+    } finally {
+      blocker.delete();
+      compactionFile.delete();
+    }
+
+    // Pending retries are written by the next compaction
+    log.retryScheduled(0, "message-100", 1, 0, 1000);
+    log.close();
+    log = RetryLog.open(file, 1024);
+    assertEquals(log.getPendingRetries().size(), 101);
+    log.close();
+  }
+
+  public void shouldCompactWhenFull() throws Throwable {
+    RetryLog log = RetryLog.open(file, 1024);
+    long pendingId = log.retryScheduled(0, "pending", 1, 0, 1000);
+    for (int i = 0; i < 1000; i++)
+      log.executionCompleted(log.retryScheduled(0, "message-" + i, 1, 0, 1000));
+
+    assertEquals(file.length(), 1024);
+    assertEquals(log.getPendingRetries().size(), 1);
+    log.close();
+
+    log = RetryLog.open(file, 1024);
+    assertEquals(log.getPendingRetries().size(), 1);
+    assertEquals(log.getPendingRetries().get(0).getExecutionId(), pendingId);
+    assertTrue(log.retryScheduled(0, "next", 1, 0, 1000) > 1000);
+    log.close();
+  }
+
+  public void shouldRecoverFromInterruptedCompaction() throws Throwable {
+    RetryLog log = RetryLog.open(file);
+    log.retryScheduled(0, "message-1", 1, 0, 1000);
+    log.close();
+
+    assertTrue(file.renameTo(new File(file.getPath() + ".compact")));
+    log = RetryLog.open(file);
+    assertEquals(log.getPendingRetries().get(0).getPayload(), "message-1");
+    log.close();
+  }
+}
@@ -0,0 +1,70 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+@Test
+public class RetryPolicyHolderTest {
+  public void shouldVersionPolicies() {
+    RetryPolicy first = new RetryPolicy.Builder().withMaxRetries(1).build();
+    RetryPolicy second = new RetryPolicy.Builder().withMaxRetries(2).build();
+    RetryPolicyHolder holder = new RetryPolicyHolder(first);
+    assertEquals(holder.getVersion(), 1);
+    assertSame(holder.get(), first);
+
+    assertEquals(holder.set(second), 2);
+    assertSame(holder.get(), second);
+    assertFalse(holder.compareAndSet(1, first));
+    assertTrue(holder.compareAndSet(2, first));
+    assertEquals(holder.getVersion(), 3);
+    assertSame(holder.get(), first);
+  }
+
+  public void shouldUseCurrentPolicyForNewExecutions() {
+    RetryPolicyHolder holder = new RetryPolicyHolder(new RetryPolicy.Builder().withMaxRetries(1).build());
+    SyncFailsafe<Object> failsafe = Failsafe.with(holder);
+    assertEquals(attemptsUntilFailure(failsafe), 2);
+
+    holder.set(new RetryPolicy.Builder().withMaxRetries(4).build());
+    assertEquals(attemptsUntilFailure(failsafe), 5);
+  }
+
+  public void shouldPickUpPolicyOnNextAttempt() {
+    RetryPolicyHolder holder = new RetryPolicyHolder(new RetryPolicy.Builder().withMaxRetries(10).build());
+    AtomicInteger attempts = new AtomicInteger();
+
+    try {
+      Failsafe.with(holder).run(() -> {
+        if (attempts.incrementAndGet() == 2)
+          holder.set(new RetryPolicy.Builder().withMaxRetries(2).build());
+        throw new ConnectException();
+      });
+      fail();
+    } catch (FailsafeException expected) {
+    }
+
+    // The second attempt completed under the original policy, and the third under the new one
+    assertEquals(attempts.get(), 3);
+  }
+
+  private static int attemptsUntilFailure(SyncFailsafe<Object> failsafe) {
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      failsafe.run(() -> {
+        attempts.incrementAndGet();
+        throw new ConnectException();
+      });
+      fail();
+    } catch (FailsafeException expected) {
+    }
+    return attempts.get();
+  }
+}
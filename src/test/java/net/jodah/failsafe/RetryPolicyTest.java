@@ -25,6 +25,15 @@ public class RetryPolicyTest {
     }
   }
 
+  public void shouldNotRetryByDefault() {
+    assertEquals(RetryPolicy.NEVER.getMaxRetries(), 0);
+
+    Execution execution = new Execution(RetryPolicy.NEVER, new CircuitBreaker());
+    assertFalse(execution.canRetryOn(new ConnectException()));
+    assertTrue(execution.isComplete());
+    assertEquals(execution.getExecutions(), 1);
+  }
+
   public void testCanRetryForNull() {
     RetryPolicy policy = new RetryPolicy.Builder().build();
     assertFalse(policy.canRetryFor(null, null));
@@ -10,10 +10,21 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
-
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -21,6 +32,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import net.jodah.failsafe.function.BatchCallable;
 import net.jodah.failsafe.function.CheckedRunnable;
 import net.jodah.failsafe.function.ContextualCallable;
 import net.jodah.failsafe.function.ContextualRunnable;
@@ -234,6 +246,248 @@ public class SyncFailsafeTest extends AbstractFailsafeTest {
     verify(service).connect();
   }
 
+  /**
+   * Asserts that an execution fails with the failure of its retry policy's delay function.
+   */
+  public void shouldFailWhenDelayFunctionFails() {
+    IllegalArgumentException failure = new IllegalArgumentException();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withDelay((r, f, ctx) -> {
+      throw failure;
+    }).build();
+    AtomicInteger failedAttempts = new AtomicInteger();
+
+    assertThrows(() -> Failsafe.with(retryPolicy).onFailedAttempt(f -> failedAttempts.incrementAndGet()).run(() -> {
+      throw new ConnectException();
+    }), failure);
+    assertEquals(failedAttempts.get(), 1);
+  }
+
+  /**
+   * Asserts that concurrent executions with the same coalescing key share a single execution and its retries.
+   */
+  public void shouldCoalesceConcurrentExecutions() throws Throwable {
+    ExecutorService threads = Executors.newFixedThreadPool(5);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    Coalescer coalescer = new Coalescer();
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+    List<CompletableFuture<String>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++)
+      results.add(CompletableFuture.supplyAsync(() -> Failsafe.with(retryPolicy).coalescing(coalescer, "key").get(() -> {
+        started.countDown();
+        proceed.await();
+        if (attempts.incrementAndGet() < 3)
+          throw new IllegalStateException();
+        return "result";
+      }), threads));
+
+    started.await(5, TimeUnit.SECONDS);
+    Thread.sleep(50);
+    proceed.countDown();
+    for (CompletableFuture<String> result : results)
+      assertEquals(result.get(5, TimeUnit.SECONDS), "result");
+    assertEquals(attempts.get(), 3);
+
+    // Later executions are not coalesced with completed executions
+    assertEquals(Failsafe.with(retryPolicy).coalescing(coalescer, "key").get(() -> "next"), "next");
+    assertEquals(coalescer.getInFlightExecutions(), 0);
+    threads.shutdownNow();
+  }
+
+  /**
+   * Asserts that coalesced executions all receive the failure of the shared execution.
+   */
+  public void shouldShareFailureOfCoalescedExecution() throws Throwable {
+    ExecutorService threads = Executors.newFixedThreadPool(2);
+    Coalescer coalescer = new Coalescer();
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch proceed = new CountDownLatch(1);
+    CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> Failsafe.with(RetryPolicy.NEVER)
+        .coalescing(coalescer, "failing")
+        .get(() -> {
+          attempts.incrementAndGet();
+          proceed.await();
+          throw new ConnectException();
+        }), threads);
+
+    while (attempts.get() == 0)
+      Thread.sleep(5);
+    CompletableFuture<Object> second = CompletableFuture.supplyAsync(
+        () -> Failsafe.with(RetryPolicy.NEVER).coalescing(coalescer, "failing").get(() -> attempts.incrementAndGet()),
+        threads);
+    Thread.sleep(50);
+    proceed.countDown();
+
+    for (CompletableFuture<Object> future : Arrays.asList(first, second)) {
+      try {
+        future.get(5, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof FailsafeException);
+        assertTrue(e.getCause().getCause() instanceof ConnectException);
+      }
+    }
+    assertEquals(attempts.get(), 1);
+    threads.shutdownNow();
+  }
+
+  /**
+   * Asserts that executions of different configurations with the same key are not coalesced when they use different
+   * coalescers.
+   */
+  public void shouldNotCoalesceExecutionsAcrossCoalescers() throws Throwable {
+    ExecutorService threads = Executors.newFixedThreadPool(2);
+    CountDownLatch proceed = new CountDownLatch(1);
+    SyncFailsafe<Object> users = Failsafe.with(RetryPolicy.NEVER).coalescing(new Coalescer(), 1);
+    SyncFailsafe<Object> orders = Failsafe.with(RetryPolicy.NEVER).coalescing(new Coalescer(), 1);
+
+    CompletableFuture<Object> user = CompletableFuture.supplyAsync(() -> users.get(() -> {
+      proceed.await();
+      return "user";
+    }), threads);
+    CompletableFuture<Object> order = CompletableFuture.supplyAsync(() -> orders.get(() -> {
+      proceed.await();
+      return "order";
+    }), threads);
+    Thread.sleep(50);
+    proceed.countDown();
+
+    assertEquals(user.get(5, TimeUnit.SECONDS), "user");
+    assertEquals(order.get(5, TimeUnit.SECONDS), "order");
+    threads.shutdownNow();
+  }
+
+  /**
+   * Asserts that only the items that failed are retried in a batch execution.
+   */
+  public void shouldRetryOnlyFailedBatchItems() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryOn(ConnectException.class).withMaxRetries(3).build();
+    List<List<Integer>> batches = new ArrayList<>();
+
+    Map<Integer, String> results = Failsafe.with(retryPolicy).getAll(Arrays.asList(1, 2, 3, 4), (items, failures) -> {
+      batches.add(new ArrayList<>(items));
+      Map<Integer, String> batchResults = new HashMap<>();
+      for (Integer item : items) {
+        if (item % 2 == 0 && batches.size() < item)
+          failures.put(item, new ConnectException());
+        else
+          batchResults.put(item, "result" + item);
+      }
+      return batchResults;
+    });
+
+    assertEquals(results.size(), 4);
+    for (int i = 1; i <= 4; i++)
+      assertEquals(results.get(i), "result" + i);
+    assertEquals(batches,
+        Arrays.asList(Arrays.asList(1, 2, 3, 4), Arrays.asList(2, 4), Arrays.asList(4), Arrays.asList(4)));
+  }
+
+  /**
+   * Asserts that batch items which cannot be retried fail with their own failures.
+   */
+  public void shouldFailBatchItemsThatAreNotRetryable() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryOn(ConnectException.class).withMaxRetries(1).build();
+    AtomicInteger attempts = new AtomicInteger();
+    BatchCallable<String, String> callable = (items, failures) -> {
+      attempts.incrementAndGet();
+      Map<String, String> batchResults = new HashMap<>();
+      batchResults.put("a", "ok");
+      failures.put("b", new IllegalArgumentException());
+      failures.put("c", new ConnectException());
+      return batchResults;
+    };
+
+    try {
+      Failsafe.with(retryPolicy).getAll(Arrays.asList("a", "b", "c"), callable);
+      fail();
+    } catch (BatchException e) {
+      assertEquals(e.getResults(), Collections.singletonMap("a", "ok"));
+      Map<String, Throwable> failures = e.getFailures();
+      assertTrue(failures.get("b") instanceof IllegalArgumentException);
+      assertTrue(failures.get("c") instanceof ConnectException);
+    }
+    assertEquals(attempts.get(), 2);
+
+    // Failed items are provided by the fallback
+    Map<String, String> results = Failsafe.with(retryPolicy)
+        .withFallback("fallback")
+        .getAll(Arrays.asList("a", "b"), callable);
+    assertEquals(results.get("a"), "ok");
+    assertEquals(results.get("b"), "fallback");
+  }
+
+  /**
+   * Asserts that a failed batch attempt retries all of its items.
+   */
+  public void shouldRetryAllBatchItemsWhenBatchFails() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+    AtomicInteger attempts = new AtomicInteger();
+    Map<String, Integer> results = Failsafe.with(retryPolicy).getAll(Arrays.asList("a", "b"), (items, failures) -> {
+      if (attempts.incrementAndGet() == 1)
+        throw new ConnectException();
+      Map<String, Integer> batchResults = new HashMap<>();
+      for (String item : items)
+        batchResults.put(item, attempts.get());
+      return batchResults;
+    });
+
+    assertEquals(results.get("a"), Integer.valueOf(2));
+    assertEquals(results.get("b"), Integer.valueOf(2));
+    assertTrue(Failsafe.with(retryPolicy).getAll(Collections.<String>emptyList(), (items, failures) -> {
+      throw new IllegalStateException();
+    }).isEmpty());
+  }
+
+  /**
+   * Asserts that batch attempts are performed via the configured policies.
+   */
+  public void shouldApplyPoliciesToBatchAttempts() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(1).build();
+    Bulkhead bulkhead = new Bulkhead(1);
+    AtomicInteger attempts = new AtomicInteger();
+    Map<String, String> results = Failsafe.with(retryPolicy)
+        .with(bulkhead)
+        .with(new Timeout(50, TimeUnit.MILLISECONDS))
+        .getAll(Arrays.asList("a", "b"), (items, failures) -> {
+          assertEquals(bulkhead.getAvailablePermits(), 0);
+          if (attempts.incrementAndGet() == 1)
+            Thread.sleep(10000);
+          Map<String, String> batchResults = new HashMap<>();
+          for (String item : items)
+            batchResults.put(item, item);
+          return batchResults;
+        });
+
+    assertEquals(results.get("a"), "a");
+    assertEquals(attempts.get(), 2);
+    assertEquals(bulkhead.getAvailablePermits(), 1);
+  }
+
+  /**
+   * Asserts that the results of successful batches are cached.
+   */
+  public void shouldCacheBatchResults() {
+    Cache cache = new Cache(10, 1, TimeUnit.MINUTES);
+    AtomicInteger attempts = new AtomicInteger();
+    BatchCallable<String, String> callable = (items, failures) -> {
+      attempts.incrementAndGet();
+      Map<String, String> batchResults = new HashMap<>();
+      for (String item : items)
+        batchResults.put(item, item);
+      return batchResults;
+    };
+
+    Failsafe.with(RetryPolicy.NEVER).withCache(cache, "batch").getAll(Arrays.asList("a", "b"), callable);
+    Map<String, String> results = Failsafe.with(RetryPolicy.NEVER)
+        .withCache(cache, "batch")
+        .getAll(Arrays.asList("a", "b"), callable);
+
+    assertEquals(results.get("b"), "b");
+    assertEquals(attempts.get(), 1);
+  }
+
   private void run(SyncFailsafe<?> failsafe, Object runnable) {
     if (runnable instanceof CheckedRunnable)
       failsafe.run((CheckedRunnable) runnable);
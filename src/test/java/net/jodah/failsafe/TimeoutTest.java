@@ -0,0 +1,176 @@
+package net.jodah.failsafe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test
+public class TimeoutTest {
+  private ScheduledExecutorService executor = Executors.newScheduledThreadPool(5);
+
+  @AfterClass
+  protected void afterClass() {
+    executor.shutdownNow();
+  }
+
+  public void shouldRetrySyncAttemptsThatTimeOut() {
+    // Given - the first attempt hangs until interrupted
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+
+    // When
+    String result = Failsafe.with(retryPolicy).with(new Timeout(50, TimeUnit.MILLISECONDS)).get(() -> {
+      if (attempts.incrementAndGet() == 1)
+        Thread.sleep(10000);
+      return "done";
+    });
+
+    // Then
+    assertEquals(result, "done");
+    assertEquals(attempts.get(), 2);
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  public void shouldFailSyncAttemptsThatTimeOutWithoutInterrupting() {
+    AtomicInteger interrupts = new AtomicInteger();
+    try {
+      Failsafe.with(new Timeout(10, TimeUnit.MILLISECONDS).withInterrupt(false)).run(() -> {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (System.nanoTime() < deadline)
+          if (Thread.currentThread().isInterrupted())
+            interrupts.incrementAndGet();
+      });
+      fail();
+    } catch (FailsafeException e) {
+      assertTrue(e.getCause() instanceof TimeoutExceededException);
+    }
+
+    assertEquals(interrupts.get(), 0);
+  }
+
+  public void shouldPreserveUnrelatedInterruptsWhenSyncAttemptsTimeOut() {
+    try {
+      Failsafe.with(new Timeout(10, TimeUnit.MILLISECONDS)).run(() -> {
+        Thread.currentThread().interrupt();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (System.nanoTime() < deadline)
+          ;
+      });
+      fail();
+    } catch (FailsafeException e) {
+      assertTrue(e.getCause() instanceof TimeoutExceededException);
+    }
+
+    assertTrue(Thread.interrupted());
+  }
+
+  public void shouldNotTimeOutFastSyncAttempts() throws Throwable {
+    assertEquals(Failsafe.with(new Timeout(1, TimeUnit.SECONDS)).get(() -> "fast"), "fast");
+    Thread.sleep(50);
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  public void shouldRetryAsyncAttemptsThatTimeOut() throws Throwable {
+    // Given - the first attempt hangs until interrupted
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch interrupted = new CountDownLatch(1);
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+
+    // When
+    FailsafeFuture<String> future = Failsafe.with(retryPolicy)
+        .with(executor)
+        .with(new Timeout(50, TimeUnit.MILLISECONDS))
+        .get(() -> {
+          if (attempts.incrementAndGet() == 1) {
+            try {
+              Thread.sleep(10000);
+            } catch (InterruptedException e) {
+              interrupted.countDown();
+              throw e;
+            }
+          }
+          return "done";
+        });
+
+    // Then
+    assertEquals(future.get(5, TimeUnit.SECONDS), "done");
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(attempts.get(), 2);
+  }
+
+  public void shouldFailAsyncExecutionWhenTimeoutsAreExceeded() throws Throwable {
+    FailsafeFuture<Object> future = Failsafe.with(new RetryPolicy.Builder().withMaxRetries(1).build())
+        .with(executor)
+        .with(new Timeout(20, TimeUnit.MILLISECONDS))
+        .get(() -> {
+          Thread.sleep(10000);
+          return null;
+        });
+
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutExceededException);
+    }
+  }
+
+  public void shouldRetryAsyncExecutionAttemptsThatTimeOut() throws Throwable {
+    // Given - the first attempt is never completed
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(2).build();
+
+    // When
+    FailsafeFuture<String> future = Failsafe.with(retryPolicy)
+        .with(executor)
+        .with(new Timeout(50, TimeUnit.MILLISECONDS))
+        .getAsync(execution -> {
+          if (attempts.incrementAndGet() > 1)
+            execution.complete("done");
+          return null;
+        });
+
+    // Then
+    assertEquals(future.get(5, TimeUnit.SECONDS), "done");
+    assertEquals(attempts.get(), 2);
+  }
+
+  public void shouldIgnoreOutcomesOfAsyncExecutionAttemptsThatTimedOut() throws Throwable {
+    // Given - the attempt retries after it times out
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch retried = new CountDownLatch(1);
+
+    // When
+    FailsafeFuture<Void> future = Failsafe.with(RetryPolicy.NEVER)
+        .with(executor)
+        .with(new Timeout(50, TimeUnit.MILLISECONDS))
+        .runAsync(execution -> {
+          attempts.incrementAndGet();
+          executor.schedule(() -> {
+            assertFalse(execution.retryOn(new IllegalStateException()));
+            retried.countDown();
+          }, 100, TimeUnit.MILLISECONDS);
+        });
+
+    // Then
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutExceededException);
+    }
+    assertTrue(retried.await(5, TimeUnit.SECONDS));
+    assertEquals(attempts.get(), 1);
+  }
+}
@@ -11,19 +11,23 @@ import org.testng.annotations.Test;
 import net.jodah.failsafe.CircuitBreaker;
 import net.jodah.failsafe.CircuitBreaker.State;
 import net.jodah.failsafe.internal.OpenState;
+import net.jodah.failsafe.util.concurrent.VirtualTimeScheduler;
 
 @Test
 public class OpenStateTest {
   public void testAllowsExecution() throws Throwable {
     // Given
-    CircuitBreaker breaker = new CircuitBreaker().withDelay(100, TimeUnit.MILLISECONDS);
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    CircuitBreaker breaker = new CircuitBreaker().withClock(clock).withDelay(100, TimeUnit.MILLISECONDS);
     breaker.open();
     OpenState state = new OpenState(breaker);
     assertTrue(breaker.isOpen());
     assertFalse(state.allowsExecution(null));
 
     // When
-    Thread.sleep(110);
+    clock.advance(99, TimeUnit.MILLISECONDS);
+    assertFalse(state.allowsExecution(null));
+    clock.advance(1, TimeUnit.MILLISECONDS);
 
     // Then
     assertTrue(state.allowsExecution(null));
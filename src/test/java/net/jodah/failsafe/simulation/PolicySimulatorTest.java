@@ -0,0 +1,138 @@
+package net.jodah.failsafe.simulation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.ConnectException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class PolicySimulatorTest {
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private Trace trace;
+
+  /**
+   * Records a trace of 1000 calls, 100ms apart, where calls 300 through 499 fail.
+   */
+  @BeforeClass
+  protected void beforeClass() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TraceRecorder recorder = new TraceRecorder(out);
+    for (int i = 0; i < 1000; i++) {
+      boolean failed = i >= 300 && i < 500;
+      recorder.record(i * INTERVAL, LATENCY, true, failed ? null : "java.lang.String",
+          failed ? "java.net.ConnectException" : null);
+    }
+    recorder.close();
+    trace = Trace.read(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  public static class UnconstructableFailure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public UnconstructableFailure() {
+      throw new IllegalStateException();
+    }
+  }
+
+  public void shouldSimulateFailuresThatCannotBeConstructed() throws Throwable {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TraceRecorder recorder = new TraceRecorder(out);
+    for (int i = 0; i < 10; i++)
+      recorder.record(i * INTERVAL, LATENCY, true, null, UnconstructableFailure.class.getName());
+    recorder.close();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().retryOn(PolicySimulator.SimulatedFailure.class)
+        .withMaxRetries(1)
+        .build();
+
+    SimulationReport report = PolicySimulator.of(Trace.read(new ByteArrayInputStream(out.toByteArray())))
+        .simulate(retryPolicy);
+
+    assertEquals(report.getRetries(), 10);
+    assertEquals(report.getSuccessRate(), 0.0);
+  }
+
+  public void shouldRecordAttemptsViaListeners() throws Throwable {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TraceRecorder recorder = new TraceRecorder(out);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = recorder.recordTo(Failsafe.<String>with(new RetryPolicy.Builder().withMaxRetries(5).build()))
+        .get(() -> {
+          if (attempts.incrementAndGet() < 3)
+            throw new ConnectException();
+          return "done";
+        });
+    recorder.close();
+
+    assertEquals(result, "done");
+    assertEquals(recorder.getEventCount(), 3);
+    Trace recorded = Trace.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(recorded.size(), 3);
+    assertEquals(recorded.getCalls(), 1);
+    assertEquals(recorded.getFailureRate(), 2.0 / 3);
+    assertTrue(out.size() < 100);
+  }
+
+  public void shouldReadTraceInTimeOrder() {
+    assertEquals(trace.size(), 1000);
+    assertEquals(trace.getCalls(), 1000);
+    assertEquals(trace.getFailureRate(), 0.2);
+    assertEquals(trace.getDuration().toNanos(), 999 * INTERVAL + LATENCY);
+  }
+
+  public void shouldSimulateWithoutRetries() {
+    SimulationReport report = PolicySimulator.of(trace).simulate(new RetryPolicy.Builder().withMaxRetries(0).build());
+
+    assertEquals(report.getCalls(), 1000);
+    assertEquals(report.getAttempts(), 1000);
+    assertEquals(report.getExtraLoad(), 0.0);
+    assertEquals(report.getSuccessRate(), 0.8);
+    assertEquals(report.getIncompleteCalls(), 0);
+    assertEquals(report.getOutages(), 1);
+    assertEquals(report.getDetectedOutages(), 0);
+    assertNull(report.getMeanTimeToDetect());
+  }
+
+  public void shouldReportExtraLoadFromRetries() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(3)
+        .withDelay(10, TimeUnit.MILLISECONDS)
+        .build();
+    SimulationReport report = PolicySimulator.of(trace).simulate(retryPolicy);
+
+    // Each call during the outage is retried 3 times, and the retries of the last call succeed once it ends
+    assertEquals(report.getRetries(), 200 * 3);
+    assertEquals(report.getExtraLoad(), 0.6);
+    assertEquals(report.getSuccessRate(), 0.8);
+  }
+
+  public void shouldReportRejectionsAndTimeToDetectWithCircuitBreaker() {
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withMaxRetries(3)
+        .withDelay(10, TimeUnit.MILLISECONDS)
+        .build();
+    CircuitBreaker breaker = new CircuitBreaker().withFailureThreshold(3).withDelay(1, TimeUnit.SECONDS);
+    SimulationReport report = PolicySimulator.of(trace).simulate(retryPolicy, breaker);
+
+    // The breaker opens after the first call's 3rd failed attempt, 10 + 10 + 10 + 10 + 10ms into the outage
+    assertEquals(report.getDetectedOutages(), 1);
+    assertEquals(report.getMeanTimeToDetect().toMillis(), 50);
+    assertTrue(report.getRejectedCalls() > 0);
+    assertTrue(report.getRetries() < 200 * 3);
+
+    // Calls are rejected for up to the breaker's delay after the outage ends
+    assertTrue(report.getSuccessRate() < 0.8 && report.getSuccessRate() >= 0.79);
+  }
+}
@@ -0,0 +1,108 @@
+package net.jodah.failsafe.util.concurrent;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import net.jodah.failsafe.CircuitBreaker;
+import net.jodah.failsafe.CircuitBreakerOpenException;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.FailsafeException;
+import net.jodah.failsafe.FailsafeFuture;
+import net.jodah.failsafe.RetryPolicy;
+
+@Test
+public class VirtualTimeSchedulerTest {
+  public void shouldRunTasksInScheduledOrderAsTimeAdvances() throws Throwable {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    List<Integer> runs = new CopyOnWriteArrayList<>();
+    scheduler.schedule(() -> runs.add(30), 30, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> first = scheduler.schedule(() -> runs.add(10), 10, TimeUnit.MILLISECONDS);
+    scheduler.schedule(() -> runs.add(20), 20, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> cancelled = scheduler.schedule(() -> runs.add(25), 25, TimeUnit.MILLISECONDS);
+
+    scheduler.advance(20, TimeUnit.MILLISECONDS);
+    assertEquals(runs.toString(), "[10, 20]");
+    assertEquals(first.get(), true);
+    assertEquals(scheduler.nanoTime(), TimeUnit.MILLISECONDS.toNanos(20));
+
+    assertTrue(cancelled.cancel(false));
+    assertEquals(scheduler.getPendingTasks(), 1);
+    scheduler.advance(1, TimeUnit.HOURS);
+    assertEquals(runs.toString(), "[10, 20, 30]");
+    assertEquals(scheduler.nanoTime(), TimeUnit.MILLISECONDS.toNanos(20) + TimeUnit.HOURS.toNanos(1));
+  }
+
+  public void shouldSimulateAsyncRetriesWithoutWaiting() throws Throwable {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withDelay(1, TimeUnit.HOURS).withMaxRetries(10000).build();
+
+    FailsafeFuture<Object> future = Failsafe.with(retryPolicy).with(scheduler).get(() -> {
+      attempts.incrementAndGet();
+      throw new ConnectException();
+    });
+    scheduler.runUntilIdle();
+
+    assertTrue(future.isDone());
+    assertEquals(attempts.get(), 10001);
+    assertEquals(scheduler.nanoTime(), TimeUnit.HOURS.toNanos(10000));
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException);
+    }
+  }
+
+  public void shouldSimulateSyncRetriesWithoutWaiting() {
+    VirtualTimeScheduler clock = new VirtualTimeScheduler();
+    AtomicInteger attempts = new AtomicInteger();
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().withBackoff(1, 60, TimeUnit.MINUTES)
+        .withMaxDuration(1, TimeUnit.DAYS)
+        .build();
+
+    try {
+      Failsafe.with(retryPolicy).withClock(clock).run(() -> {
+        attempts.incrementAndGet();
+        throw new ConnectException();
+      });
+      fail();
+    } catch (FailsafeException expected) {
+    }
+
+    // 1 + 2 + 4 + 8 + 16 + 32 minutes, then hourly until the max duration of a day is reached
+    assertEquals(attempts.get(), 6 + 23);
+    assertTrue(clock.nanoTime() >= TimeUnit.DAYS.toNanos(1));
+  }
+
+  public void shouldHalfOpenCircuitAfterVirtualDelay() throws Throwable {
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    CircuitBreaker breaker = new CircuitBreaker().withClock(scheduler).withDelay(1, TimeUnit.HOURS);
+    breaker.open();
+
+    try {
+      Failsafe.with(breaker).with(scheduler).get(() -> true);
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+    }
+
+    scheduler.advance(1, TimeUnit.HOURS);
+    FailsafeFuture<Boolean> future = Failsafe.with(breaker).with(scheduler).get(() -> true);
+    assertFalse(future.isDone());
+    scheduler.runUntilIdle();
+    assertTrue(future.get());
+    assertTrue(breaker.isClosed());
+  }
+}